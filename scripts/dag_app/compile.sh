@@ -23,4 +23,6 @@ fi
 
 CLASSPATH="../../lib/cloudsim-7.0.0-alpha.jar:../../lib/commons-math3-3.6.1.jar:../../lib/colt.jar:$GSON_JAR"
 
-javac -classpath "$CLASSPATH" -sourcepath ../../src ../../src/edu/boun/edgecloudsim/applications/sample_app1/MainApp.java -d ../../bin
+javac -classpath "$CLASSPATH" -sourcepath ../../src ../../src/edu/boun/edgecloudsim/applications/sample_app1/MainApp.java \
+	../../src/edu/boun/edgecloudsim/applications/sample_app1/SweepRunner.java \
+	../../src/edu/boun/edgecloudsim/dagsim/DagBinaryCompiler.java -d ../../bin
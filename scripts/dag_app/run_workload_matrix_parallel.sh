@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Runs the rows of workload_matrix.csv concurrently in one JVM (SweepRunner).
+# REMOTE_RL rows are skipped; run them with run_workload_matrix.sh.
+# Usage:
+#   ./run_workload_matrix_parallel.sh [num_runs] [parallelism] [edge_devices_file] [applications_file]
+#
+# The XML files are used for matrix rows with empty edge/app columns.
+#
+# Example:
+#   JAVA_OPTS="-Xmx48g" ./run_workload_matrix_parallel.sh 5 32
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+REPO_ROOT="$(cd "${SCRIPT_DIR}/../.." && pwd)"
+CONFIG_DIR="${SCRIPT_DIR}/config"
+
+NUM_RUNS="${1:-1}"
+PARALLELISM="${2:-$(nproc 2>/dev/null || echo 4)}"
+EDGE_DEVICES_FILE="${3:-edge_ai_devices_scaled.xml}"
+APPLICATIONS_FILE="${4:-applications_dag_stable_diffusion.xml}"
+
+if ! [[ "${NUM_RUNS}" =~ ^[0-9]+$ ]] || [[ "${NUM_RUNS}" -lt 1 ]]; then
+  echo "NUM_RUNS must be a positive integer"
+  exit 1
+fi
+
+# Generate configs if missing
+if [ ! -f "${SCRIPT_DIR}/workload_matrix.csv" ]; then
+  python3 "${SCRIPT_DIR}/generate_workload_configs.py"
+fi
+
+STAMP="$(date +%Y%m%d_%H%M%S)"
+BATCH_ROOT="${REPO_ROOT}/scripts/output/sweep_${STAMP}"
+mkdir -p "${BATCH_ROOT}"
+echo "Batch root: ${BATCH_ROOT}"
+
+cd "${SCRIPT_DIR}"
+./compile.sh
+
+# All runs share one heap; size it for PARALLELISM concurrent simulations.
+JAVA_OPTS="${JAVA_OPTS:-}"
+java ${JAVA_OPTS} -classpath '../../bin:../../lib/cloudsim-7.0.0-alpha.jar:../../lib/commons-math3-3.6.1.jar:../../lib/colt.jar:../../lib/gson-2.10.1.jar' \
+    edu.boun.edgecloudsim.applications.sample_app1.SweepRunner \
+    "${SCRIPT_DIR}/workload_matrix.csv" "${CONFIG_DIR}" "${BATCH_ROOT}" "${NUM_RUNS}" "${PARALLELISM}" \
+    "${EDGE_DEVICES_FILE}" "${APPLICATIONS_FILE}" || SWEEP_RC=$?
+
+# Same per-run metrics as run_config_batch_with_rl.sh
+for log in "${BATCH_ROOT}"/*/ite*.log; do
+  [ -f "${log}" ] || continue
+  run_tag="$(basename "${log}" .log)"
+  python3 "${SCRIPT_DIR}/parse_iteration_log.py" --log "${log}" \
+    --out "$(dirname "${log}")/metrics_${run_tag}.json" --run-id "${run_tag}"
+done
+
+echo "Done. Sweep outputs at: ${BATCH_ROOT}"
+exit "${SWEEP_RC:-0}"
@@ -20,11 +20,14 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import edu.boun.edgecloudsim.core.ScenarioFactory;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.WorkloadCache;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 import edu.boun.edgecloudsim.dagsim.DagJsonLoader;
 import edu.boun.edgecloudsim.dagsim.DagRecord;
+import edu.boun.edgecloudsim.dagsim.DagBinaryFile;
 import edu.boun.edgecloudsim.dagsim.DagRuntimeManager;
+import edu.boun.edgecloudsim.dagsim.DagStream;
 import java.util.List;
 import java.io.IOException;
 
@@ -43,6 +46,23 @@ public class MainApp {
 	 *             [4] - Iteration number
 	 */
 	public static void main(String[] args) {
+		try {
+			run(args);
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the simulation scenarios without terminating the JVM, so that
+	 * SweepRunner can execute several runs in one process.
+	 * 
+	 * @param args same as {@link #main(String[])}
+	 * @throws Exception if the settings cannot be loaded or a simulation fails
+	 */
+	public static void run(String[] args) throws Exception {
 		// Disable console output of CloudSim library for cleaner logs
 		Log.disable();
 		
@@ -76,7 +96,7 @@ public class MainApp {
 		SimSettings SS = SimSettings.getInstance();
 		if(SS.initialize(configFile, edgeDevicesFile, applicationsFile) == false){
 			SimLogger.printLine("cannot initialize simulation settings!");
-			System.exit(0);
+			throw new IllegalStateException("cannot initialize simulation settings from " + configFile);
 		}
 
 		// If an RNG seed is provided in the config, apply it to the shared RNG
@@ -107,6 +127,8 @@ public class MainApp {
 			SimLogger.printLine("DEBUG: Starting iteration with " + j + " devices");
 			for(int k=0; k<SS.getSimulationScenarios().length; k++)
 			{
+				// With policy_workload_cache, the workload generated for the first policy is reused by the others
+				WorkloadCache workloadCache = null;
 				for(int i=0; i<SS.getOrchestratorPolicies().length; i++)
 				{
 					// Get current simulation scenario and orchestrator policy
@@ -135,7 +157,9 @@ public class MainApp {
 						ScenarioFactory sampleFactory = new SampleScenarioFactory(j,SS.getSimulationTime(), orchestratorPolicy, simScenario);
 						
 						// Create EdgeCloudSim simulation manager
-						SimManager manager = new SimManager(sampleFactory, j, simScenario, orchestratorPolicy);
+						if(SS.isPolicyWorkloadCacheEnabled() && workloadCache == null)
+							workloadCache = WorkloadCache.generate(sampleFactory);
+						SimManager manager = new SimManager(sampleFactory, j, simScenario, orchestratorPolicy, workloadCache);
 						// If DAGs are present, load and register DagRuntimeManager so DAG tasks are submitted
 						try {
 							String dagInputPath = SS.getDagInputPath();
@@ -153,11 +177,30 @@ public class MainApp {
 							}
 
 							if (dagInputPath != null && !dagInputPath.isEmpty()) {
-								List<DagRecord> dags = DagJsonLoader.loadDagsFromPath(dagInputPath);
-								if (dags != null && !dags.isEmpty()) {
-									DagRuntimeManager dagManager = new DagRuntimeManager("DagRuntime", dags);
-									dagManager.scheduleAllDagSubmissions();
-									SimLogger.printLine("Loaded " + dags.size() + " DAG(s) for simulation from " + dagInputPath);
+								// Precompiled files and container files sorted by submission time are streamed; anything else is loaded up front
+								DagStream dagStream = (SS.getDagLookaheadWindow() > 0 && !DagBinaryFile.isDagBinaryFile(dagInputPath)) ? DagJsonLoader.openDagStream(dagInputPath) : null;
+								if (DagBinaryFile.isDagBinaryFile(dagInputPath)) {
+									DagBinaryFile dagFile = DagBinaryFile.open(dagInputPath);
+									if (dagFile.getNumOfDags() > 0) {
+										DagRuntimeManager dagManager = new DagRuntimeManager("DagRuntime", dagFile, SS.getDagLookaheadWindow());
+										dagManager.scheduleAllDagSubmissions();
+										SimLogger.printLine("Mapped " + dagFile.getNumOfDags() + " precompiled DAG(s) for simulation from " + dagInputPath);
+									}
+								} else if (dagStream != null) {
+									if (dagStream.getNumOfDags() > 0) {
+										DagRuntimeManager dagManager = new DagRuntimeManager("DagRuntime", dagStream, SS.getDagLookaheadWindow());
+										dagManager.scheduleAllDagSubmissions();
+										SimLogger.printLine("Streaming " + dagStream.getNumOfDags() + " DAG(s) for simulation from " + dagInputPath);
+									} else {
+										dagStream.close();
+									}
+								} else {
+									List<DagRecord> dags = DagJsonLoader.loadDagsFromPath(dagInputPath);
+									if (dags != null && !dags.isEmpty()) {
+										DagRuntimeManager dagManager = new DagRuntimeManager("DagRuntime", dags);
+										dagManager.scheduleAllDagSubmissions();
+										SimLogger.printLine("Loaded " + dags.size() + " DAG(s) for simulation from " + dagInputPath);
+									}
 								}
 							} else {
 								SimLogger.printLine("Warning: DAG input path not set and fallback search failed");
@@ -172,8 +215,7 @@ public class MainApp {
 					catch (Exception e)
 					{
 						SimLogger.printLine("The simulation has been terminated due to an unexpected error");
-						e.printStackTrace();
-						System.exit(0);
+						throw e;
 					}
 					
 					// Log scenario completion time and duration
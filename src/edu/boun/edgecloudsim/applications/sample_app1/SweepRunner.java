@@ -0,0 +1,312 @@
+/*
+ * Title:        EdgeCloudSim - Sweep Runner
+ *
+ * Description:  Runs the scenarios of a workload matrix concurrently
+ *               inside one JVM
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.applications.sample_app1;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the rows of workload_matrix.csv on a bounded pool of worker threads
+ * in one JVM, as run_workload_matrix.sh does with one JVM per run.
+ *
+ * <p>SimSettings, SimManager, SimLogger, DagRuntimeManager, SimUtils and
+ * CloudSim keep their state in static fields, so every run loads the
+ * simulator and its libraries through its own class loader; runs therefore
+ * share no simulation state and produce the same results as separate JVMs.
+ * Class loading and JIT warm-up are paid once per run, not per JVM start.
+ * Precompiled DAG workloads (.dagbin) are memory-mapped, so their pages are
+ * shared by all runs through the OS page cache.</p>
+ *
+ * <p>Each run writes the same layout as runner.sh:
+ * &lt;output_root&gt;/&lt;scenario&gt;/ite&lt;i&gt;/ for the results,
+ * ite&lt;i&gt;.log for the console output and a line per run in progress.log.
+ * task_log.csv and dag_summary.csv are written into the result folder
+ * (dag_log_output_dir is set in a per-run copy of the .properties file).</p>
+ *
+ * <p>Empty edge and application XML columns fall back to the files given on
+ * the command line, as in run_workload_matrix.sh. A run whose settings cannot
+ * be loaded or whose simulation throws is reported as failed and the sweep
+ * goes on; the sweep exits with status 1 if any run failed.</p>
+ *
+ * <p>Limitations: rows with the REMOTE_RL policy are skipped because every
+ * run needs its own RL server (use run_config_batch_with_rl.sh), and the
+ * System.exit(1) calls on fatal errors inside the simulator core still end
+ * the whole sweep (with a non-zero status).</p>
+ */
+public class SweepRunner {
+	private static final String MAIN_CLASS = "edu.boun.edgecloudsim.applications.sample_app1.MainApp";
+
+	// Defaults of run_workload_matrix.sh for empty edge/app XML columns
+	private static final String DEFAULT_EDGE_DEVICES_FILE = "edge_ai_devices_scaled.xml";
+	private static final String DEFAULT_APPLICATIONS_FILE = "applications_dag_stable_diffusion.xml";
+
+	// Console output of the runs, selected by the thread that prints
+	private static final InheritableThreadLocal<PrintStream> RUN_OUTPUT = new InheritableThreadLocal<PrintStream>();
+
+	/**
+	 * Command line: &lt;workload_matrix.csv&gt; &lt;config_dir&gt; &lt;output_root&gt; [num_runs] [parallelism]
+	 * [edge_devices_file] [applications_file]
+	 *
+	 * @param args config_dir holds the &lt;scenario&gt;.properties and XML files named
+	 *             in the matrix; parallelism defaults to the number of processors;
+	 *             the XML files are used for rows with empty edge/app columns and
+	 *             default to the ones of run_workload_matrix.sh
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length < 3 || args.length > 7){
+			System.err.println("Usage: SweepRunner <workload_matrix.csv> <config_dir> <output_root> [num_runs] [parallelism] [edge_devices_file] [applications_file]");
+			System.exit(1);
+		}
+		Path matrixFile = Paths.get(args[0]);
+		Path configDir = Paths.get(args[1]);
+		Path outputRoot = Paths.get(args[2]);
+		int numOfRuns = (args.length > 3) ? Integer.parseInt(args[3]) : 1;
+		int parallelism = (args.length > 4) ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		String edgeDevicesFile = (args.length > 5) ? args[5] : DEFAULT_EDGE_DEVICES_FILE;
+		String applicationsFile = (args.length > 6) ? args[6] : DEFAULT_APPLICATIONS_FILE;
+		if(numOfRuns < 1 || parallelism < 1){
+			System.err.println("num_runs and parallelism must be positive integers");
+			System.exit(1);
+		}
+
+		List<Run> runs = new ArrayList<Run>();
+		for(String[] row : readMatrix(matrixFile, edgeDevicesFile, applicationsFile)){
+			String scenario = row[0];
+			String policy = (row.length > 3) ? row[3] : "";
+			if(policy.equals("REMOTE_RL")){
+				System.out.println("Skipping " + scenario + ": REMOTE_RL needs its own RL server per run, use run_config_batch_with_rl.sh");
+				continue;
+			}
+			for(int i=1; i<=numOfRuns; i++)
+				runs.add(new Run(scenario, configDir, row[1], row[2], outputRoot, i));
+		}
+
+		URL[] classPath = currentClassPath();
+		installOutputRouting();
+		System.out.println("Running " + runs.size() + " simulation(s) on " + parallelism + " thread(s), results in " + outputRoot);
+
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+		AtomicInteger numOfFailedRuns = new AtomicInteger();
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		for(Run run : runs){
+			results.add(pool.submit(() -> {
+				if(!run.execute(classPath))
+					numOfFailedRuns.incrementAndGet();
+			}));
+		}
+		for(Future<?> result : results)
+			result.get();
+		pool.shutdown();
+
+		System.out.println("Sweep finished: " + (runs.size() - numOfFailedRuns.get()) + " OK, " + numOfFailedRuns.get() + " failed");
+		if(numOfFailedRuns.get() > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * One iteration of one matrix row.
+	 */
+	private static class Run {
+		private final String scenario;
+		private final Path configFile;
+		private final Path edgeDevicesFile;
+		private final Path applicationsFile;
+		private final Path scenarioFolder;
+		private final int iteration;
+
+		Run(String scenario, Path configDir, String edgeDevicesFile, String applicationsFile, Path outputRoot, int iteration) {
+			Path scenarioConfig = configDir.resolve(scenario + ".properties");
+			this.scenario = scenario;
+			// Same fallback as runner.sh
+			this.configFile = Files.isRegularFile(scenarioConfig) ? scenarioConfig : configDir.resolve("default_config.properties");
+			this.edgeDevicesFile = configDir.resolve(edgeDevicesFile);
+			this.applicationsFile = configDir.resolve(applicationsFile);
+			this.scenarioFolder = outputRoot.resolve(scenario);
+			this.iteration = iteration;
+		}
+
+		/**
+		 * Runs MainApp in a new class loader with its console output going to
+		 * ite&lt;i&gt;.log.
+		 *
+		 * @return true if MainApp.run() returned normally
+		 */
+		boolean execute(URL[] classPath) {
+			String tag = scenario + "/ite" + iteration;
+			Path outputFolder = scenarioFolder.resolve("ite" + iteration);
+			boolean ok = false;
+			long startTime = System.nanoTime();
+			try {
+				Files.createDirectories(outputFolder);
+				Path runConfig = writeRunConfig(outputFolder);
+				String[] mainArgs = {runConfig.toString(), edgeDevicesFile.toString(), applicationsFile.toString(),
+						outputFolder.toString(), Integer.toString(iteration)};
+
+				try (PrintStream log = new PrintStream(new FileOutputStream(scenarioFolder.resolve("ite" + iteration + ".log").toFile()), true);
+						URLClassLoader loader = new URLClassLoader(classPath, ClassLoader.getPlatformClassLoader())) {
+					RUN_OUTPUT.set(log);
+					Thread.currentThread().setContextClassLoader(loader);
+					try {
+						// run() throws on failure where main() would end the JVM
+						Method run = loader.loadClass(MAIN_CLASS).getMethod("run", String[].class);
+						run.invoke(null, (Object) mainArgs);
+						ok = true;
+					}
+					catch (InvocationTargetException e) {
+						e.getCause().printStackTrace(log);
+					}
+					finally {
+						RUN_OUTPUT.remove();
+						Thread.currentThread().setContextClassLoader(null);
+					}
+				}
+			}
+			catch (Exception e) {
+				System.err.println(tag + ": " + e);
+			}
+
+			long seconds = (System.nanoTime() - startTime) / 1000000000L;
+			logProgress(ok);
+			System.out.println(tag + (ok ? " OK" : " FAIL") + " (" + seconds + " s)");
+			return ok;
+		}
+
+		/**
+		 * Copies the scenario .properties file next to the result folder with
+		 * dag_log_output_dir pointing to the result folder, so that concurrent
+		 * runs do not write the same CSV files in the working directory.
+		 */
+		private Path writeRunConfig(Path outputFolder) throws IOException {
+			Properties prop = new Properties();
+			try (Reader in = Files.newBufferedReader(configFile, StandardCharsets.ISO_8859_1)) {
+				prop.load(in);
+			}
+			prop.setProperty("dag_log_output_dir", outputFolder.toString());
+			Path runConfig = scenarioFolder.resolve("ite" + iteration + ".properties");
+			try (Writer out = Files.newBufferedWriter(runConfig, StandardCharsets.ISO_8859_1)) {
+				prop.store(out, "Generated by SweepRunner from " + configFile);
+			}
+			return runConfig;
+		}
+
+		private void logProgress(boolean ok) {
+			String date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+			String line = date + " - ite" + iteration + (ok ? " OK" : " FAIL !!!") + System.lineSeparator();
+			synchronized (SweepRunner.class) {
+				try {
+					Files.write(scenarioFolder.resolve("progress.log"), line.getBytes(StandardCharsets.UTF_8),
+							StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+				}
+				catch (IOException e) {
+					System.err.println("Cannot update progress.log of " + scenario + ": " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the rows of the matrix, skipping the header and empty lines.
+	 * Missing or empty edge/app XML columns are replaced by the given files,
+	 * like ${edge_xml:-...} and ${app_xml:-...} in run_workload_matrix.sh.
+	 */
+	private static List<String[]> readMatrix(Path matrixFile, String edgeDevicesFile, String applicationsFile) throws IOException {
+		List<String[]> rows = new ArrayList<String[]>();
+		for(String line : Files.readAllLines(matrixFile, StandardCharsets.UTF_8)){
+			String[] row = line.trim().split(",", -1);
+			if(row[0].isEmpty() || row[0].equals("scenario"))
+				continue;
+			if(row.length < 3)
+				row = Arrays.copyOf(row, 3);
+			if(row[1] == null || row[1].isEmpty())
+				row[1] = edgeDevicesFile;
+			if(row[2] == null || row[2].isEmpty())
+				row[2] = applicationsFile;
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * Class path of this JVM, used for the class loader of every run.
+	 */
+	private static URL[] currentClassPath() throws IOException {
+		List<URL> urls = new ArrayList<URL>();
+		for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)){
+			if(!entry.isEmpty())
+				urls.add(Paths.get(entry).toUri().toURL());
+		}
+		return urls.toArray(new URL[0]);
+	}
+
+	/**
+	 * Replaces System.out and System.err with streams that write to the log
+	 * of the run executing on the current thread (or threads it started), and
+	 * to the original streams otherwise.
+	 */
+	private static void installOutputRouting() {
+		PrintStream console = System.out;
+		PrintStream errorConsole = System.err;
+		System.setOut(new PrintStream(new RoutingStream(console), true));
+		System.setErr(new PrintStream(new RoutingStream(errorConsole), true));
+	}
+
+	private static class RoutingStream extends OutputStream {
+		private final PrintStream fallback;
+
+		RoutingStream(PrintStream fallback) {
+			this.fallback = fallback;
+		}
+
+		private PrintStream target() {
+			PrintStream out = RUN_OUTPUT.get();
+			return (out != null) ? out : fallback;
+		}
+
+		@Override
+		public void write(int b) {
+			target().write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			target().write(b, off, len);
+		}
+
+		@Override
+		public void flush() {
+			target().flush();
+		}
+	}
+}
@@ -24,6 +24,7 @@ import org.cloudbus.cloudsim.core.SimEvent;
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.UtilizationAggregator;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
@@ -85,8 +86,10 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			
 			double wanBW = (wanDelay == 0) ? 0 : (1 / wanDelay); // Convert delay to bandwidth (Mbps)
 			
-			// Get current edge server utilization percentage
-			double edgeUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
+			// Get current edge server utilization percentage from the shared aggregator if available
+			UtilizationAggregator aggregator = SimManager.getInstance().getUtilizationAggregator();
+			double edgeUtilization = (aggregator != null) ? aggregator.getEdgeUtilization() :
+				SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
 			
 			// Policy-based offloading decision making
 			if(policy.equals("NETWORK_BASED")){
@@ -25,6 +25,7 @@ import net.sourceforge.jFuzzyLogic.FIS;
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.UtilizationAggregator;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
@@ -94,33 +95,57 @@ public class FuzzyEdgeOrchestrator extends EdgeOrchestrator {
 			double manDelay = SimManager.getInstance().getNetworkModel().getUploadDelay(SimSettings.GENERIC_EDGE_DEVICE_ID,
 					SimSettings.GENERIC_EDGE_DEVICE_ID, dummyTask);
 			
-			// Get average utilization across all edge servers
-			double edgeUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
-			
-			// Find the least loaded neighbor edge host and identify nearest edge server
+			// Edge loads are read from the shared aggregator instead of scanning every VM, if it exists
+			UtilizationAggregator aggregator = SimManager.getInstance().getUtilizationAggregator();
+			int servingWlanId = task.getSubmittedLocation().getServingWlanId();
 			double bestRemoteEdgeUtilization = 100; // Start with maximum value (100% utilization)
-			for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++){
-				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
-	
-				// Calculate total CPU utilization across all VMs on this host
-				double totalUtilization=0;
-				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-					totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-				}
-				
-				double avgUtilization = (totalUtilization / (double)(vmArray.size()));
+			double edgeUtilization;
+			if(aggregator != null){
+				// Get average utilization across all edge servers
+				edgeUtilization = aggregator.getEdgeUtilization();
 				
-				EdgeHost host = (EdgeHost)(vmArray.get(0).getHost()); // All VMs share the same host
+				// Identify the nearest edge server (same WLAN coverage area); the last one, as the scan below
+				List<Integer> nearestEdgeHosts = aggregator.getEdgeHostsOfWlan(servingWlanId);
+				if(!nearestEdgeHosts.isEmpty()){
+					nearestEdgeHostIndex = nearestEdgeHosts.get(nearestEdgeHosts.size() - 1);
+					nearestEdgeUtilization = aggregator.getEdgeHostUtilization(nearestEdgeHostIndex);
+				}
 				
-				// Check if this is the nearest edge server (same WLAN coverage area)
-				if(host.getLocation().getServingWlanId() == task.getSubmittedLocation().getServingWlanId()){
-					nearestEdgeUtilization = totalUtilization / (double)(vmArray.size());
-					nearestEdgeHostIndex = hostIndex;
+				// Find the least loaded neighbor edge host
+				int leastLoadedRemoteHost = aggregator.getLeastLoadedEdgeHost(servingWlanId);
+				if(leastLoadedRemoteHost != -1 && aggregator.getEdgeHostUtilization(leastLoadedRemoteHost) < bestRemoteEdgeUtilization){
+					bestRemoteEdgeHostIndex = leastLoadedRemoteHost;
+					bestRemoteEdgeUtilization = aggregator.getEdgeHostUtilization(leastLoadedRemoteHost);
 				}
-				// Track the best remote edge server with lowest utilization
-				else if(avgUtilization < bestRemoteEdgeUtilization){
-					bestRemoteEdgeHostIndex = hostIndex;
-					bestRemoteEdgeUtilization = avgUtilization;
+			}
+			else{
+				// Get average utilization across all edge servers
+				edgeUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
+				
+				// Find the least loaded neighbor edge host and identify nearest edge server
+				for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++){
+					List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
+		
+					// Calculate total CPU utilization across all VMs on this host
+					double totalUtilization=0;
+					for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
+						totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					}
+					
+					double avgUtilization = (totalUtilization / (double)(vmArray.size()));
+					
+					EdgeHost host = (EdgeHost)(vmArray.get(0).getHost()); // All VMs share the same host
+					
+					// Check if this is the nearest edge server (same WLAN coverage area)
+					if(host.getLocation().getServingWlanId() == servingWlanId){
+						nearestEdgeUtilization = totalUtilization / (double)(vmArray.size());
+						nearestEdgeHostIndex = hostIndex;
+					}
+					// Track the best remote edge server with lowest utilization
+					else if(avgUtilization < bestRemoteEdgeUtilization){
+						bestRemoteEdgeHostIndex = hostIndex;
+						bestRemoteEdgeUtilization = avgUtilization;
+					}
 				}
 			}
 
@@ -19,6 +19,7 @@ import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.UtilizationAggregator;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
@@ -88,8 +89,14 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			//serving wlan ID is equal to the host id because there is only one host in one place
 			int relatedHostId=deviceLocation.getServingWlanId();
 			
-			SampleEdgeServerManager sesm = (SampleEdgeServerManager)SimManager.getInstance().getEdgeServerManager();
-			double edgeUtilization = sesm.getAvgHostUtilization(relatedHostId);
+			UtilizationAggregator aggregator = SimManager.getInstance().getUtilizationAggregator();
+			double edgeUtilization;
+			if(aggregator != null)
+				edgeUtilization = aggregator.getEdgeHostUtilization(relatedHostId);
+			else {
+				SampleEdgeServerManager sesm = (SampleEdgeServerManager)SimManager.getInstance().getEdgeServerManager();
+				edgeUtilization = sesm.getAvgHostUtilization(relatedHostId);
+			}
 			if(edgeUtilization < 90)
 				result = SimSettings.GENERIC_EDGE_DEVICE_ID;
 			else
@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -35,11 +34,13 @@ import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_server.CloudletSchedulerProcessorSharing;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeServerManager;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_server.EdgeVmAllocationPolicy_Custom;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
 
 // Responsibilities:
 // - Parse edge_devices.xml to instantiate Datacenters, Hosts, and Edge VMs
@@ -83,6 +84,8 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		// Bandwidth heuristic: total WLAN BW divided by (numHosts + numVMs) to cap per-VM share
 		int hostCounter=0;
 		int vmCounter=0;
+		utilizationIntegral = new UtilizationIntegral(null);
+		hostUtilizationIntegrals.clear();
 		
 		//Create VMs for each hosts
 		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
@@ -94,6 +97,8 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 			for (int j = 0; j < hostNodeList.getLength(); j++) {
 				
 				vmList.add(hostCounter, new ArrayList<EdgeVM>());
+				UtilizationIntegral hostIntegral = new UtilizationIntegral(utilizationIntegral);
+				hostUtilizationIntegrals.add(hostCounter, hostIntegral);
 				
 				Node hostNode = hostNodeList.item(j);
 				Element hostElement = (Element) hostNode;
@@ -109,8 +114,10 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 					long storage = Long.parseLong(vmElement.getElementsByTagName("storage").item(0).getTextContent());
 					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (hostNodeList.getLength()+vmNodeList.getLength());
 					
-					//VM Parameters		
-					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+					//VM Parameters; the scheduler reports its utilization to the host and tier integrals
+					CloudletSchedulerProcessorSharing scheduler = new CloudletSchedulerProcessorSharing();
+					scheduler.setUtilizationIntegral(UtilizationIntegral.forVm(hostIntegral));
+					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, scheduler);
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
 				}
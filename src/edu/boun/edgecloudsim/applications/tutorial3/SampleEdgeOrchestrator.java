@@ -22,6 +22,7 @@ import org.cloudbus.cloudsim.core.SimEvent;
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.UtilizationAggregator;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
@@ -75,8 +76,10 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 				SimSettings.CLOUD_DATACENTER_ID, dummyTask /* 1 Mbit */);
 		double wanBW = (wanDelay == 0) ? 0 : (1 / wanDelay); /* Mbps (since dummy payload ~1 Mbit) */
 
-		// Aggregate edge utilization across all edge VMs (percentage basis)
-		double edgeUtilization = SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
+		// Aggregate edge utilization across all edge VMs (percentage basis), kept up to date by the utilization aggregator
+		UtilizationAggregator aggregator = SimManager.getInstance().getUtilizationAggregator();
+		double edgeUtilization = (aggregator != null) ? aggregator.getEdgeUtilization() :
+			SimManager.getInstance().getEdgeServerManager().getAvgUtilization();
 		
 
 		if(policy.equals("NETWORK_BASED")){
@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
+
 /**
  * Abstract base class for managing cloud server infrastructure in EdgeCloudSim.
  * Handles cloud datacenter operations, VM allocation, and resource management.
@@ -31,6 +33,8 @@ public abstract class CloudServerManager {
 	protected Datacenter localDatacenter;
 	protected List<Datacenter> localDatacenters;
 	protected List<List<CloudVM>> vmList;
+	protected UtilizationIntegral utilizationIntegral;            // CPU utilization of all cloud VMs, null if not tracked
+	protected List<UtilizationIntegral> hostUtilizationIntegrals; // CPU utilization per VM list, indexed like vmList
 
 	/**
 	 * Constructor initializes the VM list structure for cloud servers.
@@ -38,6 +42,7 @@ public abstract class CloudServerManager {
 	public CloudServerManager() {
 		localDatacenters = new ArrayList<Datacenter>();
 		vmList = new ArrayList<List<CloudVM>>();
+		hostUtilizationIntegrals = new ArrayList<UtilizationIntegral>();
 	}
 
 	/**
@@ -57,6 +62,25 @@ public abstract class CloudServerManager {
 	public int getVmListCount() {
 		return vmList.size();
 	}
+
+	/**
+	 * Gets the time-integral of the CPU utilization of all cloud VMs.
+	 * @return utilization integral of the cloud tier, or null if the VMs do not
+	 *         report their utilization changes (SimManager then samples
+	 *         getAvgUtilization() periodically)
+	 */
+	public UtilizationIntegral getUtilizationIntegral() {
+		return utilizationIntegral;
+	}
+
+	/**
+	 * Gets the time-integral of the CPU utilization of the VMs in one VM list.
+	 * @param hostId index as used by getVmList()
+	 * @return utilization integral of the host (or datacenter), or null if not tracked
+	 */
+	public UtilizationIntegral getHostUtilizationIntegral(int hostId) {
+		return (hostId < hostUtilizationIntegrals.size()) ? hostUtilizationIntegrals.get(hostId) : null;
+	}
 	
 	/**
 	 * Gets the cloud datacenter managed by this manager.
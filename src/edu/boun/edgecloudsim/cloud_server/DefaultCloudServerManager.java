@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -33,6 +32,8 @@ import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_server.CloudletSchedulerProcessorSharing;
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
 
 /**
  * Default implementation of CloudServerManager for standard cloud
@@ -134,11 +135,15 @@ public class DefaultCloudServerManager extends CloudServerManager {
 		// VMs should have unique IDs, so create Cloud VMs after Edge VMs
 		int vmCounter = SimSettings.getInstance().getNumOfEdgeVMs();
 		vmList.clear();
+		utilizationIntegral = new UtilizationIntegral(null);
+		hostUtilizationIntegrals.clear();
 
 		if (!cloudDatacenterElements.isEmpty()) {
 			for (int dcIdx = 0; dcIdx < cloudDatacenterElements.size(); dcIdx++) {
 				Element datacenterElement = cloudDatacenterElements.get(dcIdx);
 				vmList.add(new ArrayList<CloudVM>());
+				UtilizationIntegral hostIntegral = new UtilizationIntegral(utilizationIntegral);
+				hostUtilizationIntegrals.add(hostIntegral);
 				NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
 				for (int h = 0; h < hostNodeList.getLength(); h++) {
 					Element hostElement = (Element) hostNodeList.item(h);
@@ -153,7 +158,7 @@ public class DefaultCloudServerManager extends CloudServerManager {
 						long bandwidth = 0;
 
 						CloudVM vm = new CloudVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm,
-								new CloudletSchedulerTimeShared());
+								newCloudletScheduler(hostIntegral));
 						vmList.get(dcIdx).add(vm);
 						vmCounter++;
 					}
@@ -165,6 +170,8 @@ public class DefaultCloudServerManager extends CloudServerManager {
 		// Fallback: single cloud datacenter from settings
 		for (int i = 0; i < SimSettings.getInstance().getNumOfCloudHost(); i++) {
 			vmList.add(i, new ArrayList<CloudVM>());
+			UtilizationIntegral hostIntegral = new UtilizationIntegral(utilizationIntegral);
+			hostUtilizationIntegrals.add(i, hostIntegral);
 			for (int j = 0; j < SimSettings.getInstance().getNumOfCloudVMsPerHost(); j++) {
 				String vmm = "Xen";
 				int numOfCores = SimSettings.getInstance().getCoreForCloudVM();
@@ -174,13 +181,23 @@ public class DefaultCloudServerManager extends CloudServerManager {
 				long bandwidth = 0;
 
 				CloudVM vm = new CloudVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm,
-						new CloudletSchedulerTimeShared());
+						newCloudletScheduler(hostIntegral));
 				vmList.get(i).add(vm);
 				vmCounter++;
 			}
 		}
 	}
 
+	/**
+	 * Creates the cloudlet scheduler of a cloud VM, reporting its utilization
+	 * to the given host integral and the cloud tier integral.
+	 */
+	private CloudletSchedulerProcessorSharing newCloudletScheduler(UtilizationIntegral hostIntegral) {
+		CloudletSchedulerProcessorSharing scheduler = new CloudletSchedulerProcessorSharing();
+		scheduler.setUtilizationIntegral(UtilizationIntegral.forVm(hostIntegral));
+		return scheduler;
+	}
+
 	/**
 	 * Calculates the average CPU utilization across all cloud VMs.
 	 * Iterates through all hosts and their VMs to compute overall utilization.
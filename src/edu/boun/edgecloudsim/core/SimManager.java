@@ -31,6 +31,7 @@ import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
 import edu.boun.edgecloudsim.network.NetworkModel;
 import edu.boun.edgecloudsim.utils.TaskProperty;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
 import edu.boun.edgecloudsim.dagsim.DagRuntimeManager;
 import java.net.HttpURLConnection;
 import java.net.URL;
@@ -57,12 +58,15 @@ public class SimManager extends SimEntity {
 	private static final int GET_LOAD_LOG = 2;       // Load logging event
 	private static final int PRINT_PROGRESS = 3;     // Progress reporting event
 	private static final int STOP_SIMULATION = 4;    // Simulation termination event
+	private static final int DAG_DRAIN_DEADLINE = 5; // End of the wait for DAG queues to drain
 	
 	// Simulation configuration parameters
 	private String simScenario;            // Current simulation scenario name
 	private String orchestratorPolicy;     // Selected orchestration policy
 	private int numOfMobileDevice;         // Number of mobile devices in simulation
 	private volatile boolean simulationStopping = false;
+	private boolean waitingForDagDrain = false;       // STOP_SIMULATION deferred until DAG queues drain
+	private boolean vmLoadPolling;                    // true if VM loads are sampled by GET_LOAD_LOG events
 	
 	// Core simulation models and components
 	private NetworkModel networkModel;              // Network delay and bandwidth model
@@ -78,6 +82,7 @@ public class SimManager extends SimEntity {
 	// Task generation and device management
 	private LoadGeneratorModel loadGeneratorModel;   // Task generation patterns and workload simulation
 	private MobileDeviceManager mobileDeviceManager; // Mobile device lifecycle management
+	private UtilizationAggregator utilizationAggregator; // Shared load view for the orchestrators, null if unsupported
 	
 	// Singleton instance
 	private static SimManager instance = null;
@@ -94,20 +99,47 @@ public class SimManager extends SimEntity {
 	 * @throws Exception if initialization of any component fails
 	 */
 	public SimManager(ScenarioFactory _scenarioFactory, int _numOfMobileDevice, String _simScenario, String _orchestratorPolicy) throws Exception {
+		this(_scenarioFactory, _numOfMobileDevice, _simScenario, _orchestratorPolicy, null);
+	}
+
+	/**
+	 * Constructs the SimManager of one policy run on a cached workload.
+	 * The task list and device locations in the cache are reused instead of
+	 * being generated again, and the shared RNG is reset to the cached seed.
+	 * 
+	 * @param _workloadCache Workload generated for this scenario, or null to generate it
+	 * @throws Exception if initialization of any component fails
+	 * @see #SimManager(ScenarioFactory, int, String, String)
+	 */
+	public SimManager(ScenarioFactory _scenarioFactory, int _numOfMobileDevice, String _simScenario, String _orchestratorPolicy,
+			WorkloadCache _workloadCache) throws Exception {
 		super("SimManager");
 		simScenario = _simScenario;
 		scenarioFactory = _scenarioFactory;
 		numOfMobileDevice = _numOfMobileDevice;
 		orchestratorPolicy = _orchestratorPolicy;
 
+		if(_workloadCache != null)
+			_workloadCache.resetSharedRng();
+
 		SimLogger.print("Creating tasks...");
-		loadGeneratorModel = scenarioFactory.getLoadGeneratorModel();
-		loadGeneratorModel.initializeModel();
+		if(_workloadCache != null && _workloadCache.getLoadGeneratorModel() != null) {
+			loadGeneratorModel = _workloadCache.getLoadGeneratorModel();
+		}
+		else {
+			loadGeneratorModel = scenarioFactory.getLoadGeneratorModel();
+			loadGeneratorModel.initializeModel();
+		}
 		SimLogger.printLine("Done, ");
 		
 		SimLogger.print("Creating device locations...");
-		mobilityModel = scenarioFactory.getMobilityModel();
-		mobilityModel.initialize();
+		if(_workloadCache != null) {
+			mobilityModel = _workloadCache.getMobilityModel();
+		}
+		else {
+			mobilityModel = scenarioFactory.getMobilityModel();
+			mobilityModel.initialize();
+		}
 		SimLogger.printLine("Done.");
 
 		//Generate network model
@@ -281,6 +313,17 @@ public class SimManager extends SimEntity {
 	public MobileDeviceManager getMobileDeviceManager(){
 		return mobileDeviceManager;
 	}
+
+	/**
+	 * Gets the shared utilization aggregator of the edge hosts and the edge tier.
+	 * Available from the start of the simulation if the edge server manager keeps
+	 * utilization integrals (e.g. DefaultEdgeServerManager).
+	 * 
+	 * @return UtilizationAggregator instance, or null if the server managers do not support it
+	 */
+	public UtilizationAggregator getUtilizationAggregator(){
+		return utilizationAggregator;
+	}
 	
 	/**
 	 * Starts the simulation entity and initializes all VM lists and event scheduling.
@@ -289,6 +332,8 @@ public class SimManager extends SimEntity {
 	 */
 	@Override
 	public void startEntity() {
+		utilizationAggregator = UtilizationAggregator.create(edgeServerManager);
+
 		int hostCounter=0;
 
 		// Submit edge server VM lists to mobile device manager
@@ -315,10 +360,20 @@ public class SimManager extends SimEntity {
 		for(int i=0; i< loadGeneratorModel.getTaskList().size(); i++)
 			schedule(getId(), loadGeneratorModel.getTaskList().get(i).getStartTime(), CREATE_TASK, loadGeneratorModel.getTaskList().get(i));
 		
+		// In streaming mode only the first arrival of each device is scheduled here,
+		// the following ones are pulled when the previous CREATE_TASK event fires
+		if(loadGeneratorModel.isTaskStreamingEnabled()) {
+			for(int i=0; i<numOfMobileDevice; i++) {
+				TaskProperty firstTask = loadGeneratorModel.getNextTask(i);
+				if(firstTask != null)
+					schedule(getId(), firstTask.getStartTime(), CREATE_TASK, firstTask);
+			}
+		}
+		
 		// Schedule periodic monitoring and control events
 		schedule(getId(), 5, CHECK_ALL_VM);                                                    // VM status monitoring
 		schedule(getId(), SimSettings.getInstance().getSimulationTime()/100, PRINT_PROGRESS); // Progress reporting
-		schedule(getId(), SimSettings.getInstance().getVmLoadLogInterval(), GET_LOAD_LOG);     // Load logging
+		startVmLoadLogging();                                                                  // Load logging
 		schedule(getId(), SimSettings.getInstance().getSimulationTime(), STOP_SIMULATION);     // Simulation termination
 		
 		SimLogger.printLine("Done.");
@@ -339,7 +394,14 @@ public class SimManager extends SimEntity {
 				// Handle task creation and submission to mobile device manager
 				try {
 					TaskProperty edgeTask = (TaskProperty) ev.getData();
-					mobileDeviceManager.submitTask(edgeTask);						
+					mobileDeviceManager.submitTask(edgeTask);
+					
+					// Keep exactly one pending arrival per device in streaming mode
+					if(loadGeneratorModel.isTaskStreamingEnabled()) {
+						TaskProperty nextTask = loadGeneratorModel.getNextTask(edgeTask.getMobileDeviceId());
+						if(nextTask != null)
+							schedule(getId(), Math.max(0, nextTask.getStartTime() - CloudSim.clock()), CREATE_TASK, nextTask);
+					}
 				} catch (Exception e) {
 					e.printStackTrace();
 					System.exit(1);
@@ -381,19 +443,22 @@ public class SimManager extends SimEntity {
 					DagRuntimeManager drm = DagRuntimeManager.getInstance();
 					if (drm != null && drm.hasPendingTasks()) {
 						// Wait until all DAG queues drain before stopping.
-						schedule(getId(), 1.0, STOP_SIMULATION);
+						// DagRuntimeManager notifies us via onDagQueuesDrained().
+						// The deadline event bounds the wait and keeps the event
+						// queue alive, so the run cannot end without the logs.
+						if(!waitingForDagDrain)
+							schedule(getId(), SimSettings.getInstance().getDagDrainTimeout(), DAG_DRAIN_DEADLINE);
+						waitingForDagDrain = true;
 						break;
 					}
 				}
-				simulationStopping = true;
-				SimLogger.printLine("100");
-				CloudSim.terminateSimulation();
-				try {
-					SimLogger.getInstance().simStopped();
-					exportRlRewardsOnShutdown();
-				} catch (IOException e) {
-					e.printStackTrace();
-					System.exit(1);
+				stopSimulation();
+				break;
+			case DAG_DRAIN_DEADLINE:
+				if(waitingForDagDrain && !simulationStopping){
+					SimLogger.printLine("Warning: " + DagRuntimeManager.getInstance().getPendingDagCount()
+							+ " DAG(s) still pending after dag_drain_timeout, stopping the simulation");
+					stopSimulation();
 				}
 				break;
 			default:
@@ -403,6 +468,90 @@ public class SimManager extends SimEntity {
 		}
 	}
 
+	/**
+	 * Terminates the simulation and finalizes the logs.
+	 */
+	private void stopSimulation() {
+		waitingForDagDrain = false;
+		simulationStopping = true;
+		SimLogger.printLine("100");
+		CloudSim.terminateSimulation();
+		if(!vmLoadPolling)
+			addVmUtilizationLogFromIntegrals();
+		try {
+			SimLogger.getInstance().simStopped();
+			exportRlRewardsOnShutdown();
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Starts the VM load log. If the edge, cloud and mobile server managers all
+	 * track the time-integral of their VM utilization, the log is computed from
+	 * those integrals when the simulation stops and no polling event is
+	 * scheduled; otherwise every VM is polled each vm_load_check_interval.
+	 */
+	private void startVmLoadLogging() {
+		UtilizationIntegral[] tierIntegrals = getTierUtilizationIntegrals();
+		vmLoadPolling = (tierIntegrals == null);
+		if(vmLoadPolling){
+			schedule(getId(), SimSettings.getInstance().getVmLoadLogInterval(), GET_LOAD_LOG);
+			return;
+		}
+		double interval = SimSettings.getInstance().getVmLoadLogInterval();
+		if(interval <= 0)
+			return;
+		for(UtilizationIntegral tierIntegral : tierIntegrals)
+			tierIntegral.enableSampling(interval);
+	}
+
+	/**
+	 * Adds one VM load log entry per vm_load_check_interval, each holding the
+	 * average utilization per VM over that interval.
+	 */
+	private void addVmUtilizationLogFromIntegrals() {
+		UtilizationIntegral[] tierIntegrals = getTierUtilizationIntegrals();
+		for(UtilizationIntegral tierIntegral : tierIntegrals)
+			tierIntegral.advance(CloudSim.clock());
+
+		double interval = SimSettings.getInstance().getVmLoadLogInterval();
+		double[] edgeLoad = tierIntegrals[0].getSampledAverages();
+		double[] cloudLoad = tierIntegrals[1].getSampledAverages();
+		double[] mobileLoad = tierIntegrals[2].getSampledAverages();
+		for(int k=0; k<edgeLoad.length; k++)
+			SimLogger.getInstance().addVmUtilizationLog((k+1) * interval, edgeLoad[k], cloudLoad[k], mobileLoad[k]);
+	}
+
+	/**
+	 * @return utilization integrals of the edge, cloud and mobile tiers, or
+	 *         null if one of the server managers does not provide one
+	 */
+	private UtilizationIntegral[] getTierUtilizationIntegrals() {
+		UtilizationIntegral[] tierIntegrals = {
+				edgeServerManager.getUtilizationIntegral(),
+				cloudServerManager.getUtilizationIntegral(),
+				mobileServerManager.getUtilizationIntegral()};
+		for(UtilizationIntegral tierIntegral : tierIntegrals){
+			if(tierIntegral == null)
+				return null;
+		}
+		return tierIntegrals;
+	}
+
+	/**
+	 * Drain notification from DagRuntimeManager, called when the number of
+	 * submitted but incomplete DAGs drops to zero. If the simulation end was
+	 * deferred because of pending DAGs, termination is scheduled right away.
+	 */
+	public void onDagQueuesDrained() {
+		if (waitingForDagDrain) {
+			waitingForDagDrain = false;
+			schedule(getId(), 0, STOP_SIMULATION);
+		}
+	}
+
 	/**
 	 * Trigger reward export on the RL server after simulation shutdown.
 	 * Best-effort: failures are logged but do not stop the simulation.
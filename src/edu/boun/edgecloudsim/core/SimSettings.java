@@ -13,14 +13,20 @@
 
 package edu.boun.edgecloudsim.core;
 
+import edu.boun.edgecloudsim.mobility.EdgeTopology;
+import edu.boun.edgecloudsim.utils.ConsoleLogger;
+import edu.boun.edgecloudsim.utils.Location;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Properties;
@@ -73,6 +79,9 @@ public class SimSettings {
 	// Simulation timing parameters (converted from minutes in properties file)
 	private double SIMULATION_TIME;
 	private boolean STOP_WHEN_QUEUES_EMPTY = true;
+	private double DAG_DRAIN_TIMEOUT;
+	private boolean STREAMING_TASK_GENERATION = false;
+	private boolean POLICY_WORKLOAD_CACHE = false;
 	private double WARM_UP_PERIOD;
 	private double INTERVAL_TO_GET_VM_LOAD_LOG;
 	private double INTERVAL_TO_GET_LOCATION_LOG;
@@ -130,6 +139,9 @@ public class SimSettings {
 	private String[] ORCHESTRATOR_POLICIES;
 	private String RL_SERVICE_URL;
 	private String DAG_INPUT_PATH;
+	private String DAG_LOG_OUTPUT_DIR;
+	private int DAG_LOOKAHEAD_WINDOW; // DAGs materialized ahead of the clock, 0 = load all at startup
+	private double LOG_PROGRESS_INTERVAL; // wall clock seconds, 0 disables
 	private int RL_HTTP_TIMEOUT_MS;
 	private boolean RL_TRAINING_MODE;
 	private double RL_ALPHA_L;
@@ -138,6 +150,10 @@ public class SimSettings {
 	private double RL_C_HAT;
 	private double RL_B_COST;
 	private double RL_BUDGET_PENALTY;
+	private boolean RL_BATCH_MODE;
+	private int RL_OBSERVE_QUEUE_CAPACITY;
+	private int RL_OBSERVE_BATCH_SIZE;
+	private boolean RL_BINARY_PAYLOAD;
 	private double DAG_INTERARRIVAL_RATE;
 
 	// Geographic simulation boundaries
@@ -177,6 +193,17 @@ public class SimSettings {
 	// Application type names corresponding to taskLookUpTable entries
 	private String[] taskNames = null;
 
+	/**
+	 * Placement of edge VMs as defined in edge_devices.xml, indexed by edge VM id
+	 * (the order in which VMs appear in the edge datacenters, cloud datacenters
+	 * skipped): index of the edge datacenter and index of the host inside it
+	 */
+	private int[] edgeVmDatacenterIndex = new int[0];
+	private int[] edgeVmHostIndex = new int[0];
+
+	// Typed snapshot of the edge datacenter locations used by the mobility models
+	private EdgeTopology edgeTopology = null;
+
 	/**
 	 * Private constructor for singleton pattern implementation.
 	 * Initializes place type counter for mobility configuration.
@@ -242,6 +269,11 @@ public class SimSettings {
 			FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("file_log_enabled"));
 			DEEP_FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("deep_file_log_enabled"));
 			STOP_WHEN_QUEUES_EMPTY = Boolean.parseBoolean(prop.getProperty("stop_when_queues_empty", "true"));
+			// Defaults to the simulation time: a deferred stop waits at most that long again
+			DAG_DRAIN_TIMEOUT = (double) 60 * Double.parseDouble(prop.getProperty("dag_drain_timeout",
+					prop.getProperty("simulation_time"))); // seconds
+			STREAMING_TASK_GENERATION = Boolean.parseBoolean(prop.getProperty("streaming_task_generation", "false"));
+			POLICY_WORKLOAD_CACHE = Boolean.parseBoolean(prop.getProperty("policy_workload_cache", "false"));
 
 			MIN_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("min_number_of_mobile_devices"));
 			MAX_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("max_number_of_mobile_devices"));
@@ -280,6 +312,10 @@ public class SimSettings {
 			RL_SERVICE_URL = prop.getProperty("rl_service_url",
 					prop.getProperty("rl_server_url", "http://localhost:8000"));
 			DAG_INPUT_PATH = prop.getProperty("dag_input_path", "").trim();
+			DAG_LOG_OUTPUT_DIR = prop.getProperty("dag_log_output_dir", "").trim();
+			DAG_LOOKAHEAD_WINDOW = Integer.parseInt(prop.getProperty("dag_lookahead_window", "64").trim());
+			LOG_PROGRESS_INTERVAL = Double.parseDouble(prop.getProperty("log_progress_interval", "10"));
+			ConsoleLogger.configure(prop);
 			RL_HTTP_TIMEOUT_MS = Integer.parseInt(prop.getProperty("http_timeout_ms", "5000"));
 			RL_TRAINING_MODE = Boolean.parseBoolean(prop.getProperty("training_mode", "true"));
 			RL_ALPHA_L = Double.parseDouble(prop.getProperty("alpha_l", "1.0"));
@@ -288,6 +324,10 @@ public class SimSettings {
 			RL_C_HAT = Double.parseDouble(prop.getProperty("c_hat", "1.0"));
 			RL_B_COST = Double.parseDouble(prop.getProperty("b_cost", "100.0"));
 			RL_BUDGET_PENALTY = Double.parseDouble(prop.getProperty("budget_penalty", "-1.0"));
+			RL_BATCH_MODE = Boolean.parseBoolean(prop.getProperty("rl_batch_mode", "false"));
+			RL_OBSERVE_QUEUE_CAPACITY = Integer.parseInt(prop.getProperty("rl_observe_queue_capacity", "4096"));
+			RL_OBSERVE_BATCH_SIZE = Integer.parseInt(prop.getProperty("rl_observe_batch_size", "64"));
+			RL_BINARY_PAYLOAD = "binary".equalsIgnoreCase(prop.getProperty("rl_payload_encoding", "json").trim());
 			DAG_INTERARRIVAL_RATE = Double.parseDouble(prop.getProperty("dag_interarrival_rate", "60.0"));
 
 			NORTHERN_BOUND = Double.parseDouble(prop.getProperty("northern_bound", "0"));
@@ -374,6 +414,31 @@ public class SimSettings {
 		return STOP_WHEN_QUEUES_EMPTY;
 	}
 
+	/**
+	 * Maximum time (in seconds) to wait for the DAG queues to drain after the
+	 * simulation time has passed; the simulation is stopped when it expires.
+	 */
+	public double getDagDrainTimeout() {
+		return DAG_DRAIN_TIMEOUT;
+	}
+
+	/**
+	 * Whether load generators should produce tasks on demand (one pending
+	 * arrival per device) instead of materializing the whole task list.
+	 */
+	public boolean isStreamingTaskGenerationEnabled() {
+		return STREAMING_TASK_GENERATION;
+	}
+
+	/**
+	 * Whether the orchestrator policies of a scenario reuse the workload
+	 * generated for the first one (same task list, device locations and RNG
+	 * seed). Each run is still simulated from time 0.
+	 */
+	public boolean isPolicyWorkloadCacheEnabled() {
+		return POLICY_WORKLOAD_CACHE;
+	}
+
 	/**
 	 * returns warm up period (in seconds unit) from properties file
 	 */
@@ -525,6 +590,22 @@ public class SimSettings {
 		return NUM_OF_EDGE_VMS;
 	}
 
+	/**
+	 * returns the index of the edge datacenter hosting the given edge VM,
+	 * or -1 if no such edge VM is defined in edge_devices.xml
+	 */
+	public int getEdgeVmDatacenterIndex(int vmId) {
+		return (vmId >= 0 && vmId < edgeVmDatacenterIndex.length) ? edgeVmDatacenterIndex[vmId] : -1;
+	}
+
+	/**
+	 * returns the index of the host (within its edge datacenter) hosting the
+	 * given edge VM, or -1 if no such edge VM is defined in edge_devices.xml
+	 */
+	public int getEdgeVmHostIndex(int vmId) {
+		return (vmId >= 0 && vmId < edgeVmHostIndex.length) ? edgeVmHostIndex[vmId] : -1;
+	}
+
 	/**
 	 * returns the number of different place types
 	 */
@@ -666,6 +747,30 @@ public class SimSettings {
 		return DAG_INPUT_PATH;
 	}
 
+	/**
+	 * returns the folder of task_log.csv and dag_summary.csv;
+	 * empty means the working directory
+	 */
+	public String getDagLogOutputDir() {
+		return DAG_LOG_OUTPUT_DIR;
+	}
+
+	/**
+	 * returns the number of DAGs read from a streamed DAG file ahead of the
+	 * simulation clock; 0 loads all DAGs at startup
+	 */
+	public int getDagLookaheadWindow() {
+		return DAG_LOOKAHEAD_WINDOW;
+	}
+
+	/**
+	 * returns the minimum wall clock time between two DAG progress lines
+	 * in nanoseconds; 0 disables the progress line
+	 */
+	public long getLogProgressIntervalNanos() {
+		return (long) (LOG_PROGRESS_INTERVAL * 1e9);
+	}
+
 	public int getRlHttpTimeoutMs() {
 		return RL_HTTP_TIMEOUT_MS;
 	}
@@ -698,6 +803,30 @@ public class SimSettings {
 		return RL_BUDGET_PENALTY;
 	}
 
+	/**
+	 * returns true if RL placement requests of the same simulation time are
+	 * sent as one /act_batch call and observations are posted asynchronously
+	 */
+	public boolean isRlBatchModeEnabled() {
+		return RL_BATCH_MODE;
+	}
+
+	public int getRlObserveQueueCapacity() {
+		return RL_OBSERVE_QUEUE_CAPACITY;
+	}
+
+	public int getRlObserveBatchSize() {
+		return RL_OBSERVE_BATCH_SIZE;
+	}
+
+	/**
+	 * returns true if RL states are sent as binary frames (rl_payload_encoding=binary)
+	 * instead of JSON; see RLStateEncoder for the layout
+	 */
+	public boolean isRlBinaryPayloadEnabled() {
+		return RL_BINARY_PAYLOAD;
+	}
+
 	public double getDagInterarrivalRate() {
 		return DAG_INTERARRIVAL_RATE;
 	}
@@ -920,6 +1049,11 @@ public class SimSettings {
 			double sumEdgeCostPerBw = 0.0;
 			int edgeDcCount = 0;
 
+			int vmElementCount = edgeDevicesDoc.getElementsByTagName("VM").getLength();
+			edgeVmDatacenterIndex = new int[vmElementCount];
+			edgeVmHostIndex = new int[vmElementCount];
+			List<Location> edgeLocations = new ArrayList<Location>();
+
 			NodeList datacenterList = edgeDevicesDoc.getElementsByTagName("datacenter");
 			for (int i = 0; i < datacenterList.getLength(); i++) {
 				Node datacenterNode = datacenterList.item(i);
@@ -954,6 +1088,12 @@ public class SimSettings {
 				int placeTypeIndex = Integer.parseInt(attractiveness);
 				if (NUM_OF_PLACE_TYPES < placeTypeIndex + 1)
 					NUM_OF_PLACE_TYPES = placeTypeIndex + 1;
+				if (!isCloud) {
+					int wlanId = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
+					int xPos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
+					int yPos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
+					edgeLocations.add(new Location(placeTypeIndex, wlanId, xPos, yPos));
+				}
 
 				NodeList hostList = datacenterElement.getElementsByTagName("host");
 				for (int j = 0; j < hostList.getLength(); j++) {
@@ -971,6 +1111,8 @@ public class SimSettings {
 					NodeList vmList = hostElement.getElementsByTagName("VM");
 					for (int k = 0; k < vmList.getLength(); k++) {
 						if (!isCloud) {
+							edgeVmDatacenterIndex[NUM_OF_EDGE_VMS] = NUM_OF_EDGE_DATACENTERS - 1;
+							edgeVmHostIndex[NUM_OF_EDGE_VMS] = j;
 							NUM_OF_EDGE_VMS++;
 						}
 						Node vmNode = vmList.item(k);
@@ -984,6 +1126,9 @@ public class SimSettings {
 					}
 				}
 			}
+			edgeVmDatacenterIndex = Arrays.copyOf(edgeVmDatacenterIndex, NUM_OF_EDGE_VMS);
+			edgeVmHostIndex = Arrays.copyOf(edgeVmHostIndex, NUM_OF_EDGE_VMS);
+			edgeTopology = new EdgeTopology(edgeLocations, mobilityLookUpTable);
 			if (edgeDcCount > 0) {
 				EDGE_AVG_COST_PER_SEC = sumEdgeCostPerSec / (double) edgeDcCount;
 				EDGE_AVG_COST_PER_BW = sumEdgeCostPerBw / (double) edgeDcCount;
@@ -1033,4 +1178,12 @@ public class SimSettings {
 	public Document getEdgeDevicesDocument() {
 		return edgeDevicesDoc;
 	}
+
+	/**
+	 * returns the edge datacenter locations and place type residence times
+	 * parsed from edge_devices.xml
+	 */
+	public EdgeTopology getEdgeTopology() {
+		return edgeTopology;
+	}
 }
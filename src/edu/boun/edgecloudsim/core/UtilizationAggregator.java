@@ -0,0 +1,221 @@
+/*
+ * Title:        EdgeCloudSim - Utilization Aggregator
+ *
+ * Description:
+ * UtilizationAggregator provides the current CPU utilization of the edge
+ * hosts and the edge tier, and the least loaded edge host, to the
+ * orchestrators without scanning the VMs
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.Host;
+
+import edu.boun.edgecloudsim.edge_server.EdgeHost;
+import edu.boun.edgecloudsim.edge_server.EdgeServerManager;
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
+
+/**
+ * Shared view of the load of the simulated infrastructure, owned by
+ * SimManager and used by the orchestrators.
+ *
+ * The aggregates are the UtilizationIntegrals that the edge server manager
+ * builds over its VMs (VM, host and tier), updated by the cloudlet
+ * schedulers when a cloudlet starts or leaves a VM. This class listens to
+ * the edge host integrals and keeps an indexed min-heap of the edge hosts
+ * ordered by average utilization per VM up to date on every change, in
+ * O(log hosts), so the least loaded host is found without a walk over
+ * every VM. Utilizations are returned in the units of
+ * getTotalUtilizationOfCpu() and equal a fresh sum over the VMs up to
+ * rounding of the incremental updates.
+ *
+ * The aggregator exists only if the edge server manager provides utilization
+ * integrals (see SimManager.getUtilizationAggregator()).
+ */
+public class UtilizationAggregator implements UtilizationIntegral.Listener {
+	private final EdgeServerManager edgeServerManager;
+
+	private final UtilizationIntegral[] hostIntegrals; // by edge host ID
+	private final int[] wlanIdOfHost;
+	private final Map<UtilizationIntegral, Integer> hostIdOfIntegral = new IdentityHashMap<UtilizationIntegral, Integer>();
+	private final Map<Integer, List<Integer>> hostIdsOfWlan = new HashMap<Integer, List<Integer>>();
+
+	// Indexed binary min-heap of edge host IDs
+	private final int[] heap;
+	private final int[] heapPosition; // by host ID
+
+	private UtilizationAggregator(EdgeServerManager edgeServerManager, List<UtilizationIntegral> hostIntegrals,
+			List<Integer> wlanIds) {
+		this.edgeServerManager = edgeServerManager;
+
+		int numOfHosts = hostIntegrals.size();
+		this.hostIntegrals = hostIntegrals.toArray(new UtilizationIntegral[numOfHosts]);
+		this.wlanIdOfHost = new int[numOfHosts];
+		this.heap = new int[numOfHosts];
+		this.heapPosition = new int[numOfHosts];
+		for(int hostId=0; hostId<numOfHosts; hostId++){
+			UtilizationIntegral hostIntegral = this.hostIntegrals[hostId];
+			int wlanId = wlanIds.get(hostId);
+			wlanIdOfHost[hostId] = wlanId;
+			hostIdOfIntegral.put(hostIntegral, hostId);
+
+			List<Integer> hostIds = hostIdsOfWlan.get(wlanId);
+			if(hostIds == null){
+				hostIds = new ArrayList<Integer>();
+				hostIdsOfWlan.put(wlanId, hostIds);
+			}
+			hostIds.add(hostId);
+
+			heap[hostId] = hostId;
+			heapPosition[hostId] = hostId;
+			hostIntegral.setListener(this);
+		}
+		// hosts without VMs have an infinite key, so the host ID order is not a heap yet
+		for(int position=numOfHosts/2-1; position>=0; position--)
+			siftDown(position);
+	}
+
+	/**
+	 * Creates the aggregator over the VMs of the given manager. Must be
+	 * called after the VM lists and edge datacenters are created.
+	 *
+	 * @return the aggregator, or null if the edge server manager does not
+	 *         provide a utilization integral for every host
+	 */
+	public static UtilizationAggregator create(EdgeServerManager edgeServerManager) {
+		if(edgeServerManager.getUtilizationIntegral() == null)
+			return null;
+
+		// host IDs are assigned in datacenter and host list order, as in SimManager.startEntity()
+		List<UtilizationIntegral> hostIntegrals = new ArrayList<UtilizationIntegral>();
+		List<Integer> wlanIds = new ArrayList<Integer>();
+		for(Datacenter datacenter : edgeServerManager.getDatacenterList()){
+			for(Host host : datacenter.getHostList()){
+				UtilizationIntegral hostIntegral = edgeServerManager.getHostUtilizationIntegral(hostIntegrals.size());
+				if(hostIntegral == null)
+					return null;
+				hostIntegrals.add(hostIntegral);
+				wlanIds.add(((EdgeHost) host).getLocation().getServingWlanId());
+			}
+		}
+		return new UtilizationAggregator(edgeServerManager, hostIntegrals, wlanIds);
+	}
+
+	@Override
+	public void utilizationChanged(UtilizationIntegral integral, double time) {
+		int position = siftUp(heapPosition[hostIdOfIntegral.get(integral)]);
+		siftDown(position);
+	}
+
+	/**
+	 * @return average CPU utilization per VM on the edge host
+	 */
+	public double getEdgeHostUtilization(int hostId) {
+		return getAverage(hostIntegrals[hostId].getUtilization(), hostIntegrals[hostId].getNumOfVms());
+	}
+
+	/**
+	 * @return IDs of the edge hosts in the coverage of the WLAN (may be empty)
+	 */
+	public List<Integer> getEdgeHostsOfWlan(int wlanId) {
+		List<Integer> hostIds = hostIdsOfWlan.get(wlanId);
+		return (hostIds == null) ? Collections.<Integer>emptyList() : Collections.unmodifiableList(hostIds);
+	}
+
+	/**
+	 * Finds the least loaded edge host outside the coverage of a WLAN, e.g.
+	 * the best remote host for a device served by that WLAN. Only the hosts
+	 * of the excluded WLAN and their heap children are visited.
+	 *
+	 * @return edge host with the lowest average utilization per VM (lowest
+	 *         ID on ties) whose WLAN is not the given one, or -1 if none
+	 */
+	public int getLeastLoadedEdgeHost(int excludedWlanId) {
+		if(heap.length == 0)
+			return -1;
+		PriorityQueue<Integer> candidates = new PriorityQueue<Integer>((a, b) -> compareHosts(heap[a], heap[b]));
+		candidates.add(0);
+		while(!candidates.isEmpty()){
+			int position = candidates.poll();
+			int hostId = heap[position];
+			if(wlanIdOfHost[hostId] != excludedWlanId)
+				return hostId;
+			if(2 * position + 1 < heap.length)
+				candidates.add(2 * position + 1);
+			if(2 * position + 2 < heap.length)
+				candidates.add(2 * position + 2);
+		}
+		return -1;
+	}
+
+	/**
+	 * @return average CPU utilization per edge VM, as EdgeServerManager.getAvgUtilization()
+	 */
+	public double getEdgeUtilization() {
+		UtilizationIntegral tierIntegral = edgeServerManager.getUtilizationIntegral();
+		return getAverage(tierIntegral.getUtilization(), tierIntegral.getNumOfVms());
+	}
+
+	private static double getAverage(double utilization, int numOfVms) {
+		return (numOfVms == 0) ? 0 : utilization / numOfVms;
+	}
+
+	private double getHostKey(int hostId) {
+		int numOfVms = hostIntegrals[hostId].getNumOfVms();
+		return (numOfVms == 0) ? Double.POSITIVE_INFINITY : hostIntegrals[hostId].getUtilization() / numOfVms;
+	}
+
+	private int compareHosts(int hostA, int hostB) {
+		int result = Double.compare(getHostKey(hostA), getHostKey(hostB));
+		if(result == 0)
+			result = Integer.compare(hostA, hostB);
+		return result;
+	}
+
+	private int siftUp(int position) {
+		while(position > 0){
+			int parent = (position - 1) / 2;
+			if(compareHosts(heap[position], heap[parent]) >= 0)
+				break;
+			swap(position, parent);
+			position = parent;
+		}
+		return position;
+	}
+
+	private void siftDown(int position) {
+		while(true){
+			int smallest = position;
+			int left = 2 * position + 1;
+			int right = left + 1;
+			if(left < heap.length && compareHosts(heap[left], heap[smallest]) < 0)
+				smallest = left;
+			if(right < heap.length && compareHosts(heap[right], heap[smallest]) < 0)
+				smallest = right;
+			if(smallest == position)
+				return;
+			swap(position, smallest);
+			position = smallest;
+		}
+	}
+
+	private void swap(int i, int j) {
+		int hostId = heap[i];
+		heap[i] = heap[j];
+		heap[j] = hostId;
+		heapPosition[heap[i]] = i;
+		heapPosition[heap[j]] = j;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Title:        EdgeCloudSim - Workload Cache
+ *
+ * Description:
+ * WorkloadCache keeps the generated workload of a scenario (device
+ * trajectories, task list and a seed for the shared random number
+ * generator) so that several orchestrator policies can be simulated
+ * on exactly the same input without generating it again
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import edu.boun.edgecloudsim.mobility.MobilityModel;
+import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
+import edu.boun.edgecloudsim.utils.SimUtils;
+
+/**
+ * Cache of the workload generation of a scenario, filled once and reused by
+ * the runs of its other orchestrator policies (common random numbers).
+ *
+ * <p>The workload is generated before CloudSim starts: the cache holds the
+ * initialized mobility model and load generator, which are read-only during
+ * a run, and a seed for the shared RNG. {@link #resetSharedRng()} sets the
+ * shared RNG to that seed at the start of every run, so random decisions
+ * drawn from it (e.g. by BasicEdgeOrchestrator) start from the same state for
+ * every policy. Per-device streams of SimUtils.newDeviceRandom() do not depend
+ * on the shared RNG and need no reset.</p>
+ *
+ * <p>A streaming load generator keeps per-device state while the simulation
+ * runs, so it is not cached; SimManager creates a new one for each run.</p>
+ *
+ * <p>Only workload generation is saved. No simulation state is cached (event
+ * queue, VMs, cloudlets), so every run still starts from time 0 and
+ * simulates the warm-up period.</p>
+ */
+public class WorkloadCache {
+	private final MobilityModel mobilityModel;
+	private final LoadGeneratorModel loadGeneratorModel; // null if it must be recreated per run
+	private final long rngSeed;
+
+	private WorkloadCache(MobilityModel mobilityModel, LoadGeneratorModel loadGeneratorModel, long rngSeed) {
+		this.mobilityModel = mobilityModel;
+		this.loadGeneratorModel = loadGeneratorModel;
+		this.rngSeed = rngSeed;
+	}
+
+	/**
+	 * Generates the workload of a scenario with the given factory.
+	 *
+	 * @param scenarioFactory factory of the first policy run of the scenario
+	 * @return the cache
+	 */
+	public static WorkloadCache generate(ScenarioFactory scenarioFactory) {
+		LoadGeneratorModel loadGeneratorModel = scenarioFactory.getLoadGeneratorModel();
+		loadGeneratorModel.initializeModel();
+		if(loadGeneratorModel.isTaskStreamingEnabled())
+			loadGeneratorModel = null;
+
+		MobilityModel mobilityModel = scenarioFactory.getMobilityModel();
+		mobilityModel.initialize();
+
+		return new WorkloadCache(mobilityModel, loadGeneratorModel, SimUtils.RNG.nextLong());
+	}
+
+	/**
+	 * Resets the shared RNG to the state recorded for this workload; called
+	 * at the start of every run that uses the cache.
+	 */
+	public void resetSharedRng() {
+		SimUtils.RNG.setSeed(rngSeed);
+	}
+
+	public MobilityModel getMobilityModel() {
+		return mobilityModel;
+	}
+
+	/**
+	 * @return the shared load generator, or null if each run needs its own
+	 */
+	public LoadGeneratorModel getLoadGeneratorModel() {
+		return loadGeneratorModel;
+	}
+}
@@ -0,0 +1,186 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline compiler from DAG JSON to the precompiled format read by
+ * DagBinaryFile.
+ *
+ * The input is parsed with DagJsonLoader, so the compiled DAGs are the ones
+ * the JSON loader would build. Compile a workload once and point
+ * dag_input_path at the .dagbin file to skip JSON parsing in every run:
+ *
+ * <pre>
+ * java -cp bin:lib/* edu.boun.edgecloudsim.dagsim.DagBinaryCompiler dags.json [dags.dagbin]
+ * </pre>
+ */
+public class DagBinaryCompiler {
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: DagBinaryCompiler <dag_json_file> [output" + DagBinaryFile.FILE_EXTENSION + "]");
+            System.exit(1);
+        }
+        Path input = Paths.get(args[0]);
+        Path output = (args.length == 2) ? Paths.get(args[1]) : defaultOutputPath(input);
+        try {
+            List<DagRecord> dags = DagJsonLoader.parseDagFile(input.toFile());
+            compile(dags, output);
+            System.out.println("Compiled " + dags.size() + " DAGs from " + input + " to " + output);
+        } catch (IOException e) {
+            System.err.println("Failed to compile " + input + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes DAGs in the given order to a precompiled DAG file. The DAGs must
+     * be sorted by submission time, as returned by DagJsonLoader.
+     *
+     * @throws IOException if writing fails or a DAG cannot be represented
+     */
+    public static void compile(List<DagRecord> dags, Path output) throws IOException {
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<byte[]> stringList = new ArrayList<>();
+        int numOfTasks = 0;
+        int numOfDeps = 0;
+        int numOfChildren = 0;
+        int numOfStringBytes = 0;
+
+        // First pass: intern the strings and count the array sizes
+        double lastSubmissionTime = Double.NEGATIVE_INFINITY;
+        for (DagRecord dag : dags) {
+            if (!(dag.getSubmissionTimeEpochSec() >= lastSubmissionTime)) {
+                throw new IOException("DAGs are not sorted by submission time at " + dag.getDagId());
+            }
+            lastSubmissionTime = dag.getSubmissionTimeEpochSec();
+            numOfStringBytes += intern(dag.getDagId(), stringIndex, stringList);
+            numOfStringBytes += intern(dag.getApplicationName(), stringIndex, stringList);
+            for (TaskRecord task : dag.getTasksById().values()) {
+                if (task.getRemainingDeps() != task.getDependsOn().size()) {
+                    throw new IOException("Task " + task.getTaskId() + " of DAG " + dag.getDagId()
+                            + " has inconsistent dependencies; use the JSON file");
+                }
+                numOfStringBytes += intern(task.getTaskId(), stringIndex, stringList);
+                numOfStringBytes += intern(task.getTaskType(), stringIndex, stringList);
+                for (String dep : task.getDependsOn()) {
+                    numOfStringBytes += intern(dep, stringIndex, stringList);
+                }
+                for (String child : task.getChildren()) {
+                    numOfStringBytes += intern(child, stringIndex, stringList);
+                }
+                numOfTasks++;
+                numOfDeps += task.getDependsOn().size();
+                numOfChildren += task.getChildren().size();
+            }
+        }
+
+        DagBinaryFile.Layout layout = new DagBinaryFile.Layout(dags.size(), numOfTasks, stringList.size(),
+                numOfDeps, numOfChildren, numOfStringBytes);
+        ByteBuffer data = ByteBuffer.allocate((int) layout.totalBytes).order(ByteOrder.LITTLE_ENDIAN);
+        layout.write(data);
+
+        // Second pass: fill the columns
+        int offset = 0;
+        for (int s = 0; s < stringList.size(); s++) {
+            byte[] bytes = stringList.get(s);
+            data.putInt(layout.stringOffsets + 4 * s, offset);
+            data.position(layout.stringBytes + offset);
+            data.put(bytes);
+            offset += bytes.length;
+        }
+        data.putInt(layout.stringOffsets + 4 * stringList.size(), offset);
+
+        int t = 0;
+        int dep = 0;
+        int child = 0;
+        for (int d = 0; d < dags.size(); d++) {
+            DagRecord dag = dags.get(d);
+            data.putInt(layout.dagIds + 4 * d, stringIndex.get(dag.getDagId()));
+            data.putInt(layout.dagAppNames + 4 * d, stringIndex.get(dag.getApplicationName()));
+            data.putDouble(layout.dagSubmissionTimes + 8 * d, dag.getSubmissionTimeEpochSec());
+            data.putInt(layout.dagInferenceSteps + 4 * d, dag.getNumInferenceSteps());
+            data.putInt(layout.dagPromptLengths + 4 * d, dag.getPromptLength());
+            data.putInt(layout.dagNumImages + 4 * d, dag.getNumImages());
+            data.put(layout.dagFlags + d, (byte) ((dag.isHasLora() ? DagBinaryFile.FLAG_HAS_LORA : 0)
+                    | (dag.isHasControlnet() ? DagBinaryFile.FLAG_HAS_CONTROLNET : 0)));
+            data.putInt(layout.dagFirstTasks + 4 * d, t);
+
+            // Task map iteration order, which DagBinaryFile reproduces by adding in this order
+            for (TaskRecord task : dag.getTasksById().values()) {
+                data.putInt(layout.taskIds + 4 * t, stringIndex.get(task.getTaskId()));
+                data.putInt(layout.taskTypes + 4 * t, stringIndex.get(task.getTaskType()));
+                data.putDouble(layout.taskDurations + 8 * t, task.getDurationMs());
+                data.putDouble(layout.taskMemories + 8 * t, task.getMemoryMb());
+                data.putDouble(layout.taskGpuMemories + 8 * t, task.getGpuMemoryMb());
+                data.putDouble(layout.taskGpuUtilizations + 8 * t, task.getGpuUtilization());
+
+                data.putInt(layout.depFirsts + 4 * t, dep);
+                for (String id : task.getDependsOn()) {
+                    data.putInt(layout.deps + 4 * dep++, stringIndex.get(id));
+                }
+                data.putInt(layout.childFirsts + 4 * t, child);
+                for (String id : task.getChildren()) {
+                    data.putInt(layout.children + 4 * child++, stringIndex.get(id));
+                }
+                t++;
+            }
+        }
+        data.putInt(layout.dagFirstTasks + 4 * dags.size(), t);
+        data.putInt(layout.depFirsts + 4 * t, dep);
+        data.putInt(layout.childFirsts + 4 * t, child);
+
+        data.clear();
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * Output path used when none is given: the input name with the
+     * .json extension replaced.
+     */
+    static Path defaultOutputPath(Path input) {
+        String name = input.getFileName().toString();
+        if (name.endsWith(".json")) {
+            name = name.substring(0, name.length() - ".json".length());
+        }
+        return input.resolveSibling(name + DagBinaryFile.FILE_EXTENSION);
+    }
+
+    /**
+     * Adds a string to the table if it is new.
+     *
+     * @return the number of UTF-8 bytes added to the table
+     */
+    private static int intern(String s, Map<String, Integer> stringIndex, List<byte[]> stringList)
+            throws IOException {
+        if (s == null) {
+            throw new IOException("Missing id or type in DAG input; use the JSON file");
+        }
+        if (stringIndex.containsKey(s)) {
+            return 0;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (!new String(bytes, StandardCharsets.UTF_8).equals(s)) {
+            throw new IOException("String without a UTF-8 encoding in DAG input: " + s);
+        }
+        stringIndex.put(s, stringList.size());
+        stringList.add(bytes);
+        return bytes.length;
+    }
+}
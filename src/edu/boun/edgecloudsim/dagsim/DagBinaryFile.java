@@ -0,0 +1,329 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+/**
+ * Precompiled DAG file written by DagBinaryCompiler, read through a
+ * read-only memory mapping.
+ *
+ * The file holds the DAGs of a JSON input already parsed and sorted by
+ * submission time, in columns: task ids, task types and other strings are
+ * interned in a string table and referenced by index, numeric fields are
+ * stored one array per field, and the tasks of a DAG as well as the
+ * depends_on and children lists of a task are ranges of flat arrays (CSR).
+ * Opening a file only checks its header; a DagRecord is built when it is
+ * requested, so only the DAGs the caller keeps use heap memory. The mapped
+ * pages are shared through the OS page cache by every run that reads the
+ * same file.
+ *
+ * The DagRecords are equal to the ones DagJsonLoader builds from the JSON
+ * input, including the iteration order of their task maps.
+ */
+public class DagBinaryFile implements Iterable<DagRecord> {
+    public static final String FILE_EXTENSION = ".dagbin";
+
+    static final int MAGIC = 0x47414445; // "EDAG" in little-endian byte order
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    static final int FLAG_HAS_LORA = 1;
+    static final int FLAG_HAS_CONTROLNET = 2;
+
+    private final String path;
+    private final ByteBuffer data;
+    private final Layout layout;
+    // Decoded on first use; Strings are immutable, so racing decodes are harmless
+    private final String[] strings;
+
+    private DagBinaryFile(String path, ByteBuffer data, Layout layout) {
+        this.path = path;
+        this.data = data;
+        this.layout = layout;
+        this.strings = new String[layout.numOfStrings];
+    }
+
+    /**
+     * Maps a precompiled DAG file and checks its header.
+     *
+     * @param path file written by DagBinaryCompiler
+     * @return the opened file
+     * @throws IOException if the file cannot be read or is not a DAG file of this version
+     */
+    public static DagBinaryFile open(String path) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("DAG file too large to map: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a precompiled DAG file: " + path);
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported DAG file version " + data.getInt(4) + " in " + path
+                    + "; recompile it with DagBinaryCompiler");
+        }
+        Layout layout = Layout.read(data);
+        if (layout.totalBytes > data.capacity()) {
+            throw new IOException("Truncated DAG file: " + path);
+        }
+        return new DagBinaryFile(path, data, layout);
+    }
+
+    /**
+     * Returns true if the path names a precompiled DAG file (by its extension).
+     */
+    public static boolean isDagBinaryFile(String path) {
+        return path != null && path.endsWith(FILE_EXTENSION);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getNumOfDags() {
+        return layout.numOfDags;
+    }
+
+    public int getNumOfTasks() {
+        return layout.numOfTasks;
+    }
+
+    /**
+     * Builds the DagRecord at the given position in submission order. Each
+     * call returns a new record; its submit time is not set.
+     */
+    public DagRecord getDag(int index) {
+        if (index < 0 || index >= layout.numOfDags) {
+            throw new IndexOutOfBoundsException("DAG " + index + " of " + layout.numOfDags);
+        }
+        DagRecord dag = new DagRecord();
+        dag.setDagId(string(intAt(layout.dagIds, index)));
+        dag.setApplicationName(string(intAt(layout.dagAppNames, index)));
+        dag.setSubmissionTimeEpochSec(doubleAt(layout.dagSubmissionTimes, index));
+        dag.setNumInferenceSteps(intAt(layout.dagInferenceSteps, index));
+        dag.setPromptLength(intAt(layout.dagPromptLengths, index));
+        dag.setNumImages(intAt(layout.dagNumImages, index));
+        int flags = data.get(layout.dagFlags + index);
+        dag.setHasLora((flags & FLAG_HAS_LORA) != 0);
+        dag.setHasControlnet((flags & FLAG_HAS_CONTROLNET) != 0);
+
+        // Tasks are stored in the iteration order of the loader's task map,
+        // so adding them in this order reproduces that order
+        int lastTask = intAt(layout.dagFirstTasks, index + 1);
+        for (int t = intAt(layout.dagFirstTasks, index); t < lastTask; t++) {
+            TaskRecord task = new TaskRecord();
+            task.setTaskId(string(intAt(layout.taskIds, t)));
+            task.setTaskType(string(intAt(layout.taskTypes, t)));
+            task.setDurationMs(doubleAt(layout.taskDurations, t));
+            task.setMemoryMb(doubleAt(layout.taskMemories, t));
+            task.setGpuMemoryMb(doubleAt(layout.taskGpuMemories, t));
+            task.setGpuUtilization(doubleAt(layout.taskGpuUtilizations, t));
+
+            List<String> dependsOn = strings(layout.depFirsts, layout.deps, t);
+            task.setDependsOn(dependsOn);
+            task.setRemainingDeps(dependsOn.size());
+            task.setChildren(strings(layout.childFirsts, layout.children, t));
+
+            dag.addTask(task.getTaskId(), task);
+        }
+        return dag;
+    }
+
+    /**
+     * Returns the DAGs in submission order with submit times assigned by the
+     * same seeded Poisson process as DagJsonLoader. Every DAG is built when
+     * next() reaches it.
+     */
+    @Override
+    public Iterator<DagRecord> iterator() {
+        double warmUpOffsetMs = SimSettings.getInstance().getWarmUpPeriod() * 1000.0;
+        ExponentialDistribution expDist = DagJsonLoader.newInterArrivalDistribution();
+        return new Iterator<DagRecord>() {
+            private int nextIndex;
+            private double currentSubmitTimeMs = warmUpOffsetMs;
+
+            @Override
+            public boolean hasNext() {
+                return nextIndex < layout.numOfDags;
+            }
+
+            @Override
+            public DagRecord next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DagRecord dag = getDag(nextIndex++);
+                currentSubmitTimeMs += expDist.sample();
+                dag.setSubmitAtSimMs((long) currentSubmitTimeMs);
+                return dag;
+            }
+        };
+    }
+
+    private int intAt(int section, int index) {
+        return data.getInt(section + 4 * index);
+    }
+
+    private double doubleAt(int section, int index) {
+        return data.getDouble(section + 8 * index);
+    }
+
+    private String string(int index) {
+        String s = strings[index];
+        if (s == null) {
+            int start = intAt(layout.stringOffsets, index);
+            byte[] bytes = new byte[intAt(layout.stringOffsets, index + 1) - start];
+            ByteBuffer view = data.duplicate();
+            view.position(layout.stringBytes + start);
+            view.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    private List<String> strings(int firsts, int values, int task) {
+        int first = intAt(firsts, task);
+        int last = intAt(firsts, task + 1);
+        List<String> list = new ArrayList<>(last - first);
+        for (int i = first; i < last; i++) {
+            list.add(string(intAt(values, i)));
+        }
+        return list;
+    }
+
+    /**
+     * Byte offsets of the sections, derived from the counts in the header.
+     * Arrays of doubles start at multiples of 8.
+     */
+    static final class Layout {
+        final int numOfDags;
+        final int numOfTasks;
+        final int numOfStrings;
+        final int numOfDeps;
+        final int numOfChildren;
+        final int numOfStringBytes;
+
+        final int stringOffsets;
+        final int stringBytes;
+        final int dagIds;
+        final int dagAppNames;
+        final int dagSubmissionTimes;
+        final int dagInferenceSteps;
+        final int dagPromptLengths;
+        final int dagNumImages;
+        final int dagFlags;
+        final int dagFirstTasks;
+        final int taskIds;
+        final int taskTypes;
+        final int taskDurations;
+        final int taskMemories;
+        final int taskGpuMemories;
+        final int taskGpuUtilizations;
+        final int depFirsts;
+        final int deps;
+        final int childFirsts;
+        final int children;
+        final long totalBytes;
+
+        Layout(int numOfDags, int numOfTasks, int numOfStrings, int numOfDeps, int numOfChildren,
+                int numOfStringBytes) throws IOException {
+            if ((numOfDags | numOfTasks | numOfStrings | numOfDeps | numOfChildren | numOfStringBytes) < 0) {
+                throw new IOException("Corrupt DAG file header");
+            }
+            this.numOfDags = numOfDags;
+            this.numOfTasks = numOfTasks;
+            this.numOfStrings = numOfStrings;
+            this.numOfDeps = numOfDeps;
+            this.numOfChildren = numOfChildren;
+            this.numOfStringBytes = numOfStringBytes;
+
+            long offset = HEADER_BYTES;
+            stringOffsets = section(offset);
+            offset = stringOffsets + 4L * (numOfStrings + 1);
+            stringBytes = section(offset);
+            offset = align(stringBytes + (long) numOfStringBytes);
+            dagSubmissionTimes = section(offset);
+            offset = dagSubmissionTimes + 8L * numOfDags;
+            taskDurations = section(offset);
+            offset = taskDurations + 8L * numOfTasks;
+            taskMemories = section(offset);
+            offset = taskMemories + 8L * numOfTasks;
+            taskGpuMemories = section(offset);
+            offset = taskGpuMemories + 8L * numOfTasks;
+            taskGpuUtilizations = section(offset);
+            offset = taskGpuUtilizations + 8L * numOfTasks;
+            dagIds = section(offset);
+            offset = dagIds + 4L * numOfDags;
+            dagAppNames = section(offset);
+            offset = dagAppNames + 4L * numOfDags;
+            dagInferenceSteps = section(offset);
+            offset = dagInferenceSteps + 4L * numOfDags;
+            dagPromptLengths = section(offset);
+            offset = dagPromptLengths + 4L * numOfDags;
+            dagNumImages = section(offset);
+            offset = dagNumImages + 4L * numOfDags;
+            dagFirstTasks = section(offset);
+            offset = dagFirstTasks + 4L * (numOfDags + 1);
+            taskIds = section(offset);
+            offset = taskIds + 4L * numOfTasks;
+            taskTypes = section(offset);
+            offset = taskTypes + 4L * numOfTasks;
+            depFirsts = section(offset);
+            offset = depFirsts + 4L * (numOfTasks + 1);
+            deps = section(offset);
+            offset = deps + 4L * numOfDeps;
+            childFirsts = section(offset);
+            offset = childFirsts + 4L * (numOfTasks + 1);
+            children = section(offset);
+            offset = children + 4L * numOfChildren;
+            dagFlags = section(offset);
+            totalBytes = dagFlags + (long) numOfDags;
+        }
+
+        static Layout read(ByteBuffer data) throws IOException {
+            return new Layout(data.getInt(8), data.getInt(12), data.getInt(16), data.getInt(20), data.getInt(24),
+                    data.getInt(28));
+        }
+
+        void write(ByteBuffer data) {
+            data.putInt(0, MAGIC);
+            data.putInt(4, VERSION);
+            data.putInt(8, numOfDags);
+            data.putInt(12, numOfTasks);
+            data.putInt(16, numOfStrings);
+            data.putInt(20, numOfDeps);
+            data.putInt(24, numOfChildren);
+            data.putInt(28, numOfStringBytes);
+        }
+
+        private static long align(long offset) {
+            return (offset + 7) & ~7L;
+        }
+
+        private static int section(long offset) throws IOException {
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("DAG file exceeds 2 GB");
+            }
+            return (int) offset;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV file written by a background thread, used for the per-task and per-DAG
+ * logs of DagRuntimeManager.
+ *
+ * The event thread formats a row into the StringBuilder returned by
+ * {@link #newRow()}, numbers via {@link #appendFixed} instead of
+ * String.format, and hands it over with {@link #endRow()}. Rows pass through
+ * a bounded queue; when it is full endRow() blocks until the writer catches
+ * up (back-pressure).
+ * The writer flushes the file once {@code flushBytes} characters are pending
+ * or {@code flushIntervalMs} has passed since the last flush, not per row.
+ */
+class DagCsvLog {
+    static final int DEFAULT_CAPACITY = 8192;
+    static final int DEFAULT_FLUSH_BYTES = 64 * 1024;
+    static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+
+    private static final String END_OF_STREAM = new String();
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L };
+    // Below 2^31 a scaled value is exact to 2^-22, far inside the tie margin
+    private static final double MAX_SCALED = 2147483648.0;
+
+    private final Path file;
+    private final Writer out;
+    private final int flushBytes;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<String> queue;
+    private final Thread writer;
+    private final StringBuilder row = new StringBuilder(256);
+
+    private volatile IOException failure;
+
+    DagCsvLog(Path file, String header) throws IOException {
+        this(file, header, DEFAULT_CAPACITY, DEFAULT_FLUSH_BYTES, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    DagCsvLog(Path file, String header, int capacity, int flushBytes, long flushIntervalMs) throws IOException {
+        this.file = file;
+        this.out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8),
+                Math.max(8192, flushBytes));
+        this.flushBytes = Math.max(1, flushBytes);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+
+        // The header is on disk before the first row, as with the previous PrintWriter logs
+        out.write(header);
+        out.write(System.lineSeparator());
+        out.flush();
+
+        this.writer = new Thread(this::run, "dag-log-writer-" + file.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Returns the (cleared) builder of the next row. Only the event thread
+     * may use it, and only until the matching {@link #endRow()}.
+     */
+    StringBuilder newRow() {
+        row.setLength(0);
+        return row;
+    }
+
+    /**
+     * Queues the row built since {@link #newRow()}.
+     */
+    void endRow() {
+        row.append(System.lineSeparator());
+        put(row.toString());
+    }
+
+    /**
+     * Writes everything queued so far, closes the file and stops the writer thread.
+     */
+    void close() {
+        put(END_OF_STREAM);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            System.err.println("DAG log " + file + " is incomplete: " + failure.getMessage());
+        }
+    }
+
+    /**
+     * Appends a value with a fixed number of decimals, producing the same
+     * text as {@code String.format("%." + decimals + "f", value)}.
+     *
+     * Non-negative values whose scaled value is below 2^31 are rounded in long
+     * arithmetic. When the scaled value is too close to a rounding tie to
+     * decide in binary, or the value is negative or not finite, the call falls
+     * back to String.format.
+     */
+    static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length || !(value >= 0)) {
+            return sb.append(String.format("%." + decimals + "f", value));
+        }
+        long scale = POWERS_OF_TEN[decimals];
+        double scaled = value * scale;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (scaled >= MAX_SCALED || Math.abs(fraction - 0.5) < 1e-6) {
+            return sb.append(String.format("%." + decimals + "f", value));
+        }
+
+        long rounded = (long) floor + (fraction > 0.5 ? 1 : 0);
+        sb.append(rounded / scale);
+        if (decimals > 0) {
+            sb.append('.');
+            long remainder = rounded % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                sb.append((char) ('0' + (remainder / digit) % 10));
+            }
+        }
+        return sb;
+    }
+
+    private void put(String line) {
+        try {
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>();
+        long pendingChars = 0;
+        long lastFlush = System.nanoTime();
+        boolean done = false;
+        while (!done) {
+            try {
+                String line = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (line != null) {
+                    batch.add(line);
+                    queue.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                done = true;
+            }
+
+            try {
+                for (String line : batch) {
+                    if (line == END_OF_STREAM) {
+                        done = true; // close() is the last producer
+                        break;
+                    }
+                    out.write(line);
+                    pendingChars += line.length();
+                }
+                batch.clear();
+
+                long now = System.nanoTime();
+                if (done || pendingChars >= flushBytes
+                        || (pendingChars > 0 && now - lastFlush >= flushIntervalNanos)) {
+                    out.flush();
+                    pendingChars = 0;
+                    lastFlush = now;
+                }
+            } catch (IOException e) {
+                // Keep draining so producers never block on a dead writer
+                if (failure == null) {
+                    failure = e;
+                }
+                for (String line : batch) {
+                    done |= (line == END_OF_STREAM);
+                }
+                batch.clear();
+            }
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+}
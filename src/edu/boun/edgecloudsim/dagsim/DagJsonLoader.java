@@ -1,6 +1,8 @@
 package edu.boun.edgecloudsim.dagsim;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
@@ -76,27 +78,7 @@ public class DagJsonLoader {
         dags.sort(Comparator.comparingDouble(DagRecord::getSubmissionTimeEpochSec));
 
         // Compute relative submission times using Poisson process
-        if (!dags.isEmpty()) {
-            double warmUpOffsetMs = SimSettings.getInstance().getWarmUpPeriod() * 1000.0;
-            double interArrivalMeanSec = SimSettings.getInstance().getDagInterarrivalRate();
-
-            // Create exponential distribution for inter-arrival times
-            ExponentialDistribution expDist = new ExponentialDistribution(interArrivalMeanSec * 1000.0);
-
-            // Use SimUtils seed if available for reproducibility
-            if (SimSettings.getInstance().hasRngSeed()) {
-                expDist.reseedRandomGenerator(SimSettings.getInstance().getRngSeed() + 999);
-            }
-
-            double currentSubmitTimeMs = warmUpOffsetMs;
-            for (DagRecord dag : dags) {
-                // Sample next inter-arrival time
-                double interArrivalTimeMs = expDist.sample();
-                currentSubmitTimeMs += interArrivalTimeMs;
-
-                dag.setSubmitAtSimMs((long) currentSubmitTimeMs);
-            }
-        }
+        assignSubmitTimes(dags);
 
         System.out.println("Loaded " + dags.size() + " DAGs from " + dirPath + " with Poisson arrival (mean="
                 + SimSettings.getInstance().getDagInterarrivalRate() + "s)");
@@ -118,11 +100,26 @@ public class DagJsonLoader {
             throw new IOException("DAG path is neither a file nor directory: " + path);
         }
 
+        List<DagRecord> dags = parseDagFile(f);
+        assignSubmitTimes(dags);
+
+        System.out.println("Loaded " + dags.size() + " DAGs from " + path + " with Poisson arrival (mean="
+                + SimSettings.getInstance().getDagInterarrivalRate() + "s)");
+        return dags;
+    }
+
+    /**
+     * Parse a DAG file (one DAG object or a container with a "dags" array)
+     * without assigning simulation submit times.
+     *
+     * @return the DAGs sorted by submission time
+     */
+    static List<DagRecord> parseDagFile(File f) throws IOException {
         List<DagRecord> dags = new ArrayList<>();
         try (FileReader reader = new FileReader(f)) {
             JsonElement elem = JsonParser.parseReader(reader);
             if (!elem.isJsonObject()) {
-                throw new IOException("Invalid DAG JSON root in " + path);
+                throw new IOException("Invalid DAG JSON root in " + f.getPath());
             }
             JsonObject root = elem.getAsJsonObject();
             if (root.has("dags") && root.get("dags").isJsonArray()) {
@@ -144,23 +141,105 @@ public class DagJsonLoader {
         }
 
         dags.sort(Comparator.comparingDouble(DagRecord::getSubmissionTimeEpochSec));
+        return dags;
+    }
+
+    /**
+     * Assign submit times (ms after the warm-up period) to DAGs sorted by
+     * submission time, using a seeded Poisson process.
+     */
+    private static void assignSubmitTimes(List<DagRecord> dags) {
         if (!dags.isEmpty()) {
             double warmUpOffsetMs = SimSettings.getInstance().getWarmUpPeriod() * 1000.0;
-            double interArrivalMeanSec = SimSettings.getInstance().getDagInterarrivalRate();
-            ExponentialDistribution expDist = new ExponentialDistribution(interArrivalMeanSec * 1000.0);
-            if (SimSettings.getInstance().hasRngSeed()) {
-                expDist.reseedRandomGenerator(SimSettings.getInstance().getRngSeed() + 999);
-            }
+            ExponentialDistribution expDist = newInterArrivalDistribution();
             double currentSubmitTimeMs = warmUpOffsetMs;
             for (DagRecord dag : dags) {
                 currentSubmitTimeMs += expDist.sample();
                 dag.setSubmitAtSimMs((long) currentSubmitTimeMs);
             }
         }
+    }
 
-        System.out.println("Loaded " + dags.size() + " DAGs from " + path + " with Poisson arrival (mean="
+    /**
+     * Open a container file (object with a "dags" array) for streaming. DAGs
+     * are then read one at a time by the caller instead of all at startup.
+     * Streaming requires the DAGs to be listed in non-decreasing
+     * submission_time order, which a token-level scan of the file checks
+     * first (no DAG is materialized by the scan).
+     *
+     * @return the stream, or null if the path is not such a file; use
+     *         loadDagsFromPath() in that case
+     */
+    public static DagStream openDagStream(String path) throws IOException {
+        File f = new File(path);
+        if (!f.isFile()) {
+            return null;
+        }
+        int numOfDags = countDagsInSubmissionOrder(f);
+        if (numOfDags < 0) {
+            return null;
+        }
+        double warmUpOffsetMs = SimSettings.getInstance().getWarmUpPeriod() * 1000.0;
+        System.out.println("Streaming " + numOfDags + " DAGs from " + path + " with Poisson arrival (mean="
                 + SimSettings.getInstance().getDagInterarrivalRate() + "s)");
-        return dags;
+        return new DagStream(f, numOfDags, warmUpOffsetMs, newInterArrivalDistribution());
+    }
+
+    /**
+     * Count the DAG objects of a container file, reading only their
+     * submission_time.
+     *
+     * @return the number of DAGs, or -1 if the file has no "dags" array, a
+     *         DAG has no submission_time or the DAGs are not sorted by it
+     */
+    private static int countDagsInSubmissionOrder(File f) throws IOException {
+        JsonReader reader = DagStream.openDagsArray(f);
+        if (reader == null) {
+            return -1;
+        }
+        try {
+            int count = 0;
+            double lastSubmissionTime = Double.NEGATIVE_INFINITY;
+            while (reader.hasNext()) {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                double submissionTime = Double.NaN;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    // Like a Gson tree, the last occurrence of a repeated key wins
+                    if (reader.nextName().equals("submission_time") && reader.peek() != JsonToken.NULL) {
+                        submissionTime = reader.nextDouble();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (!(submissionTime >= lastSubmissionTime)) {
+                    return -1;
+                }
+                lastSubmissionTime = submissionTime;
+                count++;
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Inter-arrival time distribution (ms) of the DAG submissions, seeded
+     * from rng_seed when set.
+     */
+    static ExponentialDistribution newInterArrivalDistribution() {
+        double interArrivalMeanSec = SimSettings.getInstance().getDagInterarrivalRate();
+        ExponentialDistribution expDist = new ExponentialDistribution(interArrivalMeanSec * 1000.0);
+        // Use SimUtils seed if available for reproducibility
+        if (SimSettings.getInstance().hasRngSeed()) {
+            expDist.reseedRandomGenerator(SimSettings.getInstance().getRngSeed() + 999);
+        }
+        return expDist;
     }
 
     /**
@@ -185,7 +264,7 @@ public class DagJsonLoader {
     /**
      * Parse a single DAG from a JSON object.
      */
-    private static DagRecord parseSingleDag(JsonObject dagJson) {
+    static DagRecord parseSingleDag(JsonObject dagJson) {
         DagRecord dag = new DagRecord();
         dag.setDagId(dagJson.get("dag_id").getAsString());
         dag.setSubmissionTimeEpochSec(dagJson.get("submission_time").getAsDouble());
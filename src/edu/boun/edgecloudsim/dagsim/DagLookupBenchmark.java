@@ -0,0 +1,114 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Micro-benchmark for the task-to-DAG lookup performed on every TASK_READY and
+ * TASK_FINISHED event of DagRuntimeManager.
+ *
+ * Compares the former linear scan over all DAGs with the TaskRecord
+ * back-reference for growing workload sizes. The per-event cost of the
+ * back-reference should stay flat while the linear scan grows with the
+ * number of DAGs.
+ *
+ * Usage: java edu.boun.edgecloudsim.dagsim.DagLookupBenchmark [tasksPerDag] [lookups]
+ */
+public class DagLookupBenchmark {
+
+    private static final int[] DAG_COUNTS = { 100, 1000, 5000, 10000 };
+
+    public static void main(String[] args) {
+        int tasksPerDag = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+        int lookups = (args.length > 1) ? Integer.parseInt(args[1]) : 20000;
+
+        System.out.println("=".repeat(60));
+        System.out.println("DAG Lookup Benchmark (" + tasksPerDag + " tasks/DAG, " + lookups + " lookups)");
+        System.out.println("=".repeat(60));
+        System.out.println(String.format("%10s %20s %20s", "#DAGs", "linear scan (ns/op)", "back-ref (ns/op)"));
+
+        long sink = 0;
+        for (int dagCount : DAG_COUNTS) {
+            List<DagRecord> dags = buildDags(dagCount, tasksPerDag);
+            TaskRecord[] probes = pickProbes(dags, lookups);
+
+            // Warm up both code paths before measuring
+            sink += runLinearScan(dags, probes);
+            sink += runBackReference(probes);
+
+            long start = System.nanoTime();
+            sink += runLinearScan(dags, probes);
+            double linearNs = (System.nanoTime() - start) / (double) probes.length;
+
+            start = System.nanoTime();
+            sink += runBackReference(probes);
+            double backRefNs = (System.nanoTime() - start) / (double) probes.length;
+
+            System.out.println(String.format("%10d %20.1f %20.1f", dagCount, linearNs, backRefNs));
+        }
+        System.out.println("=".repeat(60));
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Builds chain-shaped DAGs with unique task ids.
+     */
+    private static List<DagRecord> buildDags(int dagCount, int tasksPerDag) {
+        List<DagRecord> dags = new ArrayList<>(dagCount);
+        for (int d = 0; d < dagCount; d++) {
+            DagRecord dag = new DagRecord();
+            dag.setDagId("dag_" + d);
+            TaskRecord previous = null;
+            for (int t = 0; t < tasksPerDag; t++) {
+                TaskRecord task = new TaskRecord();
+                task.setTaskId("task_" + d + "_" + t);
+                task.setTaskType("synthetic");
+                if (previous != null) {
+                    previous.getChildren().add(task.getTaskId());
+                    task.getDependsOn().add(previous.getTaskId());
+                    task.setRemainingDeps(1);
+                }
+                dag.addTask(task.getTaskId(), task);
+                previous = task;
+            }
+            dags.add(dag);
+        }
+        return dags;
+    }
+
+    private static TaskRecord[] pickProbes(List<DagRecord> dags, int lookups) {
+        Random rng = new Random(42);
+        TaskRecord[] probes = new TaskRecord[lookups];
+        for (int i = 0; i < lookups; i++) {
+            DagRecord dag = dags.get(rng.nextInt(dags.size()));
+            List<TaskRecord> tasks = new ArrayList<>(dag.getTasksById().values());
+            probes[i] = tasks.get(rng.nextInt(tasks.size()));
+        }
+        return probes;
+    }
+
+    /**
+     * Former DagRuntimeManager.findDagIdForTask implementation.
+     */
+    private static long runLinearScan(List<DagRecord> dags, TaskRecord[] probes) {
+        long found = 0;
+        for (TaskRecord task : probes) {
+            for (DagRecord dag : dags) {
+                if (dag.getTask(task.getTaskId()) != null) {
+                    found += dag.getDagId().length();
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static long runBackReference(TaskRecord[] probes) {
+        long found = 0;
+        for (TaskRecord task : probes) {
+            found += task.getDag().getDagId().length();
+        }
+        return found;
+    }
+}
@@ -13,6 +13,7 @@ public class DagRecord {
     private String applicationName = "AI_Workload"; // Default application name
     private double submissionTimeEpochSec;
     private long submitAtSimMs; // Relative to simulation start
+    private int arrivalIndex; // Position in submission order, assigned by DagRuntimeManager
 
     // Request metadata
     private int numInferenceSteps;
@@ -31,7 +32,7 @@ public class DagRecord {
     private int completedTasks;
 
     public enum DagState {
-        CREATED, SUBMITTED, RUNNING, COMPLETE
+        CREATED, SUBMITTED, RUNNING, COMPLETE, FAILED
     }
 
     public DagRecord() {
@@ -74,6 +75,14 @@ public class DagRecord {
         this.submitAtSimMs = submitAtSimMs;
     }
 
+    public int getArrivalIndex() {
+        return arrivalIndex;
+    }
+
+    public void setArrivalIndex(int arrivalIndex) {
+        this.arrivalIndex = arrivalIndex;
+    }
+
     public int getNumInferenceSteps() {
         return numInferenceSteps;
     }
@@ -124,6 +133,7 @@ public class DagRecord {
 
     public void addTask(String taskId, TaskRecord task) {
         tasksById.put(taskId, task);
+        task.setDag(this);
         this.totalTasks++;
     }
 
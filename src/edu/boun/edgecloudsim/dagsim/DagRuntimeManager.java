@@ -4,11 +4,15 @@ import com.google.gson.JsonObject;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.core.SimEvent;
-import java.io.FileWriter;
-import java.io.PrintWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,7 +23,9 @@ import edu.boun.edgecloudsim.dagsim.scheduling.ClusterState;
 import edu.boun.edgecloudsim.dagsim.scheduling.RemoteRLPolicy;
 import edu.boun.edgecloudsim.dagsim.scheduling.TaskContext;
 import edu.boun.edgecloudsim.edge_orchestrator.DagAwareOrchestrator;
+import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.ConsoleLogger;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.edge_client.Task;
 
@@ -32,8 +38,19 @@ public class DagRuntimeManager extends SimEntity {
     public static final int DAG_SUBMIT = 7001;
     public static final int TASK_READY = 7002;
     public static final int TASK_FINISHED = 7003;
-
-    private List<DagRecord> allDags;
+    public static final int FLUSH_READY_TASKS = 7004;
+
+    private static final ConsoleLogger LOG = ConsoleLogger.getLogger("dag");
+    private static final ConsoleLogger PROGRESS_LOG = ConsoleLogger.getLogger("progress");
+
+    // DAGs whose DAG_SUBMIT is not scheduled yet, in submission order
+    private final Iterator<DagRecord> dagSource;
+    private final int numOfConfiguredDags;
+    private final int lookaheadWindow; // Max. DAGs scheduled but not yet arrived
+    private int numOfMaterializedDags = 0;
+    // Scheduled or active DAGs; completed and failed DAGs are only kept as a CompletedDag
+    private Map<String, DagRecord> dagsById;
+    private final List<CompletedDag> completedDags = new ArrayList<>();
     private Map<String, DagRecord> activeDags;
 
     // Registry to track which DAG tasks we've sent to SimManager
@@ -47,25 +64,94 @@ public class DagRuntimeManager extends SimEntity {
     // Singleton instance for global callbacks
     private static DagRuntimeManager instance = null;
 
-    private PrintWriter taskLogWriter;
-    private PrintWriter dagLogWriter;
+    private static final String TASK_LOG_HEADER = "dag_id,task_id,task_type,dag_submit_ms,task_ready_ms,scheduled_ms,start_ms,finish_ms,tier,datacenter_id,vm_id,duration_ms,length_mi,proj_edge_sec,proj_cloud_sec,input_bytes,output_bytes,gpu_mem_mb,gpu_util,queue_wait_ms,net_propagation_ms,net_tx_ms,net_total_ms";
+    private static final String DAG_LOG_HEADER = "dag_id,submit_ms,finish_ms,makespan_ms,total_tasks,edge_tasks,cloud_tasks,total_net_ms,total_wan_bytes,status";
+
+    private DagCsvLog taskLog;
+    private DagCsvLog dagLog;
     private long totalDagRunTimeMs = 0; // Track total runtime across all DAGs
     private int dagsArrivedCount = 0; // DAG_SUBMIT events actually processed
+    private int pendingDagCount = 0; // Submitted but neither complete nor failed DAGs
+    private int failedDagCount = 0; // DAGs with a rejected or failed task
     private final Set<String> dagsWithScheduledTasks = new HashSet<>(); // DAGs that reached scheduling path
+    private final List<TaskProperty> readyBatch = new ArrayList<>(); // Ready tasks awaiting a batched decision
+    private long finishedTaskCount = 0; // DAG tasks finished so far
+    private long lastProgressNanos = System.nanoTime(); // Wall clock time of the last progress line
+    private long lastProgressTaskCount = 0; // finishedTaskCount at the last progress line
+
+    /**
+     * Per-DAG values of a dag_summary.csv row, kept instead of the DagRecord
+     * (and its tasks) once the DAG is complete.
+     */
+    private static final class CompletedDag {
+        final String dagId;
+        final int arrivalIndex;
+        final long submitMs;
+        final double completeTimeMs;
+        final int numTasks;
+        final int edgeTasks;
+        final int cloudTasks;
+        final double totalNetMs;
+        final boolean failed;
+
+        CompletedDag(DagRecord dag, int edgeTasks, int cloudTasks, double totalNetMs) {
+            this.dagId = dag.getDagId();
+            this.arrivalIndex = dag.getArrivalIndex();
+            this.submitMs = dag.getSubmitAtSimMs();
+            this.completeTimeMs = dag.getCompleteTimeMs();
+            this.numTasks = dag.getTotalTasks();
+            this.edgeTasks = edgeTasks;
+            this.cloudTasks = cloudTasks;
+            this.totalNetMs = totalNetMs;
+            this.failed = (dag.getState() == DagRecord.DagState.FAILED);
+        }
+    }
 
+    /**
+     * Creates a manager for DAGs loaded up front; all DAG_SUBMIT events are
+     * scheduled by scheduleAllDagSubmissions().
+     */
     public DagRuntimeManager(String name, List<DagRecord> dags) {
+        this(name, dags.iterator(), dags.size(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a manager that reads DAGs from a stream while the simulation
+     * runs. At most lookaheadWindow DAGs are materialized ahead of the
+     * simulation clock: the next one is read when a scheduled DAG arrives.
+     */
+    public DagRuntimeManager(String name, DagStream dags, int lookaheadWindow) {
+        this(name, dags, dags.getNumOfDags(), Math.max(1, lookaheadWindow));
+    }
+
+    /**
+     * Creates a manager that builds DAGs from a precompiled file while the
+     * simulation runs, with the same lookahead window as a stream (0 builds
+     * all DAGs at startup).
+     */
+    public DagRuntimeManager(String name, DagBinaryFile dags, int lookaheadWindow) {
+        this(name, dags.iterator(), dags.getNumOfDags(), (lookaheadWindow > 0) ? lookaheadWindow : Integer.MAX_VALUE);
+    }
+
+    private DagRuntimeManager(String name, Iterator<DagRecord> dags, int numOfDags, int lookaheadWindow) {
         super(name);
-        this.allDags = dags;
+        this.dagSource = dags;
+        this.numOfConfiguredDags = numOfDags;
+        this.lookaheadWindow = lookaheadWindow;
+        this.dagsById = new HashMap<>();
         this.activeDags = new HashMap<>();
 
         try {
-            this.taskLogWriter = new PrintWriter(new FileWriter("task_log.csv"));
-            this.dagLogWriter = new PrintWriter(new FileWriter("dag_summary.csv"));
+            // Relative to the working directory unless dag_log_output_dir is set
+            Path outputDir = Paths.get(SimSettings.getInstance().getDagLogOutputDir());
+            if (!outputDir.toString().isEmpty()) {
+                Files.createDirectories(outputDir);
+            }
+            this.taskLog = new DagCsvLog(outputDir.resolve("task_log.csv"), TASK_LOG_HEADER);
+            this.dagLog = new DagCsvLog(outputDir.resolve("dag_summary.csv"), DAG_LOG_HEADER);
         } catch (IOException e) {
             throw new RuntimeException("Failed to open DAG log files", e);
         }
-        writeTaskLogHeader();
-        writeDagLogHeader();
         instance = this;
     }
 
@@ -90,10 +176,31 @@ public class DagRuntimeManager extends SimEntity {
         return dagCostSoFar.getOrDefault(dagId, 0.0);
     }
 
+    /**
+     * Schedules the DAG_SUBMIT events of all DAGs, or of the first
+     * lookaheadWindow DAGs of a stream (the others follow as DAGs arrive).
+     */
     public void scheduleAllDagSubmissions() {
-        for (DagRecord dag : allDags) {
+        scheduleNextDagSubmissions();
+    }
+
+    private void scheduleNextDagSubmissions() {
+        while (numOfMaterializedDags - dagsArrivedCount < lookaheadWindow && dagSource.hasNext()) {
+            DagRecord dag = dagSource.next();
+            dag.setArrivalIndex(numOfMaterializedDags++);
+            dagsById.put(dag.getDagId(), dag);
+
+            // Same absolute event time as a send from time 0, even for late sends
             double submitTimeSeconds = dag.getSubmitAtSimMs() / 1000.0;
-            CloudSim.send(getId(), this.getId(), submitTimeSeconds, DAG_SUBMIT, dag);
+            double now = CloudSim.clock();
+            double delay = Math.max(0.0, submitTimeSeconds - now);
+            while (now + delay < submitTimeSeconds) {
+                delay = Math.nextUp(delay);
+            }
+            while (delay > 0 && now + delay > submitTimeSeconds) {
+                delay = Math.nextDown(delay);
+            }
+            CloudSim.send(getId(), this.getId(), delay, DAG_SUBMIT, dag);
         }
     }
 
@@ -109,6 +216,9 @@ public class DagRuntimeManager extends SimEntity {
             case TASK_FINISHED:
                 processTaskFinished((TaskRecord) ev.getData());
                 break;
+            case FLUSH_READY_TASKS:
+                flushReadyTasks();
+                break;
             default:
                 break;
         }
@@ -120,12 +230,20 @@ public class DagRuntimeManager extends SimEntity {
         activeDags.put(dag.getDagId(), dag);
         dagCostSoFar.put(dag.getDagId(), 0.0);
         dagsArrivedCount++;
-
-        System.out.println(String.format("[%s] [%.2f] DAG submitted: %s with %d tasks",
-                dag.getApplicationName(),
-                CloudSim.clock(),
-                dag.getDagId(),
-                dag.getTotalTasks()));
+        if (!dag.isComplete()) {
+            pendingDagCount++;
+        }
+        // Keep the lookahead window filled (before the root tasks, like the
+        // events of DAGs scheduled at startup)
+        scheduleNextDagSubmissions();
+
+        if (LOG.isInfoEnabled()) {
+            LOG.info(String.format("[%s] [%.2f] DAG submitted: %s with %d tasks",
+                    dag.getApplicationName(),
+                    CloudSim.clock(),
+                    dag.getDagId(),
+                    dag.getTotalTasks()));
+        }
 
         // Queue only root tasks (no remaining dependencies) as READY
         for (TaskRecord task : dag.getTasksById().values()) {
@@ -140,11 +258,14 @@ public class DagRuntimeManager extends SimEntity {
     }
 
     private void processTaskReady(TaskRecord task) {
+        if (task.getDag() != null && task.getDag().getState() == DagRecord.DagState.FAILED) {
+            return; // the DAG failed while this task was waiting for its event
+        }
         String dagId = findDagIdForTask(task);
         DagRecord dag = activeDags.get(dagId);
 
         if (dag == null) {
-            System.err.println("ERROR: DAG not found for task " + task.getTaskId());
+            LOG.error("DAG not found for task " + task.getTaskId());
             return;
         }
 
@@ -168,7 +289,7 @@ public class DagRuntimeManager extends SimEntity {
 
         int taskTypeIdx = ss.getTaskTypeIndex(task.getTaskType());
         if (taskTypeIdx == -1) {
-            System.err.println("WARNING: Task type " + task.getTaskType()
+            LOG.warn("Task type " + task.getTaskType()
                     + " not found in applications XML. Using default index 0.");
             taskTypeIdx = 0;
         }
@@ -204,16 +325,55 @@ public class DagRuntimeManager extends SimEntity {
         // Send as CREATE_TASK event to SimManager (CREATE_TASK tag = 0)
 
         // Log scheduling estimate
-        String appName = (dag != null) ? dag.getApplicationName() : "Unknown_App";
-        System.out.println(String.format(
-                "[%s] [%.2f] Task ready: %s of DAG %s — lengthMI=%d, execEdge=%.3fs, execCloud=%.3fs, in=%dB out=%dB",
-                appName, CloudSim.clock(), task.getTaskId(), dagId, lengthMi, execSecEdge, execSecCloud, inputBytes,
-                outputBytes));
+        if (LOG.isDebugEnabled()) {
+            String appName = (dag != null) ? dag.getApplicationName() : "Unknown_App";
+            LOG.debug(String.format(
+                    "[%s] [%.2f] Task ready: %s of DAG %s — lengthMI=%d, execEdge=%.3fs, execCloud=%.3fs, in=%dB out=%dB",
+                    appName, CloudSim.clock(), task.getTaskId(), dagId, lengthMi, execSecEdge, execSecCloud, inputBytes,
+                    outputBytes));
+        }
 
-        CloudSim.send(getId(), SimManager.getInstance().getId(), 0.0, 0, tp);
+        submitToSimManager(tp);
         dagsWithScheduledTasks.add(dagId);
     }
 
+    /**
+     * Sends a ready task to SimManager as CREATE_TASK event. With RL batch mode
+     * the tasks which become ready at the same simulation time are collected
+     * first so the orchestrator can decide them with a single inference call.
+     */
+    private void submitToSimManager(TaskProperty tp) {
+        if (isBatchDecisionEnabled()) {
+            if (readyBatch.isEmpty()) {
+                // Processed after the TASK_READY events already queued for this time
+                CloudSim.send(getId(), this.getId(), 0.0, FLUSH_READY_TASKS, null);
+            }
+            readyBatch.add(tp);
+            return;
+        }
+        CloudSim.send(getId(), SimManager.getInstance().getId(), 0.0, 0, tp);
+    }
+
+    private void flushReadyTasks() {
+        EdgeOrchestrator orchestrator = SimManager.getInstance().getEdgeOrchestrator();
+        if (orchestrator instanceof DagAwareOrchestrator) {
+            ((DagAwareOrchestrator) orchestrator).prepareDecisions(readyBatch);
+        }
+        for (TaskProperty tp : readyBatch) {
+            CloudSim.send(getId(), SimManager.getInstance().getId(), 0.0, 0, tp);
+        }
+        readyBatch.clear();
+    }
+
+    private boolean isBatchDecisionEnabled() {
+        if (!SimSettings.getInstance().isRlBatchModeEnabled()) {
+            return false;
+        }
+        EdgeOrchestrator orchestrator = SimManager.getInstance().getEdgeOrchestrator();
+        return orchestrator instanceof DagAwareOrchestrator
+                && ((DagAwareOrchestrator) orchestrator).supportsBatchDecisions();
+    }
+
     /**
      * Register mapping from CloudSim cloudlet id to DAG identifiers so we can
      * find the corresponding TaskRecord when the cloudlet finishes.
@@ -230,7 +390,7 @@ public class DagRuntimeManager extends SimEntity {
      */
     public void onTaskCloudletFinished(Task cloudlet) {
         long cloudletId = cloudlet.getCloudletId();
-        String[] ids = cloudletToDagMap.get(cloudletId);
+        String[] ids = cloudletToDagMap.remove(cloudletId);
         if (ids == null)
             return; // not a DAG task
 
@@ -239,20 +399,14 @@ public class DagRuntimeManager extends SimEntity {
 
         DagRecord dag = activeDags.get(dagId);
         if (dag == null) {
-            // maybe it was moved to completed list; try allDags
-            for (DagRecord d : allDags) {
-                if (d.getDagId().equals(dagId)) {
-                    dag = d;
-                    break;
-                }
-            }
+            // not arrived yet (or already complete); try the scheduled DAGs
+            dag = dagsById.get(dagId);
         }
-        if (dag == null)
-            return;
-
-        TaskRecord task = dag.getTask(taskId);
-        if (task == null)
+        TaskRecord task = (dag != null) ? dag.getTask(taskId) : null;
+        if (task == null) {
+            RemoteRLPolicy.consumeTrace(dagId, taskId);
             return;
+        }
 
         // Extract timing and split-up info from Task and SimLogger
         double finishClock = CloudSim.clock();
@@ -298,7 +452,7 @@ public class DagRuntimeManager extends SimEntity {
 
         boolean done = !activeDags.containsKey(dagId);
         TaskContext nextTaskCtx = buildTaskContextForNextState(dag, done ? null : findAnyPendingTask(dag), task);
-        ClusterState nextClusterState = DagAwareOrchestrator.buildClusterStateSnapshot();
+        ClusterState nextClusterState = DagAwareOrchestrator.currentClusterState();
         JsonObject nextState = RemoteRLPolicy.buildStateJson(
                 nextTaskCtx,
                 nextClusterState,
@@ -306,21 +460,94 @@ public class DagRuntimeManager extends SimEntity {
                 ss.getRlBudgetCost(),
                 getActiveDagsCount());
 
-        RemoteRLPolicy.postObservation(
-                ss.getRlServiceUrl(),
-                ss.getRlHttpTimeoutMs(),
-                trace,
-                nextState,
-                reward,
-                done,
-                actualLatency,
-                actualCost,
-                dagCostSoFar.getOrDefault(dagId, newCostSoFar),
-                ss.getRlBudgetCost(),
-                budgetViolated);
+        if (ss.isRlBatchModeEnabled()) {
+            RemoteRLPolicy.queueObservation(
+                    ss.getRlServiceUrl(),
+                    ss.getRlHttpTimeoutMs(),
+                    trace,
+                    nextState,
+                    reward,
+                    done,
+                    actualLatency,
+                    actualCost,
+                    dagCostSoFar.getOrDefault(dagId, newCostSoFar),
+                    ss.getRlBudgetCost(),
+                    budgetViolated);
+        } else {
+            RemoteRLPolicy.postObservation(
+                    ss.getRlServiceUrl(),
+                    ss.getRlHttpTimeoutMs(),
+                    trace,
+                    nextState,
+                    reward,
+                    done,
+                    actualLatency,
+                    actualCost,
+                    dagCostSoFar.getOrDefault(dagId, newCostSoFar),
+                    ss.getRlBudgetCost(),
+                    budgetViolated);
+        }
+    }
+
+    /**
+     * Called by external components when a DAG cloudlet will never finish
+     * because it was rejected or failed (bandwidth, VM capacity, mobility).
+     * Drops the cloudlet mapping and any pending RL decision trace so that
+     * neither grows with the number of failed tasks, and fails the owning
+     * DAG: it can no longer complete, so it is written to dag_summary.csv
+     * with status FAILED and no longer counts as pending.
+     */
+    public void onTaskCloudletFailed(Task cloudlet) {
+        String[] ids = cloudletToDagMap.remove((long) cloudlet.getCloudletId());
+        if (ids == null) {
+            return; // not a DAG task
+        }
+        RemoteRLPolicy.consumeTrace(ids[0], ids[1]);
 
-        // cleanup mapping
-        cloudletToDagMap.remove(cloudletId);
+        DagRecord dag = activeDags.get(ids[0]);
+        if (dag == null) {
+            return; // the DAG already failed because of another task
+        }
+        TaskRecord task = dag.getTask(ids[1]);
+        if (task != null) {
+            task.setState(TaskRecord.TaskState.FAILED);
+            task.setFinishTimeMs(CloudSim.clock() * 1000.0);
+        }
+        failDag(dag);
+    }
+
+    /**
+     * Ends a DAG which cannot complete. Its tasks still in flight are ignored
+     * when they finish (the DAG is no longer active) and its queued ready
+     * tasks are dropped.
+     */
+    private void failDag(DagRecord dag) {
+        String dagId = dag.getDagId();
+        dag.setState(DagRecord.DagState.FAILED);
+        dag.setCompleteTimeMs(CloudSim.clock() * 1000.0);
+        if (LOG.isInfoEnabled()) {
+            LOG.info("[" + String.format("%.2f", CloudSim.clock()) + "] DAG failed: " + dagId
+                    + " (" + dag.getCompletedTasks() + "/" + dag.getTotalTasks() + " tasks finished)");
+        }
+        completedDags.add(logDagCompletion(dag));
+        SimLogger.getInstance().addFailedDag();
+        failedDagCount++;
+        activeDags.remove(dagId);
+        dagsById.remove(dagId);
+        dagCostSoFar.remove(dagId);
+        dagTaskRegistry.remove(dagId);
+
+        pendingDagCount--;
+        if (pendingDagCount == 0 && SimManager.getInstance() != null) {
+            SimManager.getInstance().onDagQueuesDrained();
+        }
+    }
+
+    /**
+     * Number of submitted DAG cloudlets that have neither finished nor failed.
+     */
+    public int getNumOfTrackedCloudlets() {
+        return cloudletToDagMap.size();
     }
 
     private void processTaskFinished(TaskRecord task) {
@@ -328,7 +555,7 @@ public class DagRuntimeManager extends SimEntity {
         DagRecord dag = activeDags.get(dagId);
 
         if (dag == null) {
-            System.err.println("ERROR: DAG not found for completed task " + task.getTaskId());
+            LOG.error("DAG not found for completed task " + task.getTaskId());
             return;
         }
 
@@ -336,13 +563,16 @@ public class DagRuntimeManager extends SimEntity {
         task.setState(TaskRecord.TaskState.DONE);
         dag.incrementCompletedTasks();
 
-        System.out.println(String.format("[%s] [%.2f] Task finished: %s of %s (%d/%d)",
-                dag.getApplicationName(),
-                CloudSim.clock(),
-                task.getTaskId(),
-                dag.getDagId(),
-                dag.getCompletedTasks(),
-                dag.getTotalTasks()));
+        finishedTaskCount++;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("[%s] [%.2f] Task finished: %s of %s (%d/%d)",
+                    dag.getApplicationName(),
+                    CloudSim.clock(),
+                    task.getTaskId(),
+                    dag.getDagId(),
+                    dag.getCompletedTasks(),
+                    dag.getTotalTasks()));
+        }
 
         logTaskCompletion(task, dag);
 
@@ -363,23 +593,50 @@ public class DagRuntimeManager extends SimEntity {
             dag.setCompleteTimeMs(task.getFinishTimeMs());
             long makespanMs = (long) dag.getMakespanMs();
             totalDagRunTimeMs += makespanMs; // Accumulate total runtime
-            System.out.println("[" + String.format("%.2f", CloudSim.clock()) + "] DAG complete: " + dagId
-                    + " Makespan: " + String.format("%.2f", (double) makespanMs) + " ms");
-            logDagCompletion(dag);
-            edu.boun.edgecloudsim.utils.SimLogger.getInstance().addCompletedDag(); // Track DAG completion for cost
-                                                                                   // summary
+            if (LOG.isInfoEnabled()) {
+                LOG.info("[" + String.format("%.2f", CloudSim.clock()) + "] DAG complete: " + dagId
+                        + " Makespan: " + String.format("%.2f", (double) makespanMs) + " ms");
+            }
+            completedDags.add(logDagCompletion(dag));
+            // Track DAG completion for the cost summary and the makespan percentiles
+            edu.boun.edgecloudsim.utils.SimLogger.getInstance().addCompletedDag(makespanMs);
             activeDags.remove(dagId);
+            dagsById.remove(dagId);
             dagCostSoFar.remove(dagId);
+            dagTaskRegistry.remove(dagId);
+
+            pendingDagCount--;
+            if (pendingDagCount == 0 && SimManager.getInstance() != null) {
+                SimManager.getInstance().onDagQueuesDrained();
+            }
         }
+        reportProgress();
+    }
+
+    /**
+     * Prints an aggregated progress line (finished tasks and their rate,
+     * active DAGs, ready and in-flight tasks) at most once per
+     * log_progress_interval wall clock seconds.
+     */
+    private void reportProgress() {
+        long intervalNanos = SimSettings.getInstance().getLogProgressIntervalNanos();
+        long now = System.nanoTime();
+        if (intervalNanos <= 0 || now - lastProgressNanos < intervalNanos || !PROGRESS_LOG.isInfoEnabled())
+            return;
+
+        double tasksPerSec = (finishedTaskCount - lastProgressTaskCount) * 1e9 / (now - lastProgressNanos);
+        lastProgressNanos = now;
+        lastProgressTaskCount = finishedTaskCount;
+        PROGRESS_LOG.info(String.format("[%.2f] Progress: %d tasks finished (%.1f tasks/s), %d active DAGs, "
+                + "%d ready tasks queued, %d tasks in flight",
+                CloudSim.clock(), finishedTaskCount, tasksPerSec, activeDags.size(), readyBatch.size(),
+                cloudletToDagMap.size()));
     }
 
     private String findDagIdForTask(TaskRecord task) {
-        for (DagRecord dag : allDags) {
-            if (dag.getTask(task.getTaskId()) != null) {
-                return dag.getDagId();
-            }
-        }
-        return null;
+        // Constant time: every TaskRecord keeps a back-reference to its owning DAG
+        DagRecord dag = task.getDag();
+        return (dag != null) ? dag.getDagId() : null;
     }
 
     private TaskRecord findAnyPendingTask(DagRecord dag) {
@@ -400,15 +657,20 @@ public class DagRuntimeManager extends SimEntity {
     }
 
     /**
-     * Returns true if there are DAGs with pending tasks (submitted but not complete).
+     * Returns true if there are DAGs with pending tasks (submitted but neither
+     * complete nor failed).
      */
     public boolean hasPendingTasks() {
-        for (DagRecord dag : allDags) {
-            if (dag.getState() != DagRecord.DagState.CREATED && !dag.isComplete()) {
-                return true;
-            }
-        }
-        return false;
+        return pendingDagCount > 0;
+    }
+
+    /**
+     * Returns the number of DAGs which are submitted but neither complete nor
+     * failed yet. Maintained incrementally on DAG_SUBMIT, DAG completion and
+     * DAG failure.
+     */
+    public int getPendingDagCount() {
+        return pendingDagCount;
     }
 
     private TaskContext buildTaskContextForNextState(DagRecord dag, TaskRecord candidate, TaskRecord fallbackTask) {
@@ -436,23 +698,23 @@ public class DagRuntimeManager extends SimEntity {
 
     @Override
     public void shutdownEntity() {
+        // Deliver observations still buffered for the RL service
+        RemoteRLPolicy.flushObservations();
+
         // Log all DAGs that were submitted at shutdown
         try {
             long shutdownTotalDagRunTimeMs = 0;
             int shutdownDagCount = 0;
             int shutdownIncompleteDagCount = 0;
-            for (DagRecord dag : allDags) {
+            List<CompletedDag> summaries = new ArrayList<>(completedDags);
+            for (DagRecord dag : dagsById.values()) {
                 try {
+                    // DAGs without tasks are complete without a finished task
                     if (dag.getState() == DagRecord.DagState.COMPLETE || dag.isComplete()) {
                         if (dag.getCompleteTimeMs() <= 0) {
                             dag.setCompleteTimeMs(CloudSim.clock() * 1000.0);
                         }
-                        logDagCompletion(dag);
-                        if (dagsWithScheduledTasks.contains(dag.getDagId())) {
-                            long makespan = (long) Math.max(0.0, dag.getCompleteTimeMs() - dag.getSubmitAtSimMs());
-                            shutdownTotalDagRunTimeMs += makespan;
-                            shutdownDagCount++;
-                        }
+                        summaries.add(summarizeDag(dag));
                     } else if (dag.getState() != DagRecord.DagState.CREATED) {
                         shutdownIncompleteDagCount++;
                     }
@@ -460,12 +722,24 @@ public class DagRuntimeManager extends SimEntity {
                     System.err.println("Error logging DAG " + dag.getDagId() + ": " + e.getMessage());
                 }
             }
+            summaries.sort(Comparator.comparingInt(summary -> summary.arrivalIndex));
+            for (CompletedDag summary : summaries) {
+                writeDagSummary(summary);
+                if (!summary.failed && dagsWithScheduledTasks.contains(summary.dagId)) {
+                    long makespan = (long) Math.max(0.0, summary.completeTimeMs - summary.submitMs);
+                    shutdownTotalDagRunTimeMs += makespan;
+                    shutdownDagCount++;
+                }
+            }
 
             // Print total DAG runtime summary
             System.out.println("\n========== DAG EXECUTION SUMMARY ==========");
-            System.out.println("Total DAGs configured: " + allDags.size());
+            System.out.println("Total DAGs configured: " + numOfConfiguredDags);
             System.out.println("Total DAGs arrived (DAG_SUBMIT processed): " + dagsArrivedCount);
             System.out.println("Total DAGs with >=1 task scheduled: " + dagsWithScheduledTasks.size());
+            if (failedDagCount > 0) {
+                System.out.println("Total DAGs failed (rejected or failed task): " + failedDagCount);
+            }
             if (shutdownIncompleteDagCount > 0) {
                 System.out.println("Total DAGs incomplete at shutdown: " + shutdownIncompleteDagCount);
             }
@@ -480,36 +754,16 @@ public class DagRuntimeManager extends SimEntity {
         } catch (Exception e) {
             System.err.println("Error in DAG shutdown: " + e.getMessage());
         } finally {
-            // Always close files
-            try {
-                if (taskLogWriter != null) {
-                    taskLogWriter.flush();
-                    taskLogWriter.close();
-                }
-            } catch (Exception e) {
+            // Always close files (writes the rows still queued)
+            if (taskLog != null) {
+                taskLog.close();
             }
-            try {
-                if (dagLogWriter != null) {
-                    dagLogWriter.flush();
-                    dagLogWriter.close();
-                }
-            } catch (Exception e) {
+            if (dagLog != null) {
+                dagLog.close();
             }
         }
     }
 
-    private void writeTaskLogHeader() {
-        taskLogWriter.println(
-                "dag_id,task_id,task_type,dag_submit_ms,task_ready_ms,scheduled_ms,start_ms,finish_ms,tier,datacenter_id,vm_id,duration_ms,length_mi,proj_edge_sec,proj_cloud_sec,input_bytes,output_bytes,gpu_mem_mb,gpu_util,queue_wait_ms,net_propagation_ms,net_tx_ms,net_total_ms");
-        taskLogWriter.flush();
-    }
-
-    private void writeDagLogHeader() {
-        dagLogWriter.println(
-                "dag_id,submit_ms,finish_ms,makespan_ms,total_tasks,edge_tasks,cloud_tasks,total_net_ms,total_wan_bytes");
-        dagLogWriter.flush();
-    }
-
     private void logTaskCompletion(TaskRecord task, DagRecord dag) {
         // Compute same derived fields as scheduling time for logging
         SimSettings ss = SimSettings.getInstance();
@@ -529,40 +783,41 @@ public class DagRuntimeManager extends SimEntity {
             inputBytes = 1024;
         long outputBytes = Math.max(1024L, (long) (inputBytes * 0.1));
 
-        taskLogWriter.println(String.join(",",
-                dag.getDagId(),
-                task.getTaskId(),
-                task.getTaskType(),
-                String.valueOf(dag.getSubmitAtSimMs()),
-                String.format("%.2f", task.getReadyTimeMs()),
-                String.format("%.2f", task.getScheduledTimeMs()),
-                String.format("%.2f", task.getStartTimeMs()),
-                String.format("%.2f", task.getFinishTimeMs()),
-                String.valueOf(task.getAssignedTier()),
-                String.valueOf(task.getAssignedDatacenterId()),
-                String.valueOf(task.getAssignedVmId()),
-                String.format("%.2f", task.getDurationMs()),
-                String.valueOf(lengthMi),
-                String.format("%.3f", projEdge),
-                String.format("%.3f", projCloud),
-                String.valueOf(inputBytes),
-                String.valueOf(outputBytes),
-                String.format("%.2f", task.getGpuMemoryMb()),
-                String.format("%.2f", task.getGpuUtilization()),
-                String.format("%.2f", task.getQueueDelayMs()),
-                "-1", // net_propagation_ms
-                "-1", // net_tx_ms
-                String.format("%.2f", task.getNetworkDelayMs())));
-        taskLogWriter.flush();
-    }
-
-    private void logDagCompletion(DagRecord dag) {
-        // Compute metrics from DAG tasks
-        int numTasks = dag.getTotalTasks();
-        long submitMs = dag.getSubmitAtSimMs();
-        long completeMs = (long) (dag.getCompleteTimeMs());
-        long makespan = completeMs - submitMs;
+        StringBuilder row = taskLog.newRow();
+        row.append(dag.getDagId()).append(',')
+                .append(task.getTaskId()).append(',')
+                .append(task.getTaskType()).append(',')
+                .append(dag.getSubmitAtSimMs()).append(',');
+        DagCsvLog.appendFixed(row, task.getReadyTimeMs(), 2).append(',');
+        DagCsvLog.appendFixed(row, task.getScheduledTimeMs(), 2).append(',');
+        DagCsvLog.appendFixed(row, task.getStartTimeMs(), 2).append(',');
+        DagCsvLog.appendFixed(row, task.getFinishTimeMs(), 2).append(',');
+        row.append(task.getAssignedTier()).append(',')
+                .append(task.getAssignedDatacenterId()).append(',')
+                .append(task.getAssignedVmId()).append(',');
+        DagCsvLog.appendFixed(row, task.getDurationMs(), 2).append(',');
+        row.append(lengthMi).append(',');
+        DagCsvLog.appendFixed(row, projEdge, 3).append(',');
+        DagCsvLog.appendFixed(row, projCloud, 3).append(',');
+        row.append(inputBytes).append(',')
+                .append(outputBytes).append(',');
+        DagCsvLog.appendFixed(row, task.getGpuMemoryMb(), 2).append(',');
+        DagCsvLog.appendFixed(row, task.getGpuUtilization(), 2).append(',');
+        DagCsvLog.appendFixed(row, task.getQueueDelayMs(), 2).append(',');
+        row.append("-1,") // net_propagation_ms
+                .append("-1,"); // net_tx_ms
+        DagCsvLog.appendFixed(row, task.getNetworkDelayMs(), 2);
+        taskLog.endRow();
+    }
+
+    private CompletedDag logDagCompletion(DagRecord dag) {
+        CompletedDag summary = summarizeDag(dag);
+        writeDagSummary(summary);
+        return summary;
+    }
 
+    private CompletedDag summarizeDag(DagRecord dag) {
+        // Compute metrics from DAG tasks
         int edgeTasks = 0;
         int cloudTasks = 0;
         double totalNetMs = 0;
@@ -574,20 +829,27 @@ public class DagRuntimeManager extends SimEntity {
 
             totalNetMs += task.getNetworkDelayMs();
         }
+        return new CompletedDag(dag, edgeTasks, cloudTasks, totalNetMs);
+    }
+
+    private void writeDagSummary(CompletedDag summary) {
+        long completeMs = (long) summary.completeTimeMs;
+        // A failed DAG has no makespan; finish_ms is the time of the failure
+        long makespan = summary.failed ? -1 : Math.max(0L, completeMs - summary.submitMs);
 
         // Write CSV row with collected data
-        dagLogWriter.println(String.join(",",
-                dag.getDagId(),
-                String.valueOf(submitMs),
-                String.valueOf(completeMs),
-                String.valueOf(Math.max(0L, makespan)),
-                String.valueOf(numTasks),
-                String.valueOf(edgeTasks),
-                String.valueOf(cloudTasks),
-                String.format("%.2f", totalNetMs),
-                "-1" // total_wan_bytes (still not computed)
-        ));
-        dagLogWriter.flush(); // Flush after each DAG
+        StringBuilder row = dagLog.newRow();
+        row.append(summary.dagId).append(',')
+                .append(summary.submitMs).append(',')
+                .append(completeMs).append(',')
+                .append(makespan).append(',')
+                .append(summary.numTasks).append(',')
+                .append(summary.edgeTasks).append(',')
+                .append(summary.cloudTasks).append(',');
+        DagCsvLog.appendFixed(row, summary.totalNetMs, 2).append(',');
+        row.append("-1,") // total_wan_bytes (still not computed)
+                .append(summary.failed ? "FAILED" : "COMPLETE");
+        dagLog.endRow();
     }
 
 }
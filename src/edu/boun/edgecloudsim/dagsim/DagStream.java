@@ -0,0 +1,128 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+
+/**
+ * Reads the "dags" array of a container file one DAG at a time.
+ *
+ * Only the DAG returned by next() is materialized (its own small Gson tree
+ * and the DagRecord), so the memory used for DAG input depends on how many
+ * DAGs the caller keeps, not on the file size. The file must list its DAGs
+ * in non-decreasing submission_time order; DagJsonLoader.openDagStream()
+ * checks that with a token-level scan before creating a stream. Submission
+ * times are assigned with the same seeded Poisson process as the eager
+ * loader, so both produce identical DAGs.
+ */
+public class DagStream implements Iterator<DagRecord>, Closeable {
+    private final JsonReader reader;
+    private final int numOfDags;
+    private final ExponentialDistribution expDist;
+    private double currentSubmitTimeMs;
+    private boolean closed;
+
+    DagStream(File file, int numOfDags, double warmUpOffsetMs, ExponentialDistribution expDist) throws IOException {
+        this.reader = openDagsArray(file);
+        this.numOfDags = numOfDags;
+        this.expDist = expDist;
+        this.currentSubmitTimeMs = warmUpOffsetMs;
+        if (reader == null) {
+            throw new IOException("No \"dags\" array in " + file);
+        }
+    }
+
+    /**
+     * Number of DAGs in the file, including those not read yet.
+     */
+    public int getNumOfDags() {
+        return numOfDags;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        try {
+            // Entries that are not objects are skipped, like the eager loader does
+            while (reader.hasNext() && reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+            }
+            if (reader.hasNext()) {
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public DagRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonElement dagElem = JsonParser.parseReader(reader);
+        DagRecord dag = DagJsonLoader.parseSingleDag(dagElem.getAsJsonObject());
+        currentSubmitTimeMs += expDist.sample();
+        dag.setSubmitAtSimMs((long) currentSubmitTimeMs);
+        return dag;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Nothing left to read from the file
+            }
+        }
+    }
+
+    /**
+     * Opens the file and positions the reader on the first element of the
+     * top-level "dags" array.
+     *
+     * @return the reader, or null (and the file closed) if the root is not an
+     *         object with a "dags" array
+     */
+    static JsonReader openDagsArray(File file) throws IOException {
+        BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+        JsonReader reader = new JsonReader(in);
+        reader.setLenient(true); // as JsonParser.parseReader() used by the eager loader
+        try {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("dags") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        return reader;
+                    }
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        reader.close();
+        return null;
+    }
+}
@@ -0,0 +1,382 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.boun.edgecloudsim.dagsim.scheduling.ClusterState;
+import edu.boun.edgecloudsim.dagsim.scheduling.PlacementDecision;
+import edu.boun.edgecloudsim.dagsim.scheduling.RLStateEncoder;
+import edu.boun.edgecloudsim.dagsim.scheduling.RemoteRLPolicy;
+import edu.boun.edgecloudsim.dagsim.scheduling.TaskContext;
+
+/**
+ * Test harness for the RemoteRLPolicy transport modes.
+ *
+ * Starts a local stand-in for the RL service which answers /act, /act_batch,
+ * /observe and /observe_batch after an artificial per-request latency (model
+ * inference plus network round trip), then replays the same synthetic workload
+ * twice:
+ * - per-task: one blocking /act per task and one blocking /observe per finished task
+ * - batched: one /act_batch per group of tasks ready at the same simulation time,
+ *   observations queued and flushed to /observe_batch by the background thread
+ * Each mode runs once with JSON states and once with RLStateEncoder frames
+ * (rl_payload_encoding=binary). All runs must produce the same placements;
+ * wall-clock time and request counts of each run are printed. Finally the cost
+ * of encoding one state is compared for growing cluster sizes.
+ *
+ * Usage: java edu.boun.edgecloudsim.dagsim.RemoteRLBenchmark [groups] [tasksPerGroup] [latencyMs]
+ */
+public class RemoteRLBenchmark {
+
+    private static final int EDGE_DATACENTERS = 4;
+    private static final int VMS_PER_DATACENTER = 4;
+    private static final int[] ENCODING_VM_COUNTS = { 100, 1000, 5000 };
+
+    public static void main(String[] args) throws Exception {
+        int groups = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+        int tasksPerGroup = (args.length > 1) ? Integer.parseInt(args[1]) : 8;
+        int latencyMs = (args.length > 2) ? Integer.parseInt(args[2]) : 2;
+
+        StandInServer server = new StandInServer(latencyMs);
+        String url = "http://127.0.0.1:" + server.getPort();
+        try {
+            ClusterState state = buildState(EDGE_DATACENTERS);
+            List<List<TaskContext>> workload = buildWorkload(groups, tasksPerGroup);
+
+            System.out.println("=".repeat(72));
+            System.out.println("Remote RL Benchmark (" + groups + " groups x " + tasksPerGroup
+                    + " tasks, " + latencyMs + " ms service latency)");
+            System.out.println("=".repeat(72));
+
+            // Warm up connections and JIT for all paths
+            for (boolean binary : new boolean[] { false, true }) {
+                runPerTask(url, state, buildWorkload(5, tasksPerGroup), binary);
+                runBatched(url, state, buildWorkload(5, tasksPerGroup), binary);
+            }
+            server.resetCounters();
+
+            int tasks = groups * tasksPerGroup;
+            List<PlacementDecision> reference = null;
+            double perTaskJsonMs = 0.0;
+            System.out.println(String.format("%-17s %12s %14s   %s", "mode", "wall (ms)", "tasks/s", "requests"));
+            for (boolean batched : new boolean[] { false, true }) {
+                for (boolean binary : new boolean[] { false, true }) {
+                    long start = System.nanoTime();
+                    List<PlacementDecision> decisions = batched
+                            ? runBatched(url, state, workload, binary)
+                            : runPerTask(url, state, workload, binary);
+                    double wallMs = (System.nanoTime() - start) / 1e6;
+                    if (reference == null) {
+                        reference = decisions;
+                        perTaskJsonMs = wallMs;
+                    } else {
+                        verifySame(reference, decisions);
+                    }
+                    String mode = (batched ? "batched" : "per-task") + (binary ? " binary" : " json");
+                    System.out.println(String.format("%-17s %12.1f %14.1f   %s", mode, wallMs,
+                            tasks / (wallMs / 1000.0), server.describeCounters()));
+                    server.resetCounters();
+                }
+            }
+            System.out.println(String.format("identical decisions for %d tasks in all modes (per-task json: %.1f ms)",
+                    tasks, perTaskJsonMs));
+
+            System.out.println();
+            System.out.println(String.format("%-8s %16s %16s %14s %14s", "VMs", "json (us/state)",
+                    "binary (us/state)", "json bytes", "binary bytes"));
+            for (int vmCount : ENCODING_VM_COUNTS) {
+                measureEncoding(vmCount);
+            }
+            System.out.println("=".repeat(72));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void verifySame(List<PlacementDecision> expected, List<PlacementDecision> actual) {
+        for (int i = 0; i < expected.size(); i++) {
+            PlacementDecision a = expected.get(i);
+            PlacementDecision b = actual.get(i);
+            if (a.destTier != b.destTier || a.destDatacenterId != b.destDatacenterId || a.destVmId != b.destVmId) {
+                throw new IllegalStateException("Decision " + i + " differs: " + a + " vs " + b);
+            }
+        }
+    }
+
+    private static void measureEncoding(int vmCount) {
+        ClusterState state = buildState(vmCount / VMS_PER_DATACENTER);
+        TaskContext task = buildWorkload(1, 1).get(0).get(0);
+        Gson gson = new Gson();
+        RLStateEncoder encoder = new RLStateEncoder();
+        int iterations = Math.max(20, 200000 / vmCount);
+
+        int jsonBytes = 0;
+        int binaryBytes = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            for (int i = 0; i < iterations; i++) {
+                jsonBytes = gson.toJson(RemoteRLPolicy.buildStateJson(task, state, 0.1, 100.0, 1)).length();
+                encoder.reset();
+                encoder.appendFrame(task, state, 0.1, 100.0, 1, true);
+                binaryBytes = encoder.length();
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            jsonBytes = gson.toJson(RemoteRLPolicy.buildStateJson(task, state, 0.1, 100.0, 1)).length();
+        }
+        double jsonUs = (System.nanoTime() - start) / 1e3 / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            encoder.reset();
+            encoder.appendFrame(task, state, 0.1, 100.0, 1, true);
+            binaryBytes = encoder.length();
+        }
+        double binaryUs = (System.nanoTime() - start) / 1e3 / iterations;
+
+        System.out.println(String.format("%-8d %16.1f %16.1f %14d %14d", vmCount, jsonUs, binaryUs,
+                jsonBytes, binaryBytes));
+    }
+
+    private static List<PlacementDecision> runPerTask(String url, ClusterState state, List<List<TaskContext>> workload,
+            boolean binary) {
+        RemoteRLPolicy policy = new RemoteRLPolicy(url, binary);
+        List<PlacementDecision> decisions = new ArrayList<>();
+        for (List<TaskContext> group : workload) {
+            for (TaskContext task : group) {
+                decisions.add(policy.decide(task, state));
+            }
+            for (TaskContext task : group) {
+                RemoteRLPolicy.postObservation(url, 0, RemoteRLPolicy.consumeTrace(task.dagId, task.taskId),
+                        nextState(task, state), -1.0, false, 1.0, 0.1, 0.1, 100.0, false);
+            }
+        }
+        return decisions;
+    }
+
+    private static List<PlacementDecision> runBatched(String url, ClusterState state, List<List<TaskContext>> workload,
+            boolean binary) {
+        RemoteRLPolicy policy = new RemoteRLPolicy(url, binary);
+        RemoteRLPolicy.startObservationBuffer(url, 0, 1024, 64);
+        List<PlacementDecision> decisions = new ArrayList<>();
+        for (List<TaskContext> group : workload) {
+            policy.prepareBatch(group, state);
+            for (TaskContext task : group) {
+                decisions.add(policy.decide(task, state));
+            }
+            for (TaskContext task : group) {
+                RemoteRLPolicy.queueObservation(url, 0, RemoteRLPolicy.consumeTrace(task.dagId, task.taskId),
+                        nextState(task, state), -1.0, false, 1.0, 0.1, 0.1, 100.0, false);
+            }
+        }
+        RemoteRLPolicy.flushObservations();
+        return decisions;
+    }
+
+    private static JsonObject nextState(TaskContext task, ClusterState state) {
+        return RemoteRLPolicy.buildStateJson(task, state, 0.1, 100.0, 1);
+    }
+
+    private static ClusterState buildState(int edgeDatacenters) {
+        ClusterState state = new ClusterState(0);
+        state.vms = new ClusterState.VMInfo[2][][];
+        state.vms[PlacementDecision.TIER_EDGE] = new ClusterState.VMInfo[edgeDatacenters][];
+        int vmId = 0;
+        for (int dc = 0; dc < edgeDatacenters; dc++) {
+            state.vms[PlacementDecision.TIER_EDGE][dc] = new ClusterState.VMInfo[VMS_PER_DATACENTER];
+            for (int vm = 0; vm < VMS_PER_DATACENTER; vm++) {
+                state.vms[PlacementDecision.TIER_EDGE][dc][vm] = new ClusterState.VMInfo(
+                        vmId++, dc, PlacementDecision.TIER_EDGE, 4000);
+            }
+        }
+        state.vms[PlacementDecision.TIER_CLOUD] = new ClusterState.VMInfo[1][1];
+        state.vms[PlacementDecision.TIER_CLOUD][0][0] = new ClusterState.VMInfo(
+                vmId, 0, PlacementDecision.TIER_CLOUD, 40000);
+        return state;
+    }
+
+    private static List<List<TaskContext>> buildWorkload(int groups, int tasksPerGroup) {
+        List<List<TaskContext>> workload = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            List<TaskContext> group = new ArrayList<>(tasksPerGroup);
+            for (int t = 0; t < tasksPerGroup; t++) {
+                TaskContext task = new TaskContext();
+                task.dagId = "dag_" + g;
+                task.taskId = "task_" + g + "_" + t;
+                task.taskType = "synthetic";
+                task.lengthMI = 1000 + 37 * t;
+                task.cpuMemoryMb = 512;
+                task.currentTimeMs = g * 10.0;
+                group.add(task);
+            }
+            workload.add(group);
+        }
+        return workload;
+    }
+
+    /**
+     * Minimal RL service stand-in: picks a VM from the task id so that both
+     * transport modes receive the same answer for the same task.
+     */
+    private static class StandInServer {
+        private final HttpServer server;
+        private final int latencyMs;
+        private final Gson gson = new Gson();
+        private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> items = new ConcurrentHashMap<>();
+
+        StandInServer(int latencyMs) throws IOException {
+            this.latencyMs = latencyMs;
+            // Without TCP_NODELAY the JDK server's split header/body writes hit delayed ACKs
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/act", ex -> handle(ex, "/act"));
+            server.createContext("/act_batch", ex -> handle(ex, "/act_batch"));
+            server.createContext("/observe", ex -> handle(ex, "/observe"));
+            server.createContext("/observe_batch", ex -> handle(ex, "/observe_batch"));
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+        }
+
+        int getPort() {
+            return server.getAddress().getPort();
+        }
+
+        void stop() {
+            server.stop(0);
+            ((java.util.concurrent.ExecutorService) server.getExecutor()).shutdownNow();
+        }
+
+        void resetCounters() {
+            requests.clear();
+            items.clear();
+        }
+
+        String describeCounters() {
+            StringBuilder sb = new StringBuilder();
+            for (String endpoint : new String[] { "/act", "/act_batch", "/observe", "/observe_batch" }) {
+                long n = requests.getOrDefault(endpoint, new AtomicLong()).get();
+                if (n > 0) {
+                    sb.append(endpoint).append('=').append(n);
+                    sb.append(" (").append(items.get(endpoint).get()).append(" items) ");
+                }
+            }
+            return sb.toString().trim();
+        }
+
+        private void handle(HttpExchange exchange, String endpoint) throws IOException {
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            boolean binary = contentType != null && contentType.startsWith("application/octet-stream");
+            JsonObject request = binary ? null
+                    : gson.fromJson(new String(requestBody, StandardCharsets.UTF_8), JsonObject.class);
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            JsonObject response = new JsonObject();
+            long count = 1;
+            switch (endpoint) {
+                case "/act":
+                    response = decide(binary ? readTaskId(ByteBuffer.wrap(requestBody)) : jsonTaskId(request));
+                    break;
+                case "/act_batch": {
+                    JsonArray decisions = new JsonArray();
+                    if (binary) {
+                        ByteBuffer frames = ByteBuffer.wrap(requestBody);
+                        int frameCount = frames.getInt();
+                        for (int i = 0; i < frameCount; i++) {
+                            decisions.add(decide(readTaskId(frames)));
+                        }
+                    } else {
+                        for (JsonElement e : request.getAsJsonArray("requests")) {
+                            decisions.add(decide(jsonTaskId(e.getAsJsonObject())));
+                        }
+                    }
+                    count = decisions.size();
+                    response.add("decisions", decisions);
+                    break;
+                }
+                case "/observe_batch":
+                    count = request.getAsJsonArray("observations").size();
+                    response.addProperty("ok", true);
+                    break;
+                default:
+                    response.addProperty("ok", true);
+                    break;
+            }
+            requests.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+            items.computeIfAbsent(endpoint, k -> new AtomicLong()).addAndGet(count);
+
+            byte[] body = gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+
+        private static String jsonTaskId(JsonObject actRequest) {
+            return actRequest.getAsJsonObject("state").getAsJsonObject("task").get("taskId").getAsString();
+        }
+
+        /**
+         * Reads the taskId of the RLStateEncoder frame at the buffer position
+         * and moves the position to the end of the frame.
+         */
+        private static String readTaskId(ByteBuffer frames) {
+            int start = frames.position();
+            if (frames.getInt() != RLStateEncoder.MAGIC) {
+                throw new IllegalArgumentException("Not a state frame");
+            }
+            int frameLength = frames.getInt();
+            // trainingMode, vmCount, 6 doubles, 2 ints, 2 x (2 doubles + int)
+            frames.position(frames.position() + 1 + 4 + 6 * 8 + 2 * 4 + 2 * 20);
+            int dagIdLength = frames.getShort();
+            frames.position(frames.position() + dagIdLength);
+            byte[] taskId = new byte[frames.getShort()];
+            frames.get(taskId);
+            frames.position(start + 8 + frameLength);
+            return new String(taskId, StandardCharsets.UTF_8);
+        }
+
+        private JsonObject decide(String taskId) {
+            int action = Math.floorMod(taskId.hashCode(), EDGE_DATACENTERS * VMS_PER_DATACENTER + 1);
+            JsonObject decision = new JsonObject();
+            if (action == EDGE_DATACENTERS * VMS_PER_DATACENTER) {
+                decision.addProperty("tier", "CLOUD");
+                decision.addProperty("datacenterId", 0);
+                decision.addProperty("vmId", 0);
+            } else {
+                decision.addProperty("tier", "EDGE");
+                decision.addProperty("datacenterId", action / VMS_PER_DATACENTER);
+                decision.addProperty("vmId", action % VMS_PER_DATACENTER);
+            }
+            decision.addProperty("actionIndex", action);
+            return decision;
+        }
+    }
+}
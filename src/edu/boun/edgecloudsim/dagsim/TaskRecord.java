@@ -44,8 +44,11 @@ public class TaskRecord {
     // CloudSim/EdgeCloudSim cloudlet ID
     private long cloudletId;
 
+    // Owning DAG (back-reference set by DagRecord.addTask)
+    private DagRecord dag;
+
     public enum TaskState {
-        CREATED, READY, SCHEDULED, RUNNING, DONE
+        CREATED, READY, SCHEDULED, RUNNING, DONE, FAILED
     }
 
     public TaskRecord() {
@@ -200,6 +203,14 @@ public class TaskRecord {
         this.assignedVmId = vmId;
     }
 
+    public DagRecord getDag() {
+        return dag;
+    }
+
+    public void setDag(DagRecord dag) {
+        this.dag = dag;
+    }
+
     public long getCloudletId() {
         return cloudletId;
     }
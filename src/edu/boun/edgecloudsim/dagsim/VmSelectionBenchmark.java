@@ -0,0 +1,289 @@
+package edu.boun.edgecloudsim.dagsim;
+
+import java.util.Random;
+
+import edu.boun.edgecloudsim.dagsim.scheduling.ClusterState;
+import edu.boun.edgecloudsim.dagsim.scheduling.EFTPolicy;
+import edu.boun.edgecloudsim.dagsim.scheduling.GlobalBestFitPolicy;
+import edu.boun.edgecloudsim.dagsim.scheduling.PlacementDecision;
+import edu.boun.edgecloudsim.dagsim.scheduling.TaskContext;
+
+/**
+ * Micro-benchmark for the best-VM selection of the EFT, NetAwareEFT and
+ * GlobalBestFit policies.
+ *
+ * Compares the former brute-force scans over state.vms[tier][dc][vm] with the
+ * VmSelectionIndex now used by the policies. Before timing, every cluster size
+ * runs a verification phase which mutates random VMs (as the live cluster state
+ * does on cloudlet submit/return) and checks that both implementations pick the
+ * same VM for every task.
+ *
+ * Usage: java edu.boun.edgecloudsim.dagsim.VmSelectionBenchmark [decisions]
+ */
+public class VmSelectionBenchmark {
+
+    private static final int[] VM_COUNTS = { 100, 1000, 10000 };
+    private static final int VMS_PER_DATACENTER = 8;
+    private static final double[] MIPS_CLASSES = { 1000, 2000, 4000, 8000 };
+    private static final double[] RAM_CLASSES = { 1024, 2048, 4096, 8192 };
+    private static final double[] TASK_MEMORY = { 0, 256, 512, 1024, 3000 };
+    private static final double[] TIER_DELAY_MS = { 12.5, 85.0 }; // NetAwareEFT-style per-tier delay
+
+    public static void main(String[] args) {
+        int decisions = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+
+        System.out.println("=".repeat(78));
+        System.out.println("VM Selection Benchmark (" + decisions + " decisions per run, ns/decision)");
+        System.out.println("=".repeat(78));
+        System.out.println(String.format("%8s | %10s %10s | %10s %10s | %10s %10s", "#VMs",
+                "EFT scan", "EFT index", "Net scan", "Net index", "BFit scan", "BFit index"));
+
+        long sink = 0;
+        for (int vmCount : VM_COUNTS) {
+            Random rng = new Random(vmCount);
+            ClusterState state = buildState(vmCount, rng);
+            verify(state, rng, 5000);
+
+            TaskContext[] tasks = buildTasks(decisions, rng);
+            EFTPolicy eft = new EFTPolicy();
+            GlobalBestFitPolicy bestFit = new GlobalBestFitPolicy();
+
+            // Warm up all code paths before measuring
+            for (int round = 0; round < 2; round++) {
+                sink += runEftScan(state, tasks, TIER_DELAY_MS) + runEftIndex(state, tasks, TIER_DELAY_MS);
+                sink += runEftScan(state, tasks, eftDelays()) + runEftPolicy(eft, state, tasks);
+                sink += runBestFitScan(state, tasks) + runBestFitPolicy(bestFit, state, tasks);
+            }
+
+            long start = System.nanoTime();
+            sink += runEftScan(state, tasks, eftDelays());
+            double eftScanNs = perOp(start, decisions);
+            start = System.nanoTime();
+            sink += runEftPolicy(eft, state, tasks);
+            double eftIndexNs = perOp(start, decisions);
+
+            start = System.nanoTime();
+            sink += runEftScan(state, tasks, TIER_DELAY_MS);
+            double netScanNs = perOp(start, decisions);
+            start = System.nanoTime();
+            sink += runEftIndex(state, tasks, TIER_DELAY_MS);
+            double netIndexNs = perOp(start, decisions);
+
+            start = System.nanoTime();
+            sink += runBestFitScan(state, tasks);
+            double fitScanNs = perOp(start, decisions);
+            start = System.nanoTime();
+            sink += runBestFitPolicy(bestFit, state, tasks);
+            double fitIndexNs = perOp(start, decisions);
+
+            System.out.println(String.format("%8d | %10.1f %10.1f | %10.1f %10.1f | %10.1f %10.1f", vmCount,
+                    eftScanNs, eftIndexNs, netScanNs, netIndexNs, fitScanNs, fitIndexNs));
+        }
+        System.out.println("=".repeat(78));
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double perOp(long start, int ops) {
+        return (System.nanoTime() - start) / (double) ops;
+    }
+
+    private static double[] eftDelays() {
+        return new double[] { 0, 1.0 };
+    }
+
+    /**
+     * Builds an edge tier with (vmCount - cloud VMs) VMs and a small cloud tier.
+     */
+    private static ClusterState buildState(int vmCount, Random rng) {
+        ClusterState state = new ClusterState(0);
+        int cloudVms = Math.max(4, vmCount / 50);
+        int[] tierSizes = { vmCount - cloudVms, cloudVms };
+        state.vms = new ClusterState.VMInfo[2][][];
+        int vmId = 0;
+        for (int tier = 0; tier < 2; tier++) {
+            int dcs = (tierSizes[tier] + VMS_PER_DATACENTER - 1) / VMS_PER_DATACENTER;
+            state.vms[tier] = new ClusterState.VMInfo[dcs][];
+            int remaining = tierSizes[tier];
+            for (int dc = 0; dc < dcs; dc++) {
+                int n = Math.min(VMS_PER_DATACENTER, remaining);
+                remaining -= n;
+                state.vms[tier][dc] = new ClusterState.VMInfo[n];
+                for (int vm = 0; vm < n; vm++) {
+                    double mips = MIPS_CLASSES[rng.nextInt(MIPS_CLASSES.length)] * (tier + 1);
+                    ClusterState.VMInfo info = new ClusterState.VMInfo(vmId++, dc, tier, mips);
+                    randomizeLoad(info, rng);
+                    state.vms[tier][dc][vm] = info;
+                }
+            }
+        }
+        return state;
+    }
+
+    private static void randomizeLoad(ClusterState.VMInfo info, Random rng) {
+        double ram = RAM_CLASSES[rng.nextInt(RAM_CLASSES.length)];
+        boolean busy = rng.nextInt(3) == 0;
+        info.queuedTaskCount = busy ? 1 + rng.nextInt(4) : 0;
+        info.freeMemoryMb = busy ? Math.floor(ram * rng.nextDouble()) : ram;
+        info.freeGpuMemoryMb = rng.nextBoolean() ? info.freeMemoryMb : Math.floor(ram * rng.nextDouble());
+        info.totalQueueWaitTimeMs = busy ? 10.0 * rng.nextInt(100) : 0.0;
+    }
+
+    private static TaskContext[] buildTasks(int count, Random rng) {
+        TaskContext[] tasks = new TaskContext[count];
+        for (int i = 0; i < count; i++) {
+            TaskContext task = new TaskContext();
+            task.lengthMI = 100 + rng.nextInt(20000);
+            task.cpuMemoryMb = TASK_MEMORY[rng.nextInt(TASK_MEMORY.length)];
+            task.gpuMemoryMb = rng.nextInt(4) == 0 ? TASK_MEMORY[rng.nextInt(TASK_MEMORY.length)] : 0;
+            tasks[i] = task;
+        }
+        return tasks;
+    }
+
+    /**
+     * Checks that index and scan agree while VMs change between decisions.
+     */
+    private static void verify(ClusterState state, Random rng, int rounds) {
+        EFTPolicy eft = new EFTPolicy();
+        GlobalBestFitPolicy bestFit = new GlobalBestFitPolicy();
+        TaskContext[] tasks = buildTasks(rounds, rng);
+        for (int i = 0; i < rounds; i++) {
+            int tier = rng.nextInt(10) == 0 ? 1 : 0;
+            ClusterState.VMInfo[][] dcs = state.vms[tier];
+            ClusterState.VMInfo[] dcVms = dcs[rng.nextInt(dcs.length)];
+            ClusterState.VMInfo info = dcVms[rng.nextInt(dcVms.length)];
+            randomizeLoad(info, rng);
+            state.vmInfoUpdated(info);
+
+            TaskContext task = tasks[i];
+            check("EFT", scanEarliestFinish(state, task, eftDelays()), eft.decide(task, state));
+            PlacementDecision indexed = new PlacementDecision();
+            if (!state.getSelectionIndex().selectEarliestFinish(task, state.currentTimeMs, TIER_DELAY_MS, indexed)) {
+                indexed = null;
+            }
+            PlacementDecision scanned = scanEarliestFinish(state, task, TIER_DELAY_MS);
+            if ((scanned == null) != (indexed == null)) {
+                throw new IllegalStateException("NetAwareEFT feasibility mismatch for " + task);
+            }
+            if (scanned != null) {
+                check("NetAwareEFT", scanned, indexed);
+            }
+            check("GlobalBestFit", scanBestFit(state, task), bestFit.decide(task, state));
+        }
+    }
+
+    private static void check(String policy, PlacementDecision expected, PlacementDecision actual) {
+        if (expected == null) {
+            return; // policies fall back to the first VM, not compared here
+        }
+        if (expected.destTier != actual.destTier || expected.destDatacenterId != actual.destDatacenterId
+                || expected.destVmId != actual.destVmId
+                || Double.compare(expected.estimatedFinishTimeMs, actual.estimatedFinishTimeMs) != 0) {
+            throw new IllegalStateException(policy + " index picked " + actual + " but scan picked " + expected);
+        }
+    }
+
+    private static long runEftScan(ClusterState state, TaskContext[] tasks, double[] tierDelayMs) {
+        long sum = 0;
+        for (TaskContext task : tasks) {
+            PlacementDecision d = scanEarliestFinish(state, task, tierDelayMs);
+            sum += (d != null) ? d.destVmId : -1;
+        }
+        return sum;
+    }
+
+    private static long runEftIndex(ClusterState state, TaskContext[] tasks, double[] tierDelayMs) {
+        long sum = 0;
+        PlacementDecision d = new PlacementDecision();
+        for (TaskContext task : tasks) {
+            sum += state.getSelectionIndex().selectEarliestFinish(task, state.currentTimeMs, tierDelayMs, d)
+                    ? d.destVmId : -1;
+        }
+        return sum;
+    }
+
+    private static long runEftPolicy(EFTPolicy policy, ClusterState state, TaskContext[] tasks) {
+        long sum = 0;
+        for (TaskContext task : tasks) {
+            sum += policy.decide(task, state).destVmId;
+        }
+        return sum;
+    }
+
+    private static long runBestFitScan(ClusterState state, TaskContext[] tasks) {
+        long sum = 0;
+        for (TaskContext task : tasks) {
+            PlacementDecision d = scanBestFit(state, task);
+            sum += (d != null) ? d.destVmId : -1;
+        }
+        return sum;
+    }
+
+    private static long runBestFitPolicy(GlobalBestFitPolicy policy, ClusterState state, TaskContext[] tasks) {
+        long sum = 0;
+        for (TaskContext task : tasks) {
+            sum += policy.decide(task, state).destVmId;
+        }
+        return sum;
+    }
+
+    /**
+     * Former EFTPolicy / NetAwareEFTPolicy scan; returns null if no VM fits.
+     */
+    private static PlacementDecision scanEarliestFinish(ClusterState state, TaskContext task, double[] tierDelayMs) {
+        PlacementDecision bestDecision = null;
+        double bestFinishTime = Double.MAX_VALUE;
+        for (int tier = 0; tier < state.vms.length; tier++) {
+            if (state.vms[tier] == null) continue;
+            for (int dc = 0; dc < state.vms[tier].length; dc++) {
+                if (state.vms[tier][dc] == null) continue;
+                for (int vm = 0; vm < state.vms[tier][dc].length; vm++) {
+                    ClusterState.VMInfo vmInfo = state.vms[tier][dc][vm];
+                    if (vmInfo == null) continue;
+                    if (!vmInfo.canFitTask(task.cpuMemoryMb, task.gpuMemoryMb)) {
+                        continue;
+                    }
+                    double execTime = (task.lengthMI / vmInfo.mips) * 1000.0;
+                    double queueTime = vmInfo.totalQueueWaitTimeMs;
+                    double finishTime = state.currentTimeMs + queueTime + execTime + tierDelayMs[tier];
+                    if (finishTime < bestFinishTime) {
+                        bestFinishTime = finishTime;
+                        bestDecision = new PlacementDecision(tier, dc, vm);
+                        bestDecision.estimatedFinishTimeMs = finishTime;
+                        bestDecision.estimatedNetworkDelayMs = tierDelayMs[tier];
+                    }
+                }
+            }
+        }
+        return bestDecision;
+    }
+
+    /**
+     * Former GlobalBestFitPolicy scan; returns null if no VM fits.
+     */
+    private static PlacementDecision scanBestFit(ClusterState state, TaskContext task) {
+        PlacementDecision bestDecision = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int tier = 0; tier < state.vms.length; tier++) {
+            if (state.vms[tier] == null) continue;
+            for (int dc = 0; dc < state.vms[tier].length; dc++) {
+                if (state.vms[tier][dc] == null) continue;
+                for (int vm = 0; vm < state.vms[tier][dc].length; vm++) {
+                    ClusterState.VMInfo vmInfo = state.vms[tier][dc][vm];
+                    if (vmInfo == null) continue;
+                    if (!vmInfo.canFitTask(task.cpuMemoryMb, task.gpuMemoryMb)) {
+                        continue;
+                    }
+                    double memSlack = Math.max(0.0, vmInfo.freeMemoryMb - task.cpuMemoryMb);
+                    double gpuSlack = Math.max(0.0, vmInfo.freeGpuMemoryMb - task.gpuMemoryMb);
+                    double score = memSlack + gpuSlack;
+                    if (score < bestScore) {
+                        bestScore = score;
+                        bestDecision = new PlacementDecision(tier, dc, vm);
+                    }
+                }
+            }
+        }
+        return bestDecision;
+    }
+}
@@ -0,0 +1,21 @@
+package edu.boun.edgecloudsim.dagsim.scheduling;
+
+import java.util.List;
+
+/**
+ * Scheduling policy that can decide a group of tasks at once.
+ * The orchestrator announces all tasks which became ready at the same
+ * simulation time before asking for their decisions one by one, so the
+ * policy can compute them together (e.g. one remote inference call).
+ */
+public interface BatchSchedulingPolicy extends SchedulingPolicy {
+
+    /**
+     * Precompute decisions for tasks that will be passed to decide() next.
+     * Tasks without a precomputed decision are decided individually.
+     *
+     * @param tasks Context information about the ready tasks
+     * @param state Current cluster state (read-only)
+     */
+    void prepareBatch(List<TaskContext> tasks, ClusterState state);
+}
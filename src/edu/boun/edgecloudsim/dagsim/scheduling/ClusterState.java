@@ -41,6 +41,10 @@ public class ClusterState {
     // Current simulation time
     public double currentTimeMs;
 
+    // Version of the live view this state belongs to; bumped on every VM load
+    // change so policies can detect staleness. Fresh snapshots use 0.
+    public long version;
+
     // All available VMs organized by tier
     public VMInfo[][][] vms; // [tier][dc_index][vm_index]
 
@@ -48,10 +52,36 @@ public class ClusterState {
     public int edgeTierCount;
     public int cloudTierCount;
 
+    // Lazily built best-VM selection index over vms
+    private VmSelectionIndex selectionIndex;
+
     public ClusterState(double currentTimeMs) {
         this.currentTimeMs = currentTimeMs;
     }
 
+    /**
+     * Get the best-VM selection index, building it on first use or after vms
+     * has been replaced. Building is O(n log n); on a live state it is amortized
+     * over all decisions since updates only touch the changed VM.
+     */
+    public VmSelectionIndex getSelectionIndex() {
+        if (selectionIndex == null || !selectionIndex.isBuiltFrom(vms)) {
+            selectionIndex = new VmSelectionIndex(vms);
+        }
+        return selectionIndex;
+    }
+
+    /**
+     * Record that the fields of a VM changed: bumps the version and resyncs
+     * the selection index if one has been built.
+     */
+    public void vmInfoUpdated(VMInfo info) {
+        version++;
+        if (selectionIndex != null) {
+            selectionIndex.update(info);
+        }
+    }
+
     /**
      * Get average MIPS for a tier (for estimation).
      */
@@ -11,44 +11,19 @@ public class EFTPolicy implements SchedulingPolicy {
     @Override
     public PlacementDecision decide(TaskContext task, ClusterState state) {
         PlacementDecision bestDecision = new PlacementDecision();
-        double bestFinishTime = Double.MAX_VALUE;
         
-        // Evaluate all candidate VMs
-        for (int tier = 0; tier < state.vms.length; tier++) {
-            if (state.vms[tier] == null) continue;
-            
-            for (int dc = 0; dc < state.vms[tier].length; dc++) {
-                if (state.vms[tier][dc] == null) continue;
-                
-                for (int vm = 0; vm < state.vms[tier][dc].length; vm++) {
-                    ClusterState.VMInfo vmInfo = state.vms[tier][dc][vm];
-                    if (vmInfo == null) continue;
-                    
-                    // Check feasibility
-                    if (!vmInfo.canFitTask(task.cpuMemoryMb, task.gpuMemoryMb)) {
-                        continue;
-                    }
-                    
-                    // Estimate finish time on this VM
-                    double execTime = (task.lengthMI / vmInfo.mips) * 1000.0; // Convert to ms
-                    double queueTime = vmInfo.totalQueueWaitTimeMs;
-                    double netPenalty = (tier == PlacementDecision.TIER_CLOUD) ? NET_PENALTY_MS : 0;
-                    double finishTime = state.currentTimeMs + queueTime + execTime + netPenalty;
-                    
-                    if (finishTime < bestFinishTime) {
-                        bestFinishTime = finishTime;
-                        bestDecision.destTier = tier;
-                        bestDecision.destDatacenterId = dc;
-                        bestDecision.destVmId = vm;
-                        bestDecision.estimatedFinishTimeMs = finishTime;
-                        bestDecision.estimatedNetworkDelayMs = netPenalty;
-                    }
-                }
-            }
+        // Tier-dependent network penalty
+        double[] tierDelayMs = new double[state.vms.length];
+        for (int tier = 0; tier < tierDelayMs.length; tier++) {
+            tierDelayMs[tier] = (tier == PlacementDecision.TIER_CLOUD) ? NET_PENALTY_MS : 0;
         }
+
+        // Lowest estimated finish time among feasible VMs (same choice as a full scan)
+        boolean found = state.getSelectionIndex().selectEarliestFinish(
+                task, state.currentTimeMs, tierDelayMs, bestDecision);
         
         // If no feasible VM found, use first available
-        if (bestFinishTime == Double.MAX_VALUE) {
+        if (!found) {
             if (state.vms.length > 0 && state.vms[0] != null && state.vms[0].length > 0 &&
                 state.vms[0][0] != null && state.vms[0][0].length > 0) {
                 bestDecision.destTier = 0;
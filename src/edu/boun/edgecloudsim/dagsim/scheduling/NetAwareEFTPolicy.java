@@ -11,45 +11,22 @@ public class NetAwareEFTPolicy implements SchedulingPolicy {
     @Override
     public PlacementDecision decide(TaskContext task, ClusterState state) {
         PlacementDecision bestDecision = new PlacementDecision();
-        double bestFinishTime = Double.MAX_VALUE;
 
         SimSettings ss = SimSettings.getInstance();
         double dataBytes = estimateDataBytes(task, ss);
 
-        // Evaluate all candidate VMs
-        for (int tier = 0; tier < state.vms.length; tier++) {
-            if (state.vms[tier] == null) continue;
-
-            for (int dc = 0; dc < state.vms[tier].length; dc++) {
-                if (state.vms[tier][dc] == null) continue;
-
-                for (int vm = 0; vm < state.vms[tier][dc].length; vm++) {
-                    ClusterState.VMInfo vmInfo = state.vms[tier][dc][vm];
-                    if (vmInfo == null) continue;
-
-                    if (!vmInfo.canFitTask(task.cpuMemoryMb, task.gpuMemoryMb)) {
-                        continue;
-                    }
-
-                    double execTime = (task.lengthMI / vmInfo.mips) * 1000.0; // ms
-                    double queueTime = vmInfo.totalQueueWaitTimeMs;
-                    double netDelay = estimateNetworkDelayMs(tier, dataBytes, ss);
-                    double finishTime = state.currentTimeMs + queueTime + execTime + netDelay;
-
-                    if (finishTime < bestFinishTime) {
-                        bestFinishTime = finishTime;
-                        bestDecision.destTier = tier;
-                        bestDecision.destDatacenterId = dc;
-                        bestDecision.destVmId = vm;
-                        bestDecision.estimatedFinishTimeMs = finishTime;
-                        bestDecision.estimatedNetworkDelayMs = netDelay;
-                    }
-                }
-            }
+        // Network delay only depends on the tier
+        double[] tierDelayMs = new double[state.vms.length];
+        for (int tier = 0; tier < tierDelayMs.length; tier++) {
+            tierDelayMs[tier] = estimateNetworkDelayMs(tier, dataBytes, ss);
         }
 
+        // Lowest estimated finish time among feasible VMs (same choice as a full scan)
+        boolean found = state.getSelectionIndex().selectEarliestFinish(
+                task, state.currentTimeMs, tierDelayMs, bestDecision);
+
         // If no feasible VM found, use first available
-        if (bestFinishTime == Double.MAX_VALUE) {
+        if (!found) {
             if (state.vms.length > 0 && state.vms[0] != null && state.vms[0].length > 0 &&
                 state.vms[0][0] != null && state.vms[0][0].length > 0) {
                 bestDecision.destTier = 0;
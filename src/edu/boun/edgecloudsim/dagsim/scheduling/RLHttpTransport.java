@@ -0,0 +1,79 @@
+package edu.boun.edgecloudsim.dagsim.scheduling;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Shared HTTP/1.1 client for the RL service.
+ *
+ * All requests go through one java.net.http.HttpClient, which keeps idle
+ * connections to the service open and reuses them (keep-alive), so a decision
+ * costs one request/response exchange instead of a TCP connect per call. The
+ * client is safe for concurrent use by the event thread and the observation
+ * flusher.
+ *
+ * The service may close an idle keep-alive connection at any time (uvicorn
+ * after 5 s), and HttpClient does not resend a POST that fails on such a
+ * connection. Callers therefore mark idempotent requests (/act and /act_batch
+ * outside training mode), which are sent once more on a connection failure.
+ * Observations, and /act in training mode, are never resent, so the service
+ * cannot record a transition twice or draw a second exploration action.
+ */
+final class RLHttpTransport {
+    static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private RLHttpTransport() {
+    }
+
+    static String postJson(String url, String json, int timeoutMs, boolean idempotent)
+            throws IOException, InterruptedException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return post(url, body, 0, body.length, JSON_CONTENT_TYPE, timeoutMs, idempotent);
+    }
+
+    /**
+     * Posts body[offset, offset+length) and returns the response body. The
+     * array is not retained, so callers may reuse it once this returns.
+     * A timeout of 0 or less waits indefinitely, like HttpURLConnection.
+     * An idempotent request is sent a second time if the first attempt fails
+     * with an I/O error other than a timeout.
+     */
+    static String post(String url, byte[] body, int offset, int length, String contentType, int timeoutMs,
+            boolean idempotent) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body, offset, length));
+        if (timeoutMs > 0) {
+            builder.timeout(Duration.ofMillis(timeoutMs));
+        }
+        HttpRequest request = builder.build();
+        HttpResponse<String> response;
+        try {
+            response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (HttpTimeoutException e) {
+            throw e;
+        } catch (IOException e) {
+            if (!idempotent) {
+                throw e;
+            }
+            response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        }
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new RuntimeException("HTTP " + status + " from " + url + ": " + response.body().trim());
+        }
+        return response.body().trim();
+    }
+}
@@ -0,0 +1,114 @@
+package edu.boun.edgecloudsim.dagsim.scheduling;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of RL observations flushed to the /observe_batch endpoint by a
+ * background thread, so the CloudSim event thread does not wait for the RL
+ * service after every completed task.
+ *
+ * When the queue is full add() blocks until the flusher catches up
+ * (back-pressure). Observations are posted in insertion order.
+ */
+class RLObservationBuffer {
+    private static final JsonObject END_OF_STREAM = new JsonObject();
+
+    private final String observeBatchUrl;
+    private final int timeoutMs;
+    private final int batchSize;
+    private final BlockingQueue<JsonObject> queue;
+    private final Thread flusher;
+    private final Gson gson = new Gson();
+
+    // Updated by both the event thread (add) and the flusher thread (post)
+    private final AtomicLong postedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    RLObservationBuffer(String observeBatchUrl, int timeoutMs, int capacity, int batchSize) {
+        this.observeBatchUrl = observeBatchUrl;
+        this.timeoutMs = timeoutMs;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.flusher = new Thread(this::run, "rl-observation-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    void add(JsonObject observation) {
+        try {
+            queue.put(observation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Posts everything queued so far and stops the flusher thread.
+     */
+    void close() {
+        add(END_OF_STREAM);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getPostedCount() {
+        return postedCount.get();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void run() {
+        List<JsonObject> batch = new ArrayList<>(batchSize);
+        boolean done = false;
+        while (!done) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            // close() is the last producer, nothing can follow the marker
+            JsonObject last = batch.get(batch.size() - 1);
+            if (last == END_OF_STREAM) {
+                batch.remove(batch.size() - 1);
+                done = true;
+            }
+            if (!batch.isEmpty()) {
+                post(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void post(List<JsonObject> batch) {
+        JsonArray observations = new JsonArray();
+        for (JsonObject observation : batch) {
+            observations.add(observation);
+        }
+        JsonObject payload = new JsonObject();
+        payload.add("observations", observations);
+        try {
+            RemoteRLPolicy.postRequest(observeBatchUrl, gson.toJson(payload), timeoutMs);
+            postedCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            droppedCount.addAndGet(batch.size());
+            System.err.println("RemoteRLPolicy observe_batch failed (" + batch.size()
+                    + " observations dropped): " + e.getMessage());
+        }
+    }
+}
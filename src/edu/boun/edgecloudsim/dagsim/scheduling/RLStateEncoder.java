@@ -0,0 +1,212 @@
+package edu.boun.edgecloudsim.dagsim.scheduling;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of the RL state (rl_payload_encoding=binary).
+ *
+ * Carries the same features as RemoteRLPolicy.buildStateJson(), but the VM
+ * features are written straight from ClusterState into a reusable ByteBuffer,
+ * with no intermediate Gson tree or String. All values are big-endian.
+ *
+ * Frame layout:
+ *   int    magic 0x45435331 ("ECS1")
+ *   int    frame length in bytes, not counting magic and this field
+ *   byte   trainingMode (0/1)
+ *   int    vmCount (also the action count; every action is valid)
+ *   double task mi, task dataSizeBytes, simTime (ms)
+ *   double costSoFar, remainingBudget, budgetFractionUsed
+ *   int    activeDagCount, totalQueueLen
+ *   double edge availableMips, edge utilization;  int edge queueLen
+ *   double cloud availableMips, cloud utilization; int cloud queueLen
+ *   3 x (short length + UTF-8 bytes): dagId, taskId, taskType
+ *   vmCount x VM record:
+ *     int tier, int dcId, int vmId,
+ *     float availableMips, float costPerSec, float utilization, int queueLen
+ *
+ * VM records follow ClusterState order (tier, datacenter, VM index), which for
+ * the orchestrator's states is the order of the JSON "vms" array.
+ *
+ * A batch (/act_batch) is an int frame count followed by the frames.
+ */
+public class RLStateEncoder {
+    public static final int MAGIC = 0x45435331;
+    public static final int VM_RECORD_BYTES = 7 * 4;
+
+    private static final int AGGREGATE_BYTES = 2 * (8 + 8 + 4);
+
+    private ByteBuffer buffer = allocate(4096);
+
+    /**
+     * Starts a new payload containing a single frame.
+     */
+    public void reset() {
+        buffer.clear();
+    }
+
+    /**
+     * Starts a new batch payload; exactly frameCount frames must follow.
+     */
+    public void beginBatch(int frameCount) {
+        buffer.clear();
+        buffer.putInt(frameCount);
+    }
+
+    /**
+     * Appends one state frame to the payload.
+     */
+    public void appendFrame(TaskContext task, ClusterState state, double costSoFar, double budget,
+            int activeDagCount, boolean trainingMode) {
+        byte[] dagId = utf8(task.dagId);
+        byte[] taskId = utf8(task.taskId);
+        byte[] taskType = utf8(task.taskType);
+        int vmCount = countVms(state);
+
+        int frameLength = 1 + 4 + 6 * 8 + 2 * 4 + AGGREGATE_BYTES
+                + 6 + dagId.length + taskId.length + taskType.length
+                + vmCount * VM_RECORD_BYTES;
+        ensureRemaining(8 + frameLength);
+
+        ByteBuffer b = buffer;
+        b.putInt(MAGIC);
+        b.putInt(frameLength);
+        b.put((byte) (trainingMode ? 1 : 0));
+        b.putInt(vmCount);
+        b.putDouble(task.lengthMI);
+        b.putDouble(Math.max(1.0, task.cpuMemoryMb * 1024.0 * 1024.0));
+        b.putDouble(state.currentTimeMs);
+        b.putDouble(costSoFar);
+        b.putDouble(budget - costSoFar);
+        b.putDouble(budget > 0 ? costSoFar / budget : 0.0);
+        b.putInt(activeDagCount);
+        int totalQueuePos = b.position();
+        b.putInt(0);
+        int aggregatePos = b.position();
+        b.position(aggregatePos + AGGREGATE_BYTES);
+        putString(b, dagId);
+        putString(b, taskId);
+        putString(b, taskType);
+
+        double edgeCost = SimSettings.getInstance().getEdgeAvgCostPerSec();
+        double cloudCost = SimSettings.getInstance().getCloudCostPerSec();
+        double[] mips = new double[2];
+        double[] util = new double[2];
+        int[] count = new int[2];
+        int[] queue = new int[2];
+        if (state.vms != null) {
+            for (int tier = 0; tier < state.vms.length; tier++) {
+                if (state.vms[tier] == null) {
+                    continue;
+                }
+                int agg = (tier == PlacementDecision.TIER_EDGE) ? 0 : 1;
+                for (ClusterState.VMInfo[] dcVms : state.vms[tier]) {
+                    if (dcVms == null) {
+                        continue;
+                    }
+                    for (ClusterState.VMInfo vm : dcVms) {
+                        if (vm == null) {
+                            continue;
+                        }
+                        double vmUtil = vm.queuedTaskCount <= 0 ? 0.0
+                                : Math.min(1.0, vm.queuedTaskCount / (double) (vm.queuedTaskCount + 1));
+                        b.putInt(tier);
+                        b.putInt(vm.datacenterId);
+                        b.putInt(vm.vmId);
+                        b.putFloat((float) vm.mips);
+                        b.putFloat((float) (agg == 0 ? edgeCost : cloudCost));
+                        b.putFloat((float) vmUtil);
+                        b.putInt(vm.queuedTaskCount);
+                        mips[agg] += vm.mips;
+                        util[agg] += vmUtil;
+                        count[agg]++;
+                        queue[agg] += vm.queuedTaskCount;
+                    }
+                }
+            }
+        }
+
+        b.putInt(totalQueuePos, queue[0] + queue[1]);
+        int pos = aggregatePos;
+        for (int agg = 0; agg < 2; agg++) {
+            b.putDouble(pos, mips[agg]);
+            b.putDouble(pos + 8, count[agg] > 0 ? util[agg] / count[agg] : 0.0);
+            b.putInt(pos + 16, queue[agg]);
+            pos += 20;
+        }
+    }
+
+    /**
+     * Backing array of the payload; valid bytes are [0, length()). Reused by
+     * the next reset() or beginBatch().
+     */
+    public byte[] array() {
+        return buffer.array();
+    }
+
+    public int length() {
+        return buffer.position();
+    }
+
+    /**
+     * Copies the frame starting at offset (as returned by length() before it
+     * was appended) out of the payload.
+     */
+    public byte[] copyFrame(int offset) {
+        int frameLength = buffer.getInt(offset + 4);
+        byte[] frame = new byte[8 + frameLength];
+        System.arraycopy(buffer.array(), offset, frame, 0, frame.length);
+        return frame;
+    }
+
+    private static int countVms(ClusterState state) {
+        int vmCount = 0;
+        if (state.vms != null) {
+            for (ClusterState.VMInfo[][] tier : state.vms) {
+                if (tier == null) {
+                    continue;
+                }
+                for (ClusterState.VMInfo[] dcVms : tier) {
+                    if (dcVms == null) {
+                        continue;
+                    }
+                    for (ClusterState.VMInfo vm : dcVms) {
+                        if (vm != null) {
+                            vmCount++;
+                        }
+                    }
+                }
+            }
+        }
+        return vmCount;
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value != null ? value : "NA").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Identifier too long for binary frame: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer b, byte[] bytes) {
+        b.putShort((short) bytes.length);
+        b.put(bytes);
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.BIG_ENDIAN);
+    }
+}
@@ -8,14 +8,10 @@ import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.dagsim.DagRuntimeManager;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,15 +19,34 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Remote RL Policy that delegates scheduling decisions to an external RL agent
  * via HTTP/JSON.
+ *
+ * In batch mode (rl_batch_mode) the orchestrator first announces all tasks that
+ * became ready at the same simulation time; they are decided with a single
+ * /act_batch call and decide() only returns the precomputed answer. Observations
+ * are then queued and posted to /observe_batch by a background thread.
+ *
+ * All requests share one keep-alive HTTP client (RLHttpTransport). With
+ * rl_payload_encoding=binary the state of /act and /act_batch is sent as an
+ * RLStateEncoder frame instead of JSON; the decision trace then carries the
+ * base64 frame, so observations reference exactly what the agent saw.
  */
-public class RemoteRLPolicy implements SchedulingPolicy {
+public class RemoteRLPolicy implements BatchSchedulingPolicy {
     private final String serviceUrl;
     private final String actUrl;
+    private final String actBatchUrl;
     private final Gson gson;
     private final int timeoutMs;
+    private final boolean binaryPayload;
+    // In training mode the service records or explores on every /act, so it must not be resent
+    private final boolean actIdempotent;
+    private final RLStateEncoder encoder = new RLStateEncoder();
+
+    // Decisions returned by /act_batch, keyed like TRACE_BY_TASK, not yet consumed by decide()
+    private final Map<String, DecisionTrace> prefetchedDecisions = new HashMap<>();
 
     private static final Gson STATIC_GSON = new Gson();
     private static final Map<String, DecisionTrace> TRACE_BY_TASK = new ConcurrentHashMap<>();
+    private static RLObservationBuffer observationBuffer;
 
     public static class DecisionTrace {
         public JsonObject state;
@@ -39,10 +54,17 @@ public class RemoteRLPolicy implements SchedulingPolicy {
     }
 
     public RemoteRLPolicy(String serviceUrl) {
+        this(serviceUrl, SimSettings.getInstance().isRlBinaryPayloadEnabled());
+    }
+
+    public RemoteRLPolicy(String serviceUrl, boolean binaryPayload) {
         this.serviceUrl = serviceUrl;
         this.actUrl = resolveEndpoint(serviceUrl, "/act");
+        this.actBatchUrl = resolveEndpoint(serviceUrl, "/act_batch");
         this.gson = new Gson();
         this.timeoutMs = SimSettings.getInstance().getRlHttpTimeoutMs();
+        this.binaryPayload = binaryPayload;
+        this.actIdempotent = !SimSettings.getInstance().getRlTrainingMode();
     }
 
     @Override
@@ -50,41 +72,29 @@ public class RemoteRLPolicy implements SchedulingPolicy {
         try {
             SimManager sm = SimManager.getInstance();
             if (sm != null && sm.isSimulationStopping()) {
+                // Prefetched decisions are never consumed from here on
+                prefetchedDecisions.clear();
                 return new EdgeFirstFeasiblePolicy().decide(task, state);
             }
-            DagRuntimeManager drm = DagRuntimeManager.getInstance();
-            double budget = SimSettings.getInstance().getRlBudgetCost();
-            double costSoFar = (drm != null && task.dagId != null) ? drm.getDagCostSoFar(task.dagId) : 0.0;
-            int activeDagCount = (drm != null) ? drm.getActiveDagsCount() : 0;
-
-            JsonObject stateJson = buildStateJson(task, state, costSoFar, budget, activeDagCount);
-            JsonObject payload = new JsonObject();
-            payload.add("state", stateJson);
-            payload.addProperty("trainingMode", SimSettings.getInstance().getRlTrainingMode());
-            payload.add("actionMask", buildActionMask(state));
-
-            String responseJson = postRequest(actUrl, gson.toJson(payload), timeoutMs);
-            JsonObject decisionObj = gson.fromJson(responseJson, JsonObject.class);
-            String tierName = decisionObj.get("tier").getAsString().toUpperCase();
-            int tier = "CLOUD".equals(tierName) ? PlacementDecision.TIER_CLOUD : PlacementDecision.TIER_EDGE;
-            int datacenterId = decisionObj.get("datacenterId").getAsInt();
-            int vmId = decisionObj.get("vmId").getAsInt();
-
             if (task.dagId != null && task.taskId != null) {
-                JsonObject actionObj = new JsonObject();
-                actionObj.addProperty("tier", tierName);
-                actionObj.addProperty("datacenterId", datacenterId);
-                actionObj.addProperty("vmId", vmId);
-                if (decisionObj.has("actionIndex")) {
-                    actionObj.add("actionIndex", decisionObj.get("actionIndex"));
+                DecisionTrace prefetched = prefetchedDecisions.remove(key(task.dagId, task.taskId));
+                if (prefetched != null) {
+                    return toPlacement(task, prefetched.state, prefetched.action);
                 }
-                DecisionTrace trace = new DecisionTrace();
-                trace.state = stateJson;
-                trace.action = actionObj;
-                TRACE_BY_TASK.put(key(task.dagId, task.taskId), trace);
             }
 
-            return new PlacementDecision(tier, datacenterId, vmId);
+            if (binaryPayload) {
+                encoder.reset();
+                appendFrame(task, state);
+                JsonObject stateJson = binaryState(encoder.copyFrame(0));
+                String responseJson = RLHttpTransport.post(actUrl, encoder.array(), 0, encoder.length(),
+                        RLHttpTransport.BINARY_CONTENT_TYPE, timeoutMs, actIdempotent);
+                return toPlacement(task, stateJson, gson.fromJson(responseJson, JsonObject.class));
+            }
+
+            JsonObject stateJson = buildStateJson(task, state);
+            String responseJson = postRequest(actUrl, gson.toJson(buildActPayload(stateJson, state)), timeoutMs, actIdempotent);
+            return toPlacement(task, stateJson, gson.fromJson(responseJson, JsonObject.class));
 
         } catch (Exception e) {
             System.err.println("RemoteRLPolicy failed: " + e.getMessage());
@@ -92,6 +102,117 @@ public class RemoteRLPolicy implements SchedulingPolicy {
         }
     }
 
+    /**
+     * Decides all given tasks with one /act_batch request. On failure nothing
+     * is cached and decide() falls back to one /act request per task.
+     */
+    @Override
+    public void prepareBatch(List<TaskContext> tasks, ClusterState state) {
+        SimManager sm = SimManager.getInstance();
+        if (tasks.isEmpty() || (sm != null && sm.isSimulationStopping())) {
+            return;
+        }
+        try {
+            List<JsonObject> states = new ArrayList<>(tasks.size());
+            String responseJson;
+            if (binaryPayload) {
+                encoder.beginBatch(tasks.size());
+                for (TaskContext task : tasks) {
+                    int offset = encoder.length();
+                    appendFrame(task, state);
+                    states.add(binaryState(encoder.copyFrame(offset)));
+                }
+                responseJson = RLHttpTransport.post(actBatchUrl, encoder.array(), 0, encoder.length(),
+                        RLHttpTransport.BINARY_CONTENT_TYPE, timeoutMs, actIdempotent);
+            } else {
+                JsonArray requests = new JsonArray();
+                for (TaskContext task : tasks) {
+                    JsonObject stateJson = buildStateJson(task, state);
+                    states.add(stateJson);
+                    requests.add(buildActPayload(stateJson, state));
+                }
+                JsonObject payload = new JsonObject();
+                payload.add("requests", requests);
+                responseJson = postRequest(actBatchUrl, gson.toJson(payload), timeoutMs, actIdempotent);
+            }
+            JsonArray decisions = gson.fromJson(responseJson, JsonObject.class).getAsJsonArray("decisions");
+            if (decisions == null || decisions.size() != tasks.size()) {
+                throw new IllegalStateException("expected " + tasks.size() + " decisions, got "
+                        + (decisions == null ? "none" : String.valueOf(decisions.size())));
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                TaskContext task = tasks.get(i);
+                if (task.dagId == null || task.taskId == null) {
+                    continue;
+                }
+                DecisionTrace prefetched = new DecisionTrace();
+                prefetched.state = states.get(i);
+                prefetched.action = decisions.get(i).getAsJsonObject();
+                prefetchedDecisions.put(key(task.dagId, task.taskId), prefetched);
+            }
+        } catch (Exception e) {
+            System.err.println("RemoteRLPolicy act_batch failed: " + e.getMessage());
+        }
+    }
+
+    private JsonObject buildStateJson(TaskContext task, ClusterState state) {
+        DagRuntimeManager drm = DagRuntimeManager.getInstance();
+        double budget = SimSettings.getInstance().getRlBudgetCost();
+        double costSoFar = (drm != null && task.dagId != null) ? drm.getDagCostSoFar(task.dagId) : 0.0;
+        int activeDagCount = (drm != null) ? drm.getActiveDagsCount() : 0;
+        return buildStateJson(task, state, costSoFar, budget, activeDagCount);
+    }
+
+    private void appendFrame(TaskContext task, ClusterState state) {
+        DagRuntimeManager drm = DagRuntimeManager.getInstance();
+        SimSettings ss = SimSettings.getInstance();
+        double costSoFar = (drm != null && task.dagId != null) ? drm.getDagCostSoFar(task.dagId) : 0.0;
+        int activeDagCount = (drm != null) ? drm.getActiveDagsCount() : 0;
+        encoder.appendFrame(task, state, costSoFar, ss.getRlBudgetCost(), activeDagCount, ss.getRlTrainingMode());
+    }
+
+    private static JsonObject binaryState(byte[] frame) {
+        JsonObject stateJson = new JsonObject();
+        stateJson.addProperty("encoding", "binary");
+        stateJson.addProperty("frame", Base64.getEncoder().encodeToString(frame));
+        return stateJson;
+    }
+
+    private static JsonObject buildActPayload(JsonObject stateJson, ClusterState state) {
+        JsonObject payload = new JsonObject();
+        payload.add("state", stateJson);
+        payload.addProperty("trainingMode", SimSettings.getInstance().getRlTrainingMode());
+        payload.add("actionMask", buildActionMask(state));
+        return payload;
+    }
+
+    /**
+     * Converts an agent answer into a placement and records the decision trace
+     * used for the observation of the task.
+     */
+    private static PlacementDecision toPlacement(TaskContext task, JsonObject stateJson, JsonObject decisionObj) {
+        String tierName = decisionObj.get("tier").getAsString().toUpperCase();
+        int tier = "CLOUD".equals(tierName) ? PlacementDecision.TIER_CLOUD : PlacementDecision.TIER_EDGE;
+        int datacenterId = decisionObj.get("datacenterId").getAsInt();
+        int vmId = decisionObj.get("vmId").getAsInt();
+
+        if (task.dagId != null && task.taskId != null) {
+            JsonObject actionObj = new JsonObject();
+            actionObj.addProperty("tier", tierName);
+            actionObj.addProperty("datacenterId", datacenterId);
+            actionObj.addProperty("vmId", vmId);
+            if (decisionObj.has("actionIndex")) {
+                actionObj.add("actionIndex", decisionObj.get("actionIndex"));
+            }
+            DecisionTrace trace = new DecisionTrace();
+            trace.state = stateJson;
+            trace.action = actionObj;
+            TRACE_BY_TASK.put(key(task.dagId, task.taskId), trace);
+        }
+
+        return new PlacementDecision(tier, datacenterId, vmId);
+    }
+
     @Override
     public String getPolicyName() {
         return "RemoteRLPolicy";
@@ -120,21 +241,8 @@ public class RemoteRLPolicy implements SchedulingPolicy {
             return;
         }
         try {
-            JsonObject payload = new JsonObject();
-            payload.add("state", trace.state);
-            payload.add("action", trace.action);
-            payload.addProperty("reward", reward);
-            payload.add("next_state", nextState);
-            payload.addProperty("done", done);
-
-            JsonObject info = new JsonObject();
-            info.addProperty("actualLatency", actualLatency);
-            info.addProperty("actualCost", actualCost);
-            info.addProperty("costSoFar", costSoFar);
-            info.addProperty("budget", budget);
-            info.addProperty("budgetViolated", budgetViolated);
-            payload.add("info", info);
-
+            JsonObject payload = buildObservation(trace, nextState, reward, done,
+                    actualLatency, actualCost, costSoFar, budget, budgetViolated);
             String observeUrl = resolveEndpoint(serviceUrl, "/observe");
             postRequest(observeUrl, STATIC_GSON.toJson(payload), timeoutMs);
         } catch (Exception e) {
@@ -142,6 +250,86 @@ public class RemoteRLPolicy implements SchedulingPolicy {
         }
     }
 
+    /**
+     * Starts the background flusher used by queueObservation(). Observations
+     * are posted to /observe_batch in batches of up to batchSize; at most
+     * capacity observations wait in memory before the caller blocks.
+     */
+    public static synchronized void startObservationBuffer(String serviceUrl, int timeoutMs, int capacity,
+            int batchSize) {
+        if (observationBuffer == null) {
+            observationBuffer = new RLObservationBuffer(resolveEndpoint(serviceUrl, "/observe_batch"),
+                    timeoutMs, capacity, batchSize);
+        }
+    }
+
+    /**
+     * Same as postObservation() but returns immediately; the observation is
+     * posted later by the background flusher, in submission order.
+     */
+    public static void queueObservation(
+            String serviceUrl,
+            int timeoutMs,
+            DecisionTrace trace,
+            JsonObject nextState,
+            double reward,
+            boolean done,
+            double actualLatency,
+            double actualCost,
+            double costSoFar,
+            double budget,
+            boolean budgetViolated) {
+        if (trace == null || trace.state == null || trace.action == null) {
+            return;
+        }
+        SimSettings ss = SimSettings.getInstance();
+        startObservationBuffer(serviceUrl, timeoutMs, ss.getRlObserveQueueCapacity(), ss.getRlObserveBatchSize());
+        observationBuffer.add(buildObservation(trace, nextState, reward, done,
+                actualLatency, actualCost, costSoFar, budget, budgetViolated));
+    }
+
+    /**
+     * Posts all queued observations and stops the background flusher.
+     * Blocks until the RL service has received them (or the requests failed).
+     */
+    public static synchronized void flushObservations() {
+        if (observationBuffer != null) {
+            observationBuffer.close();
+            if (observationBuffer.getDroppedCount() > 0) {
+                System.err.println("RemoteRLPolicy: " + observationBuffer.getDroppedCount()
+                        + " observations could not be delivered");
+            }
+            observationBuffer = null;
+        }
+    }
+
+    private static JsonObject buildObservation(
+            DecisionTrace trace,
+            JsonObject nextState,
+            double reward,
+            boolean done,
+            double actualLatency,
+            double actualCost,
+            double costSoFar,
+            double budget,
+            boolean budgetViolated) {
+        JsonObject payload = new JsonObject();
+        payload.add("state", trace.state);
+        payload.add("action", trace.action);
+        payload.addProperty("reward", reward);
+        payload.add("next_state", nextState);
+        payload.addProperty("done", done);
+
+        JsonObject info = new JsonObject();
+        info.addProperty("actualLatency", actualLatency);
+        info.addProperty("actualCost", actualCost);
+        info.addProperty("costSoFar", costSoFar);
+        info.addProperty("budget", budget);
+        info.addProperty("budgetViolated", budgetViolated);
+        payload.add("info", info);
+        return payload;
+    }
+
     public static JsonObject buildStateJson(
             TaskContext task,
             ClusterState state,
@@ -320,7 +508,8 @@ public class RemoteRLPolicy implements SchedulingPolicy {
         if (url.endsWith(endpointPath)) {
             return url;
         }
-        if (url.endsWith("/act") || url.endsWith("/observe")) {
+        if (url.endsWith("/act") || url.endsWith("/observe")
+                || url.endsWith("/act_batch") || url.endsWith("/observe_batch")) {
             int idx = url.lastIndexOf('/');
             url = url.substring(0, idx);
         }
@@ -334,38 +523,16 @@ public class RemoteRLPolicy implements SchedulingPolicy {
         return dagId + "::" + taskId;
     }
 
-    private static String postRequest(String urlString, String jsonInputString, int timeoutMs) throws Exception {
-        URL url = new URL(urlString);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json; utf-8");
-        conn.setRequestProperty("Accept", "application/json");
-        conn.setDoOutput(true);
-        conn.setConnectTimeout(timeoutMs);
-        conn.setReadTimeout(timeoutMs);
-
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = jsonInputString.getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-        }
+    static String postRequest(String urlString, String jsonInputString, int timeoutMs) throws Exception {
+        return postRequest(urlString, jsonInputString, timeoutMs, false);
+    }
 
-        int status = conn.getResponseCode();
-        BufferedReader br;
-        if (status >= 200 && status < 300) {
-            br = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8));
-        } else {
-            br = new BufferedReader(new InputStreamReader(conn.getErrorStream(), StandardCharsets.UTF_8));
-        }
-        try (br) {
-            StringBuilder response = new StringBuilder();
-            String responseLine;
-            while ((responseLine = br.readLine()) != null) {
-                response.append(responseLine.trim());
-            }
-            if (status < 200 || status >= 300) {
-                throw new RuntimeException("HTTP " + status + " from " + urlString + ": " + response);
-            }
-            return response.toString();
-        }
+    /**
+     * @param idempotent true for requests without side effects on the service,
+     *                   which are resent once after a connection failure
+     */
+    static String postRequest(String urlString, String jsonInputString, int timeoutMs, boolean idempotent)
+            throws Exception {
+        return RLHttpTransport.postJson(urlString, jsonInputString, timeoutMs, idempotent);
     }
 }
@@ -0,0 +1,366 @@
+package edu.boun.edgecloudsim.dagsim.scheduling;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Index over the VMs of a ClusterState for sub-linear best-VM selection.
+ *
+ * VMs are numbered in the same [tier][dc][vm] order the brute-force policies
+ * scan them, and every query breaks ties on that order, so the selected VM is
+ * always the one the full scan would have returned:
+ * - earliest finish time: per-tier segment tree holding min queue wait, max MIPS
+ *   and max free memory/GPU memory; subtrees whose lower bound cannot beat the
+ *   current best or which cannot fit the task are pruned.
+ * - best fit: VMs sorted by (free memory, free GPU memory, position); only
+ *   distinct free-memory values whose slack can still beat the current best are
+ *   visited.
+ *
+ * The index copies the VMInfo fields it sorts on, so after changing a VMInfo
+ * the owner must call ClusterState.vmInfoUpdated(info) to resync it.
+ */
+public class VmSelectionIndex {
+
+    private final ClusterState.VMInfo[][][] source;
+    private final Map<ClusterState.VMInfo, Integer> positionOf = new IdentityHashMap<>();
+
+    // Per position: VM and its location in the [tier][dc][vm] array
+    private final ClusterState.VMInfo[] infos;
+    private final int[] tierOf;
+    private final int[] dcOf;
+    private final int[] vmIdxOf;
+
+    // Per-tier segment trees for earliest-finish queries
+    private final int[] tierOffset;
+    private final int[] tierLeaves; // power of two leaf count per tier
+    private final double[][] minQueueMs;
+    private final double[][] maxMips;
+    private final double[][] maxFreeMem;
+    private final double[][] maxFreeGpu;
+    private final boolean[][] unbounded; // subtree holds a VM whose MIPS gives no finish-time bound
+
+    // Best-fit order; the last slot of the key arrays is reserved for probes
+    private final double[] keyMem;
+    private final double[] keyGpu;
+    private final int probe;
+    private boolean probeAfterEqualKeys;
+    private final TreeSet<Integer> byFreeMemory;
+
+    VmSelectionIndex(ClusterState.VMInfo[][][] vms) {
+        source = vms;
+        int numTiers = (vms != null) ? vms.length : 0;
+
+        int total = 0;
+        tierOffset = new int[numTiers + 1];
+        for (int tier = 0; tier < numTiers; tier++) {
+            tierOffset[tier] = total;
+            if (vms[tier] != null) {
+                for (ClusterState.VMInfo[] dcVms : vms[tier]) {
+                    total += (dcVms != null) ? dcVms.length : 0;
+                }
+            }
+        }
+        tierOffset[numTiers] = total;
+
+        infos = new ClusterState.VMInfo[total];
+        tierOf = new int[total];
+        dcOf = new int[total];
+        vmIdxOf = new int[total];
+        keyMem = new double[total + 1];
+        keyGpu = new double[total + 1];
+        probe = total;
+        byFreeMemory = new TreeSet<>(this::compareByFreeMemory);
+
+        int pos = 0;
+        for (int tier = 0; tier < numTiers; tier++) {
+            if (vms[tier] == null) continue;
+            for (int dc = 0; dc < vms[tier].length; dc++) {
+                if (vms[tier][dc] == null) continue;
+                for (int vm = 0; vm < vms[tier][dc].length; vm++) {
+                    infos[pos] = vms[tier][dc][vm];
+                    tierOf[pos] = tier;
+                    dcOf[pos] = dc;
+                    vmIdxOf[pos] = vm;
+                    if (infos[pos] != null) {
+                        positionOf.put(infos[pos], pos);
+                    }
+                    pos++;
+                }
+            }
+        }
+
+        tierLeaves = new int[numTiers];
+        minQueueMs = new double[numTiers][];
+        maxMips = new double[numTiers][];
+        maxFreeMem = new double[numTiers][];
+        maxFreeGpu = new double[numTiers][];
+        unbounded = new boolean[numTiers][];
+        for (int tier = 0; tier < numTiers; tier++) {
+            int count = tierOffset[tier + 1] - tierOffset[tier];
+            int leaves = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+            tierLeaves[tier] = leaves;
+            minQueueMs[tier] = new double[2 * leaves];
+            maxMips[tier] = new double[2 * leaves];
+            maxFreeMem[tier] = new double[2 * leaves];
+            maxFreeGpu[tier] = new double[2 * leaves];
+            unbounded[tier] = new boolean[2 * leaves];
+            for (int leaf = 0; leaf < leaves; leaf++) {
+                setLeaf(tier, leaf, (leaf < count) ? infos[tierOffset[tier] + leaf] : null);
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                pull(tier, node);
+            }
+        }
+
+        for (int p = 0; p < total; p++) {
+            if (infos[p] != null) {
+                keyMem[p] = infos[p].freeMemoryMb;
+                keyGpu[p] = infos[p].freeGpuMemoryMb;
+                byFreeMemory.add(p);
+            }
+        }
+    }
+
+    boolean isBuiltFrom(ClusterState.VMInfo[][][] vms) {
+        return source == vms;
+    }
+
+    /**
+     * Resyncs the index after the fields of a VM changed. O(log n).
+     */
+    void update(ClusterState.VMInfo info) {
+        Integer boxed = positionOf.get(info);
+        if (boxed == null) {
+            return;
+        }
+        int pos = boxed;
+        int tier = tierOf[pos];
+        int node = tierLeaves[tier] + (pos - tierOffset[tier]);
+        setLeaf(tier, node - tierLeaves[tier], info);
+        for (node >>= 1; node >= 1; node >>= 1) {
+            pull(tier, node);
+        }
+
+        byFreeMemory.remove(boxed);
+        keyMem[pos] = info.freeMemoryMb;
+        keyGpu[pos] = info.freeGpuMemoryMb;
+        byFreeMemory.add(boxed);
+    }
+
+    /**
+     * Selects the feasible VM minimizing
+     * currentTimeMs + totalQueueWaitTimeMs + (lengthMI / mips) * 1000 + tierDelayMs[tier],
+     * first in scan order on ties. Fills destination and estimates of the decision.
+     *
+     * @return false if no VM can fit the task (decision left untouched)
+     */
+    public boolean selectEarliestFinish(TaskContext task, double currentTimeMs, double[] tierDelayMs,
+            PlacementDecision decision) {
+        if (!(task.lengthMI >= 0)) {
+            return selectEarliestFinishByScan(task, currentTimeMs, tierDelayMs, decision);
+        }
+        EftSearch search = new EftSearch(task, currentTimeMs);
+        for (int tier = 0; tier < tierLeaves.length; tier++) {
+            if (tierOffset[tier + 1] == tierOffset[tier]) continue;
+            search.netDelayMs = tierDelayMs[tier];
+            search.tier = tier;
+            searchEarliestFinish(search, 1, 0, tierLeaves[tier]);
+        }
+        if (search.bestPos < 0) {
+            return false;
+        }
+        fill(decision, search.bestPos);
+        decision.estimatedFinishTimeMs = search.bestFinishTime;
+        decision.estimatedNetworkDelayMs = tierDelayMs[tierOf[search.bestPos]];
+        return true;
+    }
+
+    /**
+     * Selects the feasible VM with the smallest free memory plus free GPU
+     * memory slack, first in scan order on ties.
+     *
+     * @return false if no VM can fit the task (decision left untouched)
+     */
+    public boolean selectBestFit(TaskContext task, PlacementDecision decision) {
+        double reqMem = task.cpuMemoryMb;
+        double reqGpu = task.gpuMemoryMb;
+        int bestPos = -1;
+        double bestScore = Double.MAX_VALUE;
+
+        // -0.0 sorts below 0.0 but still fits a zero requirement
+        Integer group = ceiling(reqMem == 0.0 ? -0.0 : reqMem, Double.NEGATIVE_INFINITY);
+        while (group != null) {
+            double mem = keyMem[group];
+            double memSlack = Math.max(0.0, mem - reqMem);
+            if (memSlack > bestScore) {
+                break; // GPU slack is never negative, later groups cannot win
+            }
+            // Within a free-memory group the score grows with free GPU memory, and
+            // VMs with identical keys are ordered by position so only the first counts
+            Integer cur = ceiling(mem, reqGpu == 0.0 ? -0.0 : reqGpu);
+            double groupScore = Double.NaN;
+            while (cur != null && Double.compare(keyMem[cur], mem) == 0) {
+                ClusterState.VMInfo vmInfo = infos[cur];
+                if (vmInfo.canFitTask(reqMem, reqGpu)) {
+                    double gpuSlack = Math.max(0.0, vmInfo.freeGpuMemoryMb - reqGpu);
+                    double score = memSlack + gpuSlack;
+                    if (score > groupScore) {
+                        break;
+                    }
+                    groupScore = score;
+                    if (score < bestScore || (score == bestScore && cur < bestPos)) {
+                        bestScore = score;
+                        bestPos = cur;
+                    }
+                }
+                cur = higher(mem, keyGpu[cur]);
+            }
+            group = higher(mem, Double.NaN); // NaN sorts last: first VM of the next group
+        }
+
+        if (bestPos < 0) {
+            return false;
+        }
+        fill(decision, bestPos);
+        return true;
+    }
+
+    private static final class EftSearch {
+        final double lengthMI;
+        final double reqMem;
+        final double reqGpu;
+        final double currentTimeMs;
+        double netDelayMs;
+        int tier;
+        int bestPos = -1;
+        double bestFinishTime = Double.MAX_VALUE;
+
+        EftSearch(TaskContext task, double currentTimeMs) {
+            this.lengthMI = task.lengthMI;
+            this.reqMem = task.cpuMemoryMb;
+            this.reqGpu = task.gpuMemoryMb;
+            this.currentTimeMs = currentTimeMs;
+        }
+    }
+
+    private void searchEarliestFinish(EftSearch s, int node, int lo, int width) {
+        int tier = s.tier;
+        if (maxFreeMem[tier][node] < s.reqMem || maxFreeGpu[tier][node] < s.reqGpu) {
+            return;
+        }
+        double execBound = (s.lengthMI / maxMips[tier][node]) * 1000.0;
+        double bound = s.currentTimeMs + minQueueMs[tier][node] + execBound + s.netDelayMs;
+        if (!unbounded[tier][node] && bound >= s.bestFinishTime) {
+            return; // later positions lose ties
+        }
+        if (width == 1) {
+            int pos = tierOffset[tier] + lo;
+            ClusterState.VMInfo vmInfo = infos[pos];
+            if (vmInfo == null || !vmInfo.canFitTask(s.reqMem, s.reqGpu)) {
+                return;
+            }
+            double execTime = (s.lengthMI / vmInfo.mips) * 1000.0;
+            double finishTime = s.currentTimeMs + vmInfo.totalQueueWaitTimeMs + execTime + s.netDelayMs;
+            if (finishTime < s.bestFinishTime) {
+                s.bestFinishTime = finishTime;
+                s.bestPos = pos;
+            }
+            return;
+        }
+        int half = width >> 1;
+        searchEarliestFinish(s, 2 * node, lo, half);
+        searchEarliestFinish(s, 2 * node + 1, lo + half, half);
+    }
+
+    private boolean selectEarliestFinishByScan(TaskContext task, double currentTimeMs, double[] tierDelayMs,
+            PlacementDecision decision) {
+        int bestPos = -1;
+        double bestFinishTime = Double.MAX_VALUE;
+        for (int pos = 0; pos < infos.length; pos++) {
+            ClusterState.VMInfo vmInfo = infos[pos];
+            if (vmInfo == null || !vmInfo.canFitTask(task.cpuMemoryMb, task.gpuMemoryMb)) continue;
+            double execTime = (task.lengthMI / vmInfo.mips) * 1000.0;
+            double finishTime = currentTimeMs + vmInfo.totalQueueWaitTimeMs + execTime + tierDelayMs[tierOf[pos]];
+            if (finishTime < bestFinishTime) {
+                bestFinishTime = finishTime;
+                bestPos = pos;
+            }
+        }
+        if (bestPos < 0) {
+            return false;
+        }
+        fill(decision, bestPos);
+        decision.estimatedFinishTimeMs = bestFinishTime;
+        decision.estimatedNetworkDelayMs = tierDelayMs[tierOf[bestPos]];
+        return true;
+    }
+
+    private void setLeaf(int tier, int leaf, ClusterState.VMInfo info) {
+        int node = tierLeaves[tier] + leaf;
+        if (info == null) {
+            minQueueMs[tier][node] = Double.POSITIVE_INFINITY;
+            maxMips[tier][node] = Double.NEGATIVE_INFINITY;
+            maxFreeMem[tier][node] = Double.NEGATIVE_INFINITY;
+            maxFreeGpu[tier][node] = Double.NEGATIVE_INFINITY;
+            unbounded[tier][node] = false;
+        } else {
+            // NaN fields and non-positive MIPS must never cause a subtree to be pruned
+            minQueueMs[tier][node] = Double.isNaN(info.totalQueueWaitTimeMs)
+                    ? Double.NEGATIVE_INFINITY : info.totalQueueWaitTimeMs;
+            maxMips[tier][node] = (info.mips > 0) ? info.mips : Double.NEGATIVE_INFINITY;
+            unbounded[tier][node] = !(info.mips > 0);
+            maxFreeMem[tier][node] = Double.isNaN(info.freeMemoryMb)
+                    ? Double.NEGATIVE_INFINITY : info.freeMemoryMb;
+            maxFreeGpu[tier][node] = Double.isNaN(info.freeGpuMemoryMb)
+                    ? Double.NEGATIVE_INFINITY : info.freeGpuMemoryMb;
+        }
+    }
+
+    private void pull(int tier, int node) {
+        int l = 2 * node;
+        int r = l + 1;
+        minQueueMs[tier][node] = Math.min(minQueueMs[tier][l], minQueueMs[tier][r]);
+        maxMips[tier][node] = Math.max(maxMips[tier][l], maxMips[tier][r]);
+        maxFreeMem[tier][node] = Math.max(maxFreeMem[tier][l], maxFreeMem[tier][r]);
+        maxFreeGpu[tier][node] = Math.max(maxFreeGpu[tier][l], maxFreeGpu[tier][r]);
+        unbounded[tier][node] = unbounded[tier][l] || unbounded[tier][r];
+    }
+
+    // First VM with keys >= (mem, gpu)
+    private Integer ceiling(double mem, double gpu) {
+        keyMem[probe] = mem;
+        keyGpu[probe] = gpu;
+        probeAfterEqualKeys = false;
+        return byFreeMemory.ceiling(probe);
+    }
+
+    // First VM with keys > (mem, gpu)
+    private Integer higher(double mem, double gpu) {
+        keyMem[probe] = mem;
+        keyGpu[probe] = gpu;
+        probeAfterEqualKeys = true;
+        return byFreeMemory.higher(probe);
+    }
+
+    private int compareByFreeMemory(Integer a, Integer b) {
+        int c = Double.compare(keyMem[a], keyMem[b]);
+        if (c != 0) return c;
+        c = Double.compare(keyGpu[a], keyGpu[b]);
+        if (c != 0) return c;
+        return Integer.compare(rank(a), rank(b));
+    }
+
+    private int rank(int pos) {
+        if (pos != probe) {
+            return pos;
+        }
+        return probeAfterEqualKeys ? Integer.MAX_VALUE : -1;
+    }
+
+    private void fill(PlacementDecision decision, int pos) {
+        decision.destTier = tierOf[pos];
+        decision.destDatacenterId = dcOf[pos];
+        decision.destVmId = vmIdxOf[pos];
+    }
+}
@@ -96,6 +96,7 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 
 		// Log task execution completion
 		SimLogger.getInstance().taskExecuted(task.getCloudletId());
+		SimManager.getInstance().getEdgeOrchestrator().taskReturnedFromVm(task);
 
 		if (SimSettings.getInstance().isCloudDatacenterId(task.getAssociatedDatacenterId())) {
 			// Task completed on cloud - calculate WAN download delay for result delivery
@@ -111,10 +112,12 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 					schedule(getId(), WanDelay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);
 				} else {
 					SimLogger.getInstance().failedDueToMobility(task.getCloudletId(), CloudSim.clock());
+					taskFailed(task);
 				}
 			} else {
 				SimLogger.getInstance().failedDueToBandwidth(task.getCloudletId(), CloudSim.clock(),
 						NETWORK_DELAY_TYPES.WAN_DELAY);
+				taskFailed(task);
 			}
 		} else {
 			// Task completed on edge server - calculate WLAN download delay for result
@@ -131,10 +134,12 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 					schedule(getId(), WlanDelay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);
 				} else {
 					SimLogger.getInstance().failedDueToMobility(task.getCloudletId(), CloudSim.clock());
+					taskFailed(task);
 				}
 			} else {
 				SimLogger.getInstance().failedDueToBandwidth(task.getCloudletId(), CloudSim.clock(),
 						NETWORK_DELAY_TYPES.WLAN_DELAY);
+				taskFailed(task);
 			}
 		}
 	}
@@ -252,6 +257,7 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 
 				// Log task completion (this aggregates all metrics including cost and QoE)
 				SimLogger.getInstance().taskEnded(task.getCloudletId(), CloudSim.clock());
+				releaseTask(task);
 
 				// Notify DAG runtime manager (if present) that this cloudlet finished
 				if (DagRuntimeManager.getInstance() != null) {
@@ -328,6 +334,7 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 						CloudSim.clock(),
 						SimSettings.VM_TYPES.CLOUD_VM.ordinal(),
 						NETWORK_DELAY_TYPES.WAN_DELAY);
+				notifyDagTaskFailed(task);
 			}
 		} else if (nextHopId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
 			// Task assigned to edge server - calculate WLAN upload delay
@@ -346,6 +353,7 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 						CloudSim.clock(),
 						SimSettings.VM_TYPES.EDGE_VM.ordinal(),
 						NETWORK_DELAY_TYPES.WLAN_DELAY);
+				notifyDagTaskFailed(task);
 			}
 		} else {
 			// Unknown orchestrator decision - terminate simulation
@@ -391,6 +399,7 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 			// SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() +
 			// " is submitted to VM#" + task.getVmId());
 			schedule(getVmsToDatacentersMap().get(task.getVmId()), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
+			SimManager.getInstance().getEdgeOrchestrator().taskSubmittedToVm(task);
 
 			SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 					selectedVM.getHost().getDatacenter().getId(),
@@ -401,6 +410,31 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 			// SimLogger.printLine("Task #" + task.getCloudletId() + " cannot assign to any
 			// VM");
 			SimLogger.getInstance().rejectedDueToVMCapacity(task.getCloudletId(), CloudSim.clock(), vmType);
+			notifyDagTaskFailed(task);
+		}
+	}
+
+	/**
+	 * Releases a task that was executed but whose result could not be
+	 * delivered (mobility or download bandwidth failure).
+	 * 
+	 * @param task The failed task
+	 */
+	private void taskFailed(Task task) {
+		releaseTask(task);
+		notifyDagTaskFailed(task);
+	}
+
+	/**
+	 * Notifies the DAG runtime manager (if present) that a task will never
+	 * complete. Rejected tasks were never added to the cloudlet list, so this
+	 * is the only bookkeeping they hold.
+	 * 
+	 * @param task The rejected or failed task
+	 */
+	private void notifyDagTaskFailed(Task task) {
+		if (DagRuntimeManager.getInstance() != null) {
+			DagRuntimeManager.getInstance().onTaskCloudletFailed(task);
 		}
 	}
 
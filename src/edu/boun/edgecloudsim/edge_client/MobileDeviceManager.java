@@ -40,4 +40,14 @@ public abstract class MobileDeviceManager  extends DatacenterBroker {
 	 * @param edgeTask The task properties and requirements to be processed
 	 */
 	public abstract void submitTask(TaskProperty edgeTask);
+	
+	/**
+	 * Removes a task that has completed or failed from the broker's cloudlet list.
+	 * Subclasses call this once the task can no longer return, so the list
+	 * only holds tasks in flight instead of every task ever submitted.
+	 * @param task The completed or failed task
+	 */
+	protected void releaseTask(Task task) {
+		getCloudletList().remove(task);
+	}
 }
@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.UtilizationModel;
 import org.cloudbus.cloudsim.core.CloudSim;
 
+import edu.boun.edgecloudsim.dagsim.scheduling.PlacementDecision;
 import edu.boun.edgecloudsim.utils.Location;
 
 /**
@@ -34,6 +35,7 @@ public class Task extends Cloudlet {
 	private int datacenterId;
 	private String dagId;
 	private String dagTaskId;
+	private PlacementDecision placementDecision;
 
 	/**
 	 * Constructor for Task with specified parameters.
@@ -185,4 +187,23 @@ public class Task extends Cloudlet {
 	public void setDagTaskId(String _dagTaskId) {
 		dagTaskId = _dagTaskId;
 	}
+
+	/**
+	 * Gets the scheduling policy decision memoized for this task.
+	 * 
+	 * @return Placement decision, or null if no decision was taken yet
+	 */
+	public PlacementDecision getPlacementDecision() {
+		return placementDecision;
+	}
+
+	/**
+	 * Memoizes the scheduling policy decision so that the device and VM
+	 * selection steps of the orchestrator agree on the same placement.
+	 * 
+	 * @param _placementDecision Decision returned by the scheduling policy
+	 */
+	public void setPlacementDecision(PlacementDecision _placementDecision) {
+		placementDecision = _placementDecision;
+	}
 }
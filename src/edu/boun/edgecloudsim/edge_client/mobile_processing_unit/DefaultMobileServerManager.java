@@ -20,6 +20,8 @@ import java.util.List;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
+
 /**
  * Default implementation of MobileServerManager that disables local computation.
  * This implementation assumes mobile devices only generate tasks and offload them
@@ -31,7 +33,8 @@ public class DefaultMobileServerManager extends MobileServerManager{
 	 * Constructor for default mobile server manager.
 	 */
 	public DefaultMobileServerManager() {
-
+		// No mobile VMs, so the utilization stays 0
+		utilizationIntegral = new UtilizationIntegral(null);
 	}
 
 	/**
@@ -28,6 +28,8 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
+
 /**
  * Abstract base class for managing mobile device processing units in EdgeCloudSim.
  * Handles mobile datacenters that simulate local processing capabilities on mobile devices.
@@ -36,6 +38,7 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 public abstract class MobileServerManager {
 	protected Datacenter localDatacenter;
 	protected List<List<MobileVM>> vmList;
+	protected UtilizationIntegral utilizationIntegral; // CPU utilization of all mobile VMs, null if not tracked
 
 	/**
 	 * Constructor initializes the VM list structure for mobile servers.
@@ -65,6 +68,16 @@ public abstract class MobileServerManager {
 	public Datacenter getDatacenter(){
 		return localDatacenter;
 	}
+
+	/**
+	 * Gets the time-integral of the CPU utilization of all mobile VMs.
+	 * @return utilization integral of the mobile tier, or null if the VMs do not
+	 *         report their utilization changes (SimManager then samples
+	 *         getAvgUtilization() periodically)
+	 */
+	public UtilizationIntegral getUtilizationIntegral(){
+		return utilizationIntegral;
+	}
 	
 	/**
 	 * Initializes the mobile server manager with required configurations.
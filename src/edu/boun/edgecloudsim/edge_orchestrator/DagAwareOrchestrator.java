@@ -7,8 +7,10 @@ import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.dagsim.scheduling.*;
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
+import edu.boun.edgecloudsim.utils.TaskProperty;
 import org.cloudbus.cloudsim.core.CloudSim;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,6 +20,7 @@ import java.util.List;
  */
 public class DagAwareOrchestrator extends EdgeOrchestrator {
     private final SchedulingPolicy schedulingPolicy;
+    private LiveClusterState liveClusterState;
 
     public DagAwareOrchestrator(String policyName, String simScenario, SchedulingPolicy schedulingPolicy) {
         super(policyName, simScenario);
@@ -75,23 +78,67 @@ public class DagAwareOrchestrator extends EdgeOrchestrator {
         return null;
     }
 
+    /**
+     * Returns the placement decision of a task, invoking the scheduling policy
+     * only once per cloudlet. getDeviceToOffload and getVmToOffload both go
+     * through here, so the tier and the VM always come from the same decision.
+     */
     private PlacementDecision getPolicyDecision(Task task) {
-        // Convert Task to TaskContext
+        PlacementDecision decision = task.getPlacementDecision();
+        if (decision == null) {
+            decision = computePolicyDecision(task);
+            task.setPlacementDecision(decision);
+        }
+        return decision;
+    }
+
+    private PlacementDecision computePolicyDecision(Task task) {
+        String taskId = (task.getDagTaskId() != null) ? task.getDagTaskId() : String.valueOf(task.getCloudletId());
+        TaskContext context = buildTaskContext(task.getDagId(), taskId, task.getTaskType(),
+                task.getCloudletLength(), task.getSubmissionTime());
+
+        // Read the incrementally maintained cluster state
+        ClusterState state = getClusterState();
+
+        return schedulingPolicy.decide(context, state);
+    }
+
+    /**
+     * Announces tasks which are about to be submitted at the current simulation
+     * time, letting a BatchSchedulingPolicy decide them together. Their
+     * decisions are still requested one by one via getDeviceToOffload().
+     *
+     * @param tasks Tasks that will be submitted next, in submission order
+     */
+    public void prepareDecisions(List<TaskProperty> tasks) {
+        if (!(schedulingPolicy instanceof BatchSchedulingPolicy) || tasks.isEmpty()) {
+            return;
+        }
+        List<TaskContext> contexts = new ArrayList<>(tasks.size());
+        for (TaskProperty tp : tasks) {
+            contexts.add(buildTaskContext(tp.getDagId(), tp.getDagTaskId(), tp.getTaskType(),
+                    tp.getLength(), tp.getStartTime()));
+        }
+        ((BatchSchedulingPolicy) schedulingPolicy).prepareBatch(contexts, getClusterState());
+    }
+
+    public boolean supportsBatchDecisions() {
+        return schedulingPolicy instanceof BatchSchedulingPolicy;
+    }
+
+    private static TaskContext buildTaskContext(String dagId, String taskId, int taskType, double lengthMI,
+            double readyTimeSec) {
         TaskContext context = new TaskContext();
-        context.taskId = (task.getDagTaskId() != null) ? task.getDagTaskId() : String.valueOf(task.getCloudletId());
-        context.dagId = task.getDagId();
-        context.taskType = SimSettings.getInstance().getTaskName(task.getTaskType());
-        context.lengthMI = task.getCloudletLength();
+        context.taskId = taskId;
+        context.dagId = dagId;
+        context.taskType = SimSettings.getInstance().getTaskName(taskType);
+        context.lengthMI = lengthMI;
         context.cpuMemoryMb = SimSettings.getInstance().getRamForMobileVM(); // Approximation
         context.gpuMemoryMb = 0; // Default
         context.gpuUtilizationPercent = 0;
-        context.readyTimeMs = task.getSubmissionTime() * 1000.0;
+        context.readyTimeMs = readyTimeSec * 1000.0;
         context.currentTimeMs = CloudSim.clock() * 1000.0;
-
-        // Build Cluster State snippet
-        ClusterState state = buildClusterStateSnapshot();
-
-        return schedulingPolicy.decide(context, state);
+        return context;
     }
 
     public static ClusterState buildClusterStateSnapshot() {
@@ -110,14 +157,9 @@ public class DagAwareOrchestrator extends EdgeOrchestrator {
                 EdgeVM evm = edgeVms.get(vmIdx);
                 state.vms[PlacementDecision.TIER_EDGE][dc][vmIdx] = new ClusterState.VMInfo(
                         evm.getId(), dc, PlacementDecision.TIER_EDGE, evm.getMips());
-                ClusterState.VMInfo info = state.vms[PlacementDecision.TIER_EDGE][dc][vmIdx];
-                info.queuedTaskCount = evm.getCloudletScheduler().getCloudletExecList().size();
-                double util = evm.getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-                util = Math.max(0.0, Math.min(1.0, util));
-                double ramMb = evm.getRam();
-                info.freeMemoryMb = Math.max(0.0, ramMb * (1.0 - util));
-                // Approximate GPU memory capacity using RAM until GPU model is explicit.
-                info.freeGpuMemoryMb = Math.max(0.0, ramMb * (1.0 - util));
+                applyLoad(state.vms[PlacementDecision.TIER_EDGE][dc][vmIdx], evm.getRam(),
+                        evm.getCloudletScheduler().getCloudletExecList().size(),
+                        evm.getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock()));
             }
         }
 
@@ -133,19 +175,62 @@ public class DagAwareOrchestrator extends EdgeOrchestrator {
                 CloudVM cvm = cloudVms.get(vmIdx);
                 state.vms[PlacementDecision.TIER_CLOUD][dc][vmIdx] = new ClusterState.VMInfo(
                         cvm.getId(), dc, PlacementDecision.TIER_CLOUD, cvm.getMips());
-                ClusterState.VMInfo info = state.vms[PlacementDecision.TIER_CLOUD][dc][vmIdx];
-                info.queuedTaskCount = cvm.getCloudletScheduler().getCloudletExecList().size();
-                double util = cvm.getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
-                util = Math.max(0.0, Math.min(1.0, util));
-                double ramMb = cvm.getRam();
-                info.freeMemoryMb = Math.max(0.0, ramMb * (1.0 - util));
-                info.freeGpuMemoryMb = Math.max(0.0, ramMb * (1.0 - util));
+                applyLoad(state.vms[PlacementDecision.TIER_CLOUD][dc][vmIdx], cvm.getRam(),
+                        cvm.getCloudletScheduler().getCloudletExecList().size(),
+                        cvm.getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock()));
             }
         }
 
         return state;
     }
 
+    /**
+     * Derives the load dependent VMInfo fields from the running cloudlet count
+     * and the summed CPU utilization of a VM.
+     */
+    static void applyLoad(ClusterState.VMInfo info, double ramMb, int queuedTaskCount, double utilization) {
+        info.queuedTaskCount = queuedTaskCount;
+        double util = Math.max(0.0, Math.min(1.0, utilization));
+        info.freeMemoryMb = Math.max(0.0, ramMb * (1.0 - util));
+        // Approximate GPU memory capacity using RAM until GPU model is explicit.
+        info.freeGpuMemoryMb = Math.max(0.0, ramMb * (1.0 - util));
+    }
+
+    /**
+     * Returns the incrementally maintained cluster state, creating it on first
+     * use (VM lists only exist once the simulation has started).
+     */
+    public ClusterState getClusterState() {
+        if (liveClusterState == null) {
+            liveClusterState = new LiveClusterState();
+        }
+        return liveClusterState.getState();
+    }
+
+    /**
+     * Returns the cluster state of the running orchestrator: the live view if
+     * it is DAG-aware, otherwise a freshly built snapshot.
+     */
+    public static ClusterState currentClusterState() {
+        EdgeOrchestrator orchestrator = SimManager.getInstance().getEdgeOrchestrator();
+        if (orchestrator instanceof DagAwareOrchestrator) {
+            return ((DagAwareOrchestrator) orchestrator).getClusterState();
+        }
+        return buildClusterStateSnapshot();
+    }
+
+    @Override
+    public void taskSubmittedToVm(Task task) {
+        getClusterState();
+        liveClusterState.cloudletSubmitted(task);
+    }
+
+    @Override
+    public void taskReturnedFromVm(Task task) {
+        getClusterState();
+        liveClusterState.cloudletReturned(task);
+    }
+
     @Override
     public void processEvent(org.cloudbus.cloudsim.core.SimEvent arg0) {
     }
@@ -81,4 +81,23 @@ public abstract class EdgeOrchestrator extends SimEntity{
 	 * @return The selected VM instance for task execution
 	 */
 	public abstract Vm getVmToOffload(Task task, int deviceId);
+
+	/**
+	 * Notifies the orchestrator that a task has been bound to its associated
+	 * VM and is being submitted for execution. Orchestrators which keep an
+	 * incremental view of the VM load override this; the default does nothing.
+	 * 
+	 * @param task The task being submitted
+	 */
+	public void taskSubmittedToVm(Task task) {
+	}
+
+	/**
+	 * Notifies the orchestrator that the VM has finished executing a task
+	 * previously reported via taskSubmittedToVm().
+	 * 
+	 * @param task The task returned by its VM
+	 */
+	public void taskReturnedFromVm(Task task) {
+	}
 }
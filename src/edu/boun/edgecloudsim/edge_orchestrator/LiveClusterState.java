@@ -0,0 +1,113 @@
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.cloud_server.CloudVM;
+import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.dagsim.scheduling.ClusterState;
+import edu.boun.edgecloudsim.dagsim.scheduling.PlacementDecision;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.edge_server.EdgeVM;
+
+/**
+ * Incrementally maintained ClusterState for the DAG-aware orchestrator.
+ *
+ * The VMInfo structure is allocated once from the edge and cloud VM lists.
+ * Afterwards the queue length, CPU utilization and free-memory fields of a VM
+ * are updated when a cloudlet is submitted to it or returned from it, so a
+ * scheduling decision reads the cluster state in O(1) instead of rebuilding
+ * it from every CloudletScheduler. Each update goes through
+ * ClusterState.vmInfoUpdated(), which bumps the version and keeps the
+ * VmSelectionIndex in sync.
+ *
+ * The values match DagAwareOrchestrator.buildClusterStateSnapshot() as long as
+ * the mobile device manager reports every submit and return through the
+ * EdgeOrchestrator hooks (DefaultMobileDeviceManager does).
+ */
+public class LiveClusterState {
+    private final ClusterState state;
+    private final ClusterState.VMInfo[] infoByVmId;
+    private final double[] ramByVmId;
+    private final double[] utilizationByVmId; // unclamped sum of cloudlet CPU utilizations
+
+    public LiveClusterState() {
+        state = DagAwareOrchestrator.buildClusterStateSnapshot();
+
+        int maxVmId = -1;
+        for (ClusterState.VMInfo[][] tier : state.vms) {
+            for (ClusterState.VMInfo[] dcVms : tier) {
+                for (ClusterState.VMInfo info : dcVms) {
+                    maxVmId = Math.max(maxVmId, info.vmId);
+                }
+            }
+        }
+        infoByVmId = new ClusterState.VMInfo[maxVmId + 1];
+        ramByVmId = new double[maxVmId + 1];
+        utilizationByVmId = new double[maxVmId + 1];
+
+        double now = CloudSim.clock();
+        for (int dc = 0; dc < state.vms[PlacementDecision.TIER_EDGE].length; dc++) {
+            List<EdgeVM> edgeVms = SimManager.getInstance().getEdgeServerManager().getVmList(dc);
+            for (int vmIdx = 0; vmIdx < edgeVms.size(); vmIdx++) {
+                register(state.vms[PlacementDecision.TIER_EDGE][dc][vmIdx], edgeVms.get(vmIdx), now);
+            }
+        }
+        for (int dc = 0; dc < state.vms[PlacementDecision.TIER_CLOUD].length; dc++) {
+            List<CloudVM> cloudVms = SimManager.getInstance().getCloudServerManager().getVmList(dc);
+            for (int vmIdx = 0; vmIdx < cloudVms.size(); vmIdx++) {
+                register(state.vms[PlacementDecision.TIER_CLOUD][dc][vmIdx], cloudVms.get(vmIdx), now);
+            }
+        }
+    }
+
+    private void register(ClusterState.VMInfo info, Vm vm, double now) {
+        infoByVmId[info.vmId] = info;
+        ramByVmId[info.vmId] = vm.getRam();
+        utilizationByVmId[info.vmId] = vm.getCloudletScheduler().getTotalUtilizationOfCpu(now);
+    }
+
+    /**
+     * Returns the live state stamped with the current simulation time.
+     * Callers must treat it as read-only.
+     */
+    public ClusterState getState() {
+        state.currentTimeMs = CloudSim.clock() * 1000.0;
+        return state;
+    }
+
+    public long getVersion() {
+        return state.version;
+    }
+
+    /**
+     * Accounts a cloudlet which is being submitted to its associated VM.
+     */
+    public void cloudletSubmitted(Task task) {
+        update(task, +1);
+    }
+
+    /**
+     * Accounts a cloudlet which has been returned by its associated VM.
+     */
+    public void cloudletReturned(Task task) {
+        update(task, -1);
+    }
+
+    private void update(Task task, int delta) {
+        int vmId = task.getAssociatedVmId();
+        if (vmId < 0 || vmId >= infoByVmId.length || infoByVmId[vmId] == null) {
+            return; // mobile VMs are not part of the cluster state
+        }
+        ClusterState.VMInfo info = infoByVmId[vmId];
+        int queued = Math.max(0, info.queuedTaskCount + delta);
+        // Reset the running sum once the VM is idle so rounding errors cannot accumulate
+        double util = (queued == 0) ? 0.0
+                : utilizationByVmId[vmId] + delta * task.getUtilizationOfCpu(CloudSim.clock());
+        utilizationByVmId[vmId] = util;
+        DagAwareOrchestrator.applyLoad(info, ramByVmId[vmId], queued, util);
+        state.vmInfoUpdated(info);
+    }
+}
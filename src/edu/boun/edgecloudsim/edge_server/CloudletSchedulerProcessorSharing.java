@@ -0,0 +1,485 @@
+/*
+ * Title:        EdgeCloudSim - Processor Sharing Cloudlet Scheduler
+ *
+ * Description:
+ * CloudletSchedulerProcessorSharing is an event-driven replacement of
+ * CloudSim's CloudletSchedulerTimeShared with identical results
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletScheduler;
+import org.cloudbus.cloudsim.ResCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
+
+/**
+ * Time-shared cloudlet scheduler that does not visit every executing
+ * cloudlet on every VM update.
+ *
+ * CloudletSchedulerTimeShared gives each executing cloudlet the same share
+ * of the VM capacity per PE and, on every update, adds the work done since
+ * the previous update to every cloudlet, then scans all of them for finished
+ * ones and for the next completion time. With k cloudlets this is O(k) per
+ * datacenter event (O(k^2) because getCapacity() is evaluated per cloudlet).
+ *
+ * Since all cloudlets with the same number of PEs receive the same work in
+ * an update, this scheduler keeps that work as one cumulative counter per
+ * PE count (virtual time). A cloudlet stores the counter value at its start
+ * and the counter value at which it finishes; executing cloudlets are kept in
+ * a priority queue on that value, so an update only touches the cloudlets
+ * that finish and the head of each queue, and arrivals and departures cost
+ * O(log k).
+ *
+ * The counters are advanced with the same (long) truncation as
+ * CloudletSchedulerTimeShared applies per cloudlet, so finish decisions,
+ * next-event times and finished-so-far values are bit-identical to it.
+ * Cloudlets that finish in the same update are finished in submission order,
+ * as the exec list of CloudletSchedulerTimeShared does. The finished-so-far
+ * value of a ResCloudlet is only brought up to date when it leaves the exec
+ * list (finish, cancel, pause or migration).
+ *
+ * If a UtilizationIntegral is set, the CPU utilization of a cloudlet is
+ * added to it when the cloudlet starts executing and removed when it leaves
+ * the exec list. The utilization is read once at the start, which is exact
+ * for utilization models that do not depend on time, such as
+ * CpuUtilizationModel_Custom.
+ */
+public class CloudletSchedulerProcessorSharing extends CloudletScheduler {
+	private static final long MILLION = 1000000L;
+
+	// Executing cloudlets in submission order; departed ones are null until compaction
+	private final List<ResCloudlet> execSlots = new ArrayList<ResCloudlet>();
+	// Executing cloudlets by cloudlet id
+	private final Map<Integer, RunningCloudlet> running = new HashMap<Integer, RunningCloudlet>();
+	// ResCloudlet does not expose its finished-so-far value, so it is kept here while paused
+	private final Map<ResCloudlet, Long> pausedFinishedSoFar = new HashMap<ResCloudlet, Long>();
+	private final Map<Integer, PesGroup> groups = new HashMap<Integer, PesGroup>();
+	private int numOfDeparted;
+	private int pesInUse;
+	private long nextSequence;
+	private UtilizationIntegral utilizationIntegral;
+
+	protected int currentCPUs;
+
+	/**
+	 * Executing cloudlet with its position in virtual time.
+	 */
+	private static class RunningCloudlet implements Comparable<RunningCloudlet> {
+		final ResCloudlet rcl;
+		final PesGroup group;
+		final long sequence;
+		// Finished-so-far value of rcl when it (re)started executing
+		final long initialFinishedSoFar;
+		// Group work counter at which finished-so-far was initialFinishedSoFar
+		final long base;
+		// Group work counter above which the remaining length is 0
+		long finishThreshold;
+		int slot;
+		// CPU utilization added to the utilization integral at the start
+		double cpuUtilization;
+
+		RunningCloudlet(ResCloudlet rcl, PesGroup group, long sequence, long initialFinishedSoFar) {
+			this.rcl = rcl;
+			this.group = group;
+			this.sequence = sequence;
+			this.initialFinishedSoFar = initialFinishedSoFar;
+			this.base = group.work;
+		}
+
+		void updateFinishThreshold() {
+			finishThreshold = base - initialFinishedSoFar + rcl.getCloudletTotalLength() * MILLION - MILLION;
+		}
+
+		long getFinishedSoFar() {
+			return group.work - base + initialFinishedSoFar;
+		}
+
+		/**
+		 * Same result as ResCloudlet.getRemainingCloudletLength() would give
+		 * if the finished-so-far value were up to date.
+		 */
+		long getRemainingLength() {
+			long length = rcl.getCloudletTotalLength() * MILLION - getFinishedSoFar();
+			if(length < 0)
+				return 0;
+			return (long) Math.floor(length / (double) MILLION);
+		}
+
+		@Override
+		public int compareTo(RunningCloudlet other) {
+			int result = Long.compare(finishThreshold, other.finishThreshold);
+			if(result == 0)
+				result = Long.compare(sequence, other.sequence);
+			return result;
+		}
+	}
+
+	/**
+	 * Cumulative work per PE count; every executing cloudlet with that
+	 * many PEs has received the same work since it started.
+	 */
+	private static class PesGroup {
+		final int pes;
+		final PriorityQueue<RunningCloudlet> queue = new PriorityQueue<RunningCloudlet>();
+		long work;
+
+		PesGroup(int pes) {
+			this.pes = pes;
+		}
+	}
+
+	public CloudletSchedulerProcessorSharing() {
+		super();
+		// assigned directly: calling the overridable setter here would let 'this' escape
+		cloudletExecList = execSlots;
+		currentCPUs = 0;
+	}
+
+	@Override
+	public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+		setCurrentMipsShare(mipsShare);
+		double timeSpam = currentTime - getPreviousTime();
+
+		if(running.isEmpty()){
+			setPreviousTime(currentTime);
+			return 0.0;
+		}
+
+		double capacity = getCapacity(mipsShare);
+		List<RunningCloudlet> toRemove = new ArrayList<RunningCloudlet>();
+		for(PesGroup group : groups.values()){
+			if(group.queue.isEmpty())
+				continue;
+			group.work += (long) (capacity * timeSpam * group.pes * 1000000.0);
+			while(!group.queue.isEmpty() && group.queue.peek().finishThreshold < group.work)
+				toRemove.add(group.queue.poll());
+		}
+
+		// finish in exec list order
+		if(toRemove.size() > 1)
+			toRemove.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+		for(RunningCloudlet rc : toRemove)
+			cloudletFinish(removeFromExec(rc, currentTime));
+		compactExecIfSparse();
+
+		double nextEvent = Double.MAX_VALUE;
+		if(!running.isEmpty())
+			capacity = getCapacity(mipsShare);
+		for(PesGroup group : groups.values()){
+			RunningCloudlet first = group.queue.peek();
+			if(first == null)
+				continue;
+			double estimatedFinishTime = currentTime + (first.getRemainingLength() / (capacity * group.pes));
+			if(estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents())
+				estimatedFinishTime = currentTime + CloudSim.getMinTimeBetweenEvents();
+			if(estimatedFinishTime < nextEvent)
+				nextEvent = estimatedFinishTime;
+		}
+
+		setPreviousTime(currentTime);
+		return nextEvent;
+	}
+
+	/**
+	 * Capacity per PE, as in CloudletSchedulerTimeShared.
+	 */
+	protected double getCapacity(List<Double> mipsShare) {
+		double capacity = 0.0;
+		int cpus = 0;
+		for(Double mips : mipsShare){
+			capacity += mips;
+			if(mips > 0.0)
+				cpus++;
+		}
+		currentCPUs = cpus;
+		capacity /= Math.max(pesInUse, currentCPUs);
+		return capacity;
+	}
+
+	@Override
+	public Cloudlet cloudletCancel(int cloudletId) {
+		for(ResCloudlet rcl : getCloudletFinishedList()){
+			if(rcl.getCloudletId() == cloudletId){
+				getCloudletFinishedList().remove(rcl);
+				return rcl.getCloudlet();
+			}
+		}
+
+		RunningCloudlet rc = running.get(cloudletId);
+		if(rc != null){
+			rc.group.queue.remove(rc);
+			ResCloudlet rcl = removeFromExec(rc, CloudSim.clock());
+			if(rcl.getRemainingCloudletLength() == 0)
+				cloudletFinish(rcl);
+			else
+				rcl.setCloudletStatus(Cloudlet.CANCELED);
+			return rcl.getCloudlet();
+		}
+
+		for(ResCloudlet rcl : getCloudletPausedList()){
+			if(rcl.getCloudletId() == cloudletId){
+				getCloudletPausedList().remove(rcl);
+				pausedFinishedSoFar.remove(rcl);
+				rcl.setCloudletStatus(Cloudlet.CANCELED);
+				return rcl.getCloudlet();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean cloudletPause(int cloudletId) {
+		RunningCloudlet rc = running.get(cloudletId);
+		if(rc == null)
+			return false;
+
+		rc.group.queue.remove(rc);
+		ResCloudlet rcl = removeFromExec(rc, CloudSim.clock());
+		if(rcl.getRemainingCloudletLength() == 0){
+			cloudletFinish(rcl);
+		}
+		else{
+			rcl.setCloudletStatus(Cloudlet.PAUSED);
+			getCloudletPausedList().add(rcl);
+			pausedFinishedSoFar.put(rcl, rc.getFinishedSoFar());
+		}
+		return true;
+	}
+
+	@Override
+	public void cloudletFinish(ResCloudlet rcl) {
+		rcl.setCloudletStatus(Cloudlet.SUCCESS);
+		rcl.finalizeCloudlet();
+		getCloudletFinishedList().add(rcl);
+	}
+
+	@Override
+	public double cloudletResume(int cloudletId) {
+		List<ResCloudlet> pausedList = getCloudletPausedList();
+		for(int i=0; i<pausedList.size(); i++){
+			ResCloudlet rcl = pausedList.get(i);
+			if(rcl.getCloudletId() == cloudletId){
+				pausedList.remove(i);
+				rcl.setCloudletStatus(Cloudlet.INEXEC);
+				RunningCloudlet rc = addToExec(rcl, pausedFinishedSoFar.remove(rcl));
+				rc.updateFinishThreshold();
+				rc.group.queue.add(rc);
+
+				double remainingLength = rcl.getRemainingCloudletLength();
+				return CloudSim.clock() + (remainingLength / (getCapacity(getCurrentMipsShare()) * rcl.getNumberOfPes()));
+			}
+		}
+		return 0.0;
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+		ResCloudlet rcl = new ResCloudlet(cloudlet);
+		rcl.setCloudletStatus(Cloudlet.INEXEC);
+		for(int i=0; i<cloudlet.getNumberOfPes(); i++)
+			rcl.setMachineAndPeId(0, i);
+
+		RunningCloudlet rc = addToExec(rcl, 0);
+
+		// use the current capacity to estimate the extra amount of
+		// time to file transferring. It must be added to the cloudlet length
+		double extraSize = getCapacity(getCurrentMipsShare()) * fileTransferTime;
+		long length = (long) (cloudlet.getCloudletLength() + extraSize);
+		cloudlet.setCloudletLength(length);
+
+		rc.updateFinishThreshold();
+		rc.group.queue.add(rc);
+		return cloudlet.getCloudletLength() / getCapacity(getCurrentMipsShare());
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet) {
+		return cloudletSubmit(cloudlet, 0.0);
+	}
+
+	@Override
+	public int getCloudletStatus(int cloudletId) {
+		RunningCloudlet rc = running.get(cloudletId);
+		if(rc != null)
+			return rc.rcl.getCloudletStatus();
+		for(ResCloudlet rcl : getCloudletPausedList()){
+			if(rcl.getCloudletId() == cloudletId)
+				return rcl.getCloudletStatus();
+		}
+		return -1;
+	}
+
+	@Override
+	public double getTotalUtilizationOfCpu(double time) {
+		double totalUtilization = 0;
+		for(ResCloudlet rcl : execSlots){
+			if(rcl != null)
+				totalUtilization += rcl.getCloudlet().getUtilizationOfCpu(time);
+		}
+		return totalUtilization;
+	}
+
+	@Override
+	public boolean isFinishedCloudlets() {
+		return getCloudletFinishedList().size() > 0;
+	}
+
+	@Override
+	public Cloudlet getNextFinishedCloudlet() {
+		if(getCloudletFinishedList().size() > 0)
+			return getCloudletFinishedList().remove(0).getCloudlet();
+		return null;
+	}
+
+	@Override
+	public int runningCloudlets() {
+		return running.size();
+	}
+
+	@Override
+	public Cloudlet migrateCloudlet() {
+		compactExec();
+		RunningCloudlet rc = running.get(execSlots.get(0).getCloudletId());
+		rc.group.queue.remove(rc);
+		ResCloudlet rcl = removeFromExec(rc, CloudSim.clock());
+		rcl.finalizeCloudlet();
+		return rcl.getCloudlet();
+	}
+
+	@Override
+	public List<Double> getCurrentRequestedMips() {
+		return new ArrayList<Double>();
+	}
+
+	@Override
+	public double getTotalCurrentAvailableMipsForCloudlet(ResCloudlet rcl, List<Double> mipsShare) {
+		return getCapacity(getCurrentMipsShare());
+	}
+
+	@Override
+	public double getTotalCurrentAllocatedMipsForCloudlet(ResCloudlet rcl, double time) {
+		return 0.0;
+	}
+
+	@Override
+	public double getTotalCurrentRequestedMipsForCloudlet(ResCloudlet rcl, double time) {
+		return 0.0;
+	}
+
+	@Override
+	public double getCurrentRequestedUtilizationOfRam() {
+		double ram = 0;
+		for(ResCloudlet rcl : execSlots){
+			if(rcl != null)
+				ram += rcl.getCloudlet().getUtilizationOfRam(CloudSim.clock());
+		}
+		return ram;
+	}
+
+	@Override
+	public double getCurrentRequestedUtilizationOfBw() {
+		double bw = 0;
+		for(ResCloudlet rcl : execSlots){
+			if(rcl != null)
+				bw += rcl.getCloudlet().getUtilizationOfBw(CloudSim.clock());
+		}
+		return bw;
+	}
+
+	/**
+	 * Sets the integral that tracks the CPU utilization of this scheduler's
+	 * VM. Must be set before the first cloudlet is submitted.
+	 */
+	public void setUtilizationIntegral(UtilizationIntegral utilizationIntegral) {
+		this.utilizationIntegral = utilizationIntegral;
+	}
+
+	/**
+	 * @return the utilization integral of the VM, or null if none is set
+	 */
+	public UtilizationIntegral getUtilizationIntegral() {
+		return utilizationIntegral;
+	}
+
+	/**
+	 * Returns the executing cloudlets in submission order. The list must
+	 * not be modified by the caller.
+	 */
+	@Override
+	public <T extends ResCloudlet> List<T> getCloudletExecList() {
+		compactExec();
+		return super.getCloudletExecList();
+	}
+
+	/**
+	 * Appends a cloudlet to the exec list; the caller adds it to its group
+	 * queue once its length is final.
+	 */
+	private RunningCloudlet addToExec(ResCloudlet rcl, long initialFinishedSoFar) {
+		int pes = rcl.getNumberOfPes();
+		PesGroup group = groups.get(pes);
+		if(group == null){
+			group = new PesGroup(pes);
+			groups.put(pes, group);
+		}
+		RunningCloudlet rc = new RunningCloudlet(rcl, group, nextSequence++, initialFinishedSoFar);
+		rc.slot = execSlots.size();
+		execSlots.add(rcl);
+		running.put(rcl.getCloudletId(), rc);
+		pesInUse += pes;
+		if(utilizationIntegral != null){
+			double time = CloudSim.clock();
+			rc.cpuUtilization = rcl.getCloudlet().getUtilizationOfCpu(time);
+			utilizationIntegral.add(rc.cpuUtilization, 1, time);
+		}
+		return rc;
+	}
+
+	/**
+	 * Removes a cloudlet (already taken out of its group queue) from the
+	 * exec list and brings its finished-so-far value up to date.
+	 */
+	private ResCloudlet removeFromExec(RunningCloudlet rc, double time) {
+		ResCloudlet rcl = rc.rcl;
+		rcl.updateCloudletFinishedSoFar(rc.getFinishedSoFar() - rc.initialFinishedSoFar);
+		running.remove(rcl.getCloudletId());
+		execSlots.set(rc.slot, null);
+		numOfDeparted++;
+		pesInUse -= rc.group.pes;
+		if(utilizationIntegral != null)
+			utilizationIntegral.add(-rc.cpuUtilization, -1, time);
+		return rcl;
+	}
+
+	private void compactExecIfSparse() {
+		if(numOfDeparted > 16 && numOfDeparted > running.size())
+			compactExec();
+	}
+
+	private void compactExec() {
+		if(numOfDeparted == 0)
+			return;
+		int next = 0;
+		for(int i=0; i<execSlots.size(); i++){
+			ResCloudlet rcl = execSlots.get(i);
+			if(rcl != null){
+				running.get(rcl.getCloudletId()).slot = next;
+				execSlots.set(next++, rcl);
+			}
+		}
+		execSlots.subList(next, execSlots.size()).clear();
+		numOfDeparted = 0;
+	}
+}
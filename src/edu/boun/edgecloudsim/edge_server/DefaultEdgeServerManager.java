@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -36,6 +35,7 @@ import org.w3c.dom.NodeList;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
 
 /**
  * Default implementation of EdgeServerManager for standard edge computing
@@ -125,6 +125,8 @@ public class DefaultEdgeServerManager extends EdgeServerManager {
 	public void createVmList(int brokerId) {
 		int hostCounter = 0;
 		int vmCounter = 0;
+		utilizationIntegral = new UtilizationIntegral(null);
+		hostUtilizationIntegrals.clear();
 
 		// Create VMs for each host based on XML configuration
 		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
@@ -140,6 +142,8 @@ public class DefaultEdgeServerManager extends EdgeServerManager {
 
 				// Initialize VM list for current host
 				vmList.add(hostCounter, new ArrayList<EdgeVM>());
+				UtilizationIntegral hostIntegral = new UtilizationIntegral(utilizationIntegral);
+				hostUtilizationIntegrals.add(hostCounter, hostIntegral);
 
 				Node hostNode = hostNodeList.item(j);
 				Element hostElement = (Element) hostNode;
@@ -158,9 +162,12 @@ public class DefaultEdgeServerManager extends EdgeServerManager {
 					long bandwidth = SimSettings.getInstance().getWlanBandwidth()
 							/ (hostNodeList.getLength() + vmNodeList.getLength());
 
-					// Create EdgeVM with time-shared cloudlet scheduler
+					// Create EdgeVM with processor-sharing (time-shared) cloudlet scheduler
+					// that reports its utilization to the host and tier integrals
+					CloudletSchedulerProcessorSharing scheduler = new CloudletSchedulerProcessorSharing();
+					scheduler.setUtilizationIntegral(UtilizationIntegral.forVm(hostIntegral));
 					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm,
-							new CloudletSchedulerTimeShared());
+							scheduler);
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
 				}
@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.utils.UtilizationIntegral;
+
 /**
  * Abstract base class for managing edge server infrastructure in EdgeCloudSim.
  * 
@@ -43,6 +45,8 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 public abstract class EdgeServerManager {
 	protected List<Datacenter> localDatacenters;    // Edge datacenters managed by this instance
 	protected List<List<EdgeVM>> vmList;             // VM lists organized by host ID
+	protected UtilizationIntegral utilizationIntegral;                // CPU utilization of all edge VMs, null if not tracked
+	protected List<UtilizationIntegral> hostUtilizationIntegrals;     // CPU utilization per host ID
 
 	/**
 	 * Constructs an EdgeServerManager with empty datacenter and VM collections.
@@ -51,6 +55,7 @@ public abstract class EdgeServerManager {
 	public EdgeServerManager() {
 		localDatacenters=new ArrayList<Datacenter>();
 		vmList = new ArrayList<List<EdgeVM>>();
+		hostUtilizationIntegrals = new ArrayList<UtilizationIntegral>();
 	}
 
 	/**
@@ -71,6 +76,27 @@ public abstract class EdgeServerManager {
 	public List<Datacenter> getDatacenterList(){
 		return localDatacenters;
 	}
+
+	/**
+	 * Retrieves the time-integral of the CPU utilization of all edge VMs.
+	 * 
+	 * @return Utilization integral of the edge tier, or null if the VMs do not
+	 *         report their utilization changes (SimManager then samples
+	 *         getAvgUtilization() periodically)
+	 */
+	public UtilizationIntegral getUtilizationIntegral(){
+		return utilizationIntegral;
+	}
+
+	/**
+	 * Retrieves the time-integral of the CPU utilization of the VMs on a host.
+	 * 
+	 * @param hostId The ID of the host
+	 * @return Utilization integral of the host, or null if not tracked
+	 */
+	public UtilizationIntegral getHostUtilizationIntegral(int hostId){
+		return (hostId < hostUtilizationIntegrals.size()) ? hostUtilizationIntegrals.get(hostId) : null;
+	}
 	
 	/**
 	 * Initializes the edge server manager with scenario-specific configurations.
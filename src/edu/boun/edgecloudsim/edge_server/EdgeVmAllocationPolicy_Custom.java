@@ -22,10 +22,6 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.core.SimSettings;
 
@@ -44,8 +40,8 @@ import edu.boun.edgecloudsim.core.SimSettings;
  * - VM creation tracking and monitoring
  * - Integration with EdgeCloudSim's device specification framework
  * 
- * The policy parses the edge devices XML configuration to determine the exact
- * host placement for each VM based on VM ID and datacenter hierarchy.
+ * The exact host placement for each VM is looked up by VM ID in the
+ * placement table SimSettings builds while parsing the edge devices XML.
  */
 public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	private Map<String, Host> vmTable;    // Mapping of VM UIDs to their allocated hosts
@@ -70,7 +66,7 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 
 	/**
 	 * Allocates a host for the given VM based on XML configuration specifications.
-	 * Parses the edge devices configuration to find the designated host for this VM
+	 * Looks up the designated datacenter and host of this VM in the placement table
 	 * and attempts to create the VM on that specific host. Only EdgeVMs are processed.
 	 * 
 	 * @param vm The VM requesting host allocation
@@ -82,35 +78,10 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 		
 		// Only allocate if VM is not already allocated and is an EdgeVM
 		if (!getVmTable().containsKey(vm.getUid()) && vm instanceof EdgeVM) {
-			boolean vmFound = false;
-			int vmCounter = 0;
-			int hostIndex = 0;
-			int dataCenterIndex = 0;
-			
-			// Parse XML configuration to find the designated host for this VM
-			Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-			NodeList datacenterList = doc.getElementsByTagName("datacenter");
-			for (int i = 0; (!vmFound && i < datacenterList.getLength()); i++) {
-				Node datacenterNode = datacenterList.item(i);
-				Element datacenterElement = (Element) datacenterNode;
-				NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-				for (int j = 0; (!vmFound  && j < hostNodeList.getLength()); j++) {
-					Node hostNode = hostNodeList.item(j);
-					Element hostElement = (Element) hostNode;
-					NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-					for (int k = 0; (!vmFound && k < vmNodeList.getLength()); k++) {
-
-						// Match VM ID with configuration to find designated placement
-						if(vmCounter == vm.getId()){
-							dataCenterIndex = i;
-							hostIndex = j;
-							vmFound = true;
-						}
-
-						vmCounter++;
-					}
-				}
-			}
+			// Designated placement, resolved once while parsing edge_devices.xml
+			int dataCenterIndex = SimSettings.getInstance().getEdgeVmDatacenterIndex(vm.getId());
+			int hostIndex = SimSettings.getInstance().getEdgeVmHostIndex(vm.getId());
+			boolean vmFound = dataCenterIndex >= 0;
 
 			// Attempt VM creation if valid placement found and belongs to this datacenter
 			if(vmFound && dataCenterIndex == DataCenterIndex && hostIndex < getHostList().size()){
@@ -0,0 +1,135 @@
+/*
+ * Title:        EdgeCloudSim - Access Point Occupancy Index
+ *
+ * Description:
+ * AccessPointOccupancyIndex answers "how many devices are attached to
+ * access point k at time t" without scanning every mobile device.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.mobility;
+
+import java.util.Arrays;
+
+/**
+ * Time-indexed occupancy structure for WLAN access points.
+ *
+ * Every stay of a device at an access point contributes one arrival and one
+ * departure instant to the access point it is attached to. Both instants are
+ * kept in sorted primitive arrays per WLAN id, so the number of attached
+ * devices at time t is simply
+ *
+ *   #(arrivals <= t) - #(departures <= t)
+ *
+ * which is answered with two binary searches, i.e. O(log n) per query
+ * instead of the O(number of devices) scan over MobilityModel.getLocation().
+ *
+ * The boundary semantics match TreeMap.floorEntry() used by the mobility
+ * models: a device which moves at exactly time t is counted at its new
+ * access point.
+ *
+ * Usage: call addStay() for every trajectory segment, then build() once
+ * before issuing queries.
+ */
+public class AccessPointOccupancyIndex {
+	private double[][] arrivals;      // Sorted arrival instants per WLAN id
+	private double[][] departures;    // Sorted departure instants per WLAN id
+	private int[] numOfArrivals;      // Number of valid entries in arrivals[wlanId]
+	private int[] numOfDepartures;    // Number of valid entries in departures[wlanId]
+	private boolean built;
+
+	/**
+	 * Creates an empty index for the given number of access points.
+	 *
+	 * @param numOfAccessPoints number of WLAN ids (valid ids are 0..numOfAccessPoints-1)
+	 */
+	public AccessPointOccupancyIndex(int numOfAccessPoints) {
+		arrivals = new double[numOfAccessPoints][8];
+		departures = new double[numOfAccessPoints][8];
+		numOfArrivals = new int[numOfAccessPoints];
+		numOfDepartures = new int[numOfAccessPoints];
+		built = false;
+	}
+
+	/**
+	 * Records that a device is attached to an access point during [arrivalTime, departureTime).
+	 * Use Double.POSITIVE_INFINITY as departure time for the last segment of a trajectory.
+	 *
+	 * @param wlanId serving WLAN id of the access point
+	 * @param arrivalTime time when the device attaches to the access point
+	 * @param departureTime time when the device leaves the access point
+	 */
+	public void addStay(int wlanId, double arrivalTime, double departureTime) {
+		if(built)
+			throw new IllegalStateException("AccessPointOccupancyIndex is already built");
+
+		if(numOfArrivals[wlanId] == arrivals[wlanId].length)
+			arrivals[wlanId] = Arrays.copyOf(arrivals[wlanId], arrivals[wlanId].length * 2);
+		arrivals[wlanId][numOfArrivals[wlanId]++] = arrivalTime;
+
+		if(departureTime != Double.POSITIVE_INFINITY) {
+			if(numOfDepartures[wlanId] == departures[wlanId].length)
+				departures[wlanId] = Arrays.copyOf(departures[wlanId], departures[wlanId].length * 2);
+			departures[wlanId][numOfDepartures[wlanId]++] = departureTime;
+		}
+	}
+
+	/**
+	 * Sorts the recorded instants and trims the backing arrays.
+	 * No more stays can be added after this call.
+	 */
+	public void build() {
+		for(int i=0; i<arrivals.length; i++) {
+			arrivals[i] = Arrays.copyOf(arrivals[i], numOfArrivals[i]);
+			departures[i] = Arrays.copyOf(departures[i], numOfDepartures[i]);
+			Arrays.sort(arrivals[i]);
+			Arrays.sort(departures[i]);
+		}
+		built = true;
+	}
+
+	/**
+	 * Returns the number of access points covered by this index.
+	 *
+	 * @return number of WLAN ids
+	 */
+	public int getNumOfAccessPoints() {
+		return arrivals.length;
+	}
+
+	/**
+	 * Returns the number of devices attached to the given access point at a specific time.
+	 *
+	 * @param wlanId serving WLAN id of the access point
+	 * @param time simulation time in seconds
+	 * @return number of attached devices, 0 for unknown WLAN ids
+	 */
+	public int getDeviceCount(int wlanId, double time) {
+		if(!built)
+			throw new IllegalStateException("AccessPointOccupancyIndex is not built yet");
+
+		if(wlanId < 0 || wlanId >= arrivals.length)
+			return 0;
+
+		return countUpTo(arrivals[wlanId], time) - countUpTo(departures[wlanId], time);
+	}
+
+	/**
+	 * Returns the number of elements less than or equal to the given key
+	 * in a sorted array (upper bound).
+	 */
+	private static int countUpTo(double[] sorted, double key) {
+		int low = 0;
+		int high = sorted.length;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(sorted[mid] <= key)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Title:        EdgeCloudSim - Edge Topology
+ *
+ * Description:
+ * EdgeTopology is an immutable, typed snapshot of the edge datacenter
+ * locations defined in edge_devices.xml, built once while the XML is parsed.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.mobility;
+
+import java.util.List;
+
+import edu.boun.edgecloudsim.utils.Location;
+
+/**
+ * Typed view of the places a mobile device can be attached to.
+ *
+ * Holds one Location per edge datacenter (tier="CLOUD" datacenters are not
+ * places) in the order they appear in edge_devices.xml, together with the
+ * mean residence time of every place type. Mobility models draw locations
+ * from this snapshot instead of walking the DOM and parsing the same text
+ * nodes again for every device and every movement.
+ *
+ * Location objects carry no mutable state, so the instances returned here
+ * can be shared by all trajectories.
+ */
+public final class EdgeTopology {
+	private final Location[] locations;                // Edge datacenter locations in XML order
+	private final int numOfWlanIds;                    // Exclusive upper bound of the serving WLAN ids
+	private final double[] meanWaitingTimeOfPlaceTypes; // Mean residence time per place type
+
+	/**
+	 * Creates the snapshot.
+	 *
+	 * @param edgeLocations location of every edge datacenter, in XML order
+	 * @param meanWaitingTimeOfPlaceTypes mean residence time per place type (mobility lookup table)
+	 */
+	public EdgeTopology(List<Location> edgeLocations, double[] meanWaitingTimeOfPlaceTypes) {
+		locations = edgeLocations.toArray(new Location[0]);
+		int maxWlanId = -1;
+		for(Location location : locations)
+			maxWlanId = Math.max(maxWlanId, location.getServingWlanId());
+		numOfWlanIds = Math.max(locations.length, maxWlanId + 1);
+		this.meanWaitingTimeOfPlaceTypes = (meanWaitingTimeOfPlaceTypes == null)
+				? new double[0] : meanWaitingTimeOfPlaceTypes.clone();
+	}
+
+	/**
+	 * Returns the number of edge datacenters (places).
+	 *
+	 * @return number of locations
+	 */
+	public int getNumOfLocations() {
+		return locations.length;
+	}
+
+	/**
+	 * Returns the location of the edge datacenter with the given index.
+	 *
+	 * @param index index of the edge datacenter in XML order
+	 * @return shared, immutable Location instance
+	 */
+	public Location getLocation(int index) {
+		return locations[index];
+	}
+
+	/**
+	 * Returns the size of an array indexed by serving WLAN id, i.e. the
+	 * larger of the number of edge datacenters and the highest WLAN id + 1.
+	 *
+	 * @return number of WLAN id slots
+	 */
+	public int getNumOfWlanIds() {
+		return numOfWlanIds;
+	}
+
+	/**
+	 * Returns the mean residence time of a place type.
+	 *
+	 * @param placeTypeIndex attractiveness level of the place
+	 * @return mean time a device stays at such a place
+	 */
+	public double getMeanWaitingTime(int placeTypeIndex) {
+		return meanWaitingTimeOfPlaceTypes[placeTypeIndex];
+	}
+}
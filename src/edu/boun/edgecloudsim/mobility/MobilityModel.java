@@ -13,6 +13,8 @@
 
 package edu.boun.edgecloudsim.mobility;
 
+import java.util.Arrays;
+
 import edu.boun.edgecloudsim.utils.Location;
 
 /**
@@ -76,4 +78,39 @@ public abstract class MobilityModel {
 	 * @return Location object containing coordinates and associated edge server information
 	 */
 	public abstract Location getLocation(int deviceId, double time);
+
+	/**
+	 * Returns the number of mobile devices attached to the given access point
+	 * at a specific time. The default implementation scans every device via
+	 * getLocation(); models which keep their trajectories in memory should
+	 * override it with an indexed lookup (see AccessPointOccupancyIndex).
+	 *
+	 * @param wlanId Serving WLAN id of the access point
+	 * @param time Simulation time when the count is requested (in seconds)
+	 * @return Number of devices served by the access point at the given time
+	 */
+	public int getDeviceCount(int wlanId, double time) {
+		int deviceCount = 0;
+		for(int i=0; i<numberOfMobileDevices; i++) {
+			if(getLocation(i, time).getServingWlanId() == wlanId)
+				deviceCount++;
+		}
+		return deviceCount;
+	}
+
+	/**
+	 * Fills the number of attached mobile devices for every access point
+	 * at a specific time. WLAN ids outside the array bounds are ignored.
+	 *
+	 * @param time Simulation time when the counts are requested (in seconds)
+	 * @param deviceCounts Output array indexed by WLAN id
+	 */
+	public void getDeviceCounts(double time, int[] deviceCounts) {
+		Arrays.fill(deviceCounts, 0);
+		for(int i=0; i<numberOfMobileDevices; i++) {
+			int wlanId = getLocation(i, time).getServingWlanId();
+			if(wlanId >= 0 && wlanId < deviceCounts.length)
+				deviceCounts[wlanId]++;
+		}
+	}
 }
@@ -12,16 +12,9 @@
 
 package edu.boun.edgecloudsim.mobility;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.TreeMap;
-import java.util.Map.Entry;
-
-import org.apache.commons.math3.distribution.ExponentialDistribution;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.Location;
@@ -41,7 +34,7 @@ import edu.boun.edgecloudsim.utils.SimUtils;
  * - Exponential distribution for residence time at each location
  * - Location attractiveness modeling based on place type characteristics
  * - Random location selection with avoidance of immediate return to same location
- * - Timeline-based location tracking using TreeMap for efficient queries
+ * - Timeline-based location tracking in a compact TrajectoryTable
  * 
  * This model is particularly suitable for scenarios involving:
  * - Users moving between Wi-Fi hotspots, offices, or public spaces
@@ -53,7 +46,38 @@ import edu.boun.edgecloudsim.utils.SimUtils;
  * dwell times at different location types.
  */
 public class NomadicMobility extends MobilityModel {
-	private List<TreeMap<Double, Location>> treeMapArray;    // Timeline of location changes for each device
+	private TrajectoryTable trajectories;                    // Timeline of location changes for each device
+	private AccessPointOccupancyIndex occupancyIndex;        // Per-WLAN device counts over time
+	
+	/** Tag of the per-device random streams of this model, see SimUtils.newDeviceRandom */
+	private static final long RNG_STREAM_TAG = 1;
+	
+	/**
+	 * Growable transition list of one device, filled by a worker thread.
+	 */
+	private static final class DeviceTrajectory {
+		private double[] times = new double[8];
+		private int[] placeIndices = new int[8];
+		private int size = 0;
+		
+		private void add(double time, int placeIndex) {
+			if(size == times.length) {
+				times = Arrays.copyOf(times, size * 2);
+				placeIndices = Arrays.copyOf(placeIndices, size * 2);
+			}
+			times[size] = time;
+			placeIndices[size] = placeIndex;
+			size++;
+		}
+		
+		private double lastTime() {
+			return times[size - 1];
+		}
+		
+		private int lastPlaceIndex() {
+			return placeIndices[size - 1];
+		}
+	}
 	
 	/**
 	 * Constructs a NomadicMobility model with specified parameters.
@@ -67,107 +91,102 @@ public class NomadicMobility extends MobilityModel {
 	
 	/**
 	 * Initializes the nomadic mobility model by generating movement timelines.
-	 * Creates exponential distributions for each location based on attractiveness,
-	 * assigns initial positions to devices, and generates complete movement
-	 * trajectories for the entire simulation period.
+	 * Looks up the mean residence time of each location based on attractiveness,
+	 * then assigns the initial position and generates the complete movement
+	 * trajectory of every device, in parallel, from a per-device random stream.
 	 */
 	@Override
 	public void initialize() {
-		treeMapArray = new ArrayList<TreeMap<Double, Location>>();
-		
-		// Build list of edge datacenters only (exclude tier="CLOUD")
-		List<Element> edgeDatacenters = new ArrayList<Element>();
-
-		// Create exponential RNG for each edge datacenter location based on attractiveness
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		int maxWlanId = -1;
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			String tier = datacenterElement.getAttribute("tier");
-			if (tier != null && tier.equalsIgnoreCase("CLOUD")) {
-				continue;
-			}
-			edgeDatacenters.add(datacenterElement);
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-			if (wlan_id > maxWlanId) {
-				maxWlanId = wlan_id;
-			}
-		}
+		// Edge datacenters only (tier="CLOUD" excluded), parsed once by SimSettings
+		EdgeTopology topology = SimSettings.getInstance().getEdgeTopology();
+		int numOfLocations = topology.getNumOfLocations();
+		int expSize = topology.getNumOfWlanIds();
 
-		int expSize = Math.max(SimSettings.getInstance().getNumOfEdgeDatacenters(), maxWlanId + 1);
-		ExponentialDistribution[] expRngList = new ExponentialDistribution[expSize];
+		// Mean residence time of each edge datacenter location based on attractiveness
+		double[] meanWaitingTimes = new double[expSize];
+		Location[] places = new Location[numOfLocations];
+		for (int i = 0; i < numOfLocations; i++) {
+			Location location = topology.getLocation(i);
+			int wlan_id = location.getServingWlanId();
+			places[i] = location;
 
-		for (int i = 0; i < edgeDatacenters.size(); i++) {
-			Element datacenterElement = edgeDatacenters.get(i);
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-			int placeTypeIndex = Integer.parseInt(attractiveness);
-			int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-
-			// Create exponential distribution based on location attractiveness (mean residence time)
-			if (wlan_id >= 0 && wlan_id < expRngList.length) {
-				expRngList[wlan_id] = new ExponentialDistribution(SimSettings.getInstance().getMobilityLookUpTable()[placeTypeIndex]);
+			if (wlan_id >= 0 && wlan_id < meanWaitingTimes.length) {
+				meanWaitingTimes[wlan_id] = topology.getMeanWaitingTime(location.getPlaceTypeIndex());
 			}
 		}
 		
-		// Initialize timeline maps and assign initial positions to mobile devices
+		// Resolve the root seed on this thread before the workers derive their streams
+		SimUtils.getStreamSeed();
+		
+		// Each device draws from its own stream, so trajectories are generated in
+		// parallel on the common fork-join pool and do not depend on the thread count
+		double simulationTime = SimSettings.getInstance().getSimulationTime();
+		DeviceTrajectory[] generated = new DeviceTrajectory[numberOfMobileDevices];
+		IntStream.range(0, numberOfMobileDevices).parallel().forEach(i ->
+			generated[i] = generateTrajectory(i, places, meanWaitingTimes, simulationTime));
+		
+		// Pack the trajectories in device id order
+		TrajectoryTable.Builder builder = new TrajectoryTable.Builder(numberOfMobileDevices, places);
 		for(int i=0; i<numberOfMobileDevices; i++) {
-			treeMapArray.add(i, new TreeMap<Double, Location>());
-			
-			// Randomly assign initial location to each device
-			int randDatacenterId = SimUtils.getRandomNumber(0, edgeDatacenters.size()-1);
-			Element datacenterElement = edgeDatacenters.get(randDatacenterId);
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-			int placeTypeIndex = Integer.parseInt(attractiveness);
-			int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-			int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-			int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
+			builder.addDevice(i, generated[i].times, generated[i].placeIndices, generated[i].size);
+			generated[i] = null;
+		}
+		trajectories = builder.build();
 
-			// Set initial location at simulation start time (allows for initialization period)
-			treeMapArray.get(i).put(SimSettings.CLIENT_ACTIVITY_START_TIME, new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
+		// Replay every trajectory once so that per access point device counts become O(log n) lookups
+		occupancyIndex = new AccessPointOccupancyIndex(expSize);
+		for(int i=0; i<numberOfMobileDevices; i++) {
+			int numOfTransitions = trajectories.getNumOfTransitions(i);
+			for(int k=0; k<numOfTransitions; k++) {
+				double departureTime = (k + 1 < numOfTransitions)
+						? trajectories.getTransitionTime(i, k + 1) : Double.POSITIVE_INFINITY;
+				occupancyIndex.addStay(trajectories.getTransitionLocation(i, k).getServingWlanId(),
+						trajectories.getTransitionTime(i, k), departureTime);
+			}
 		}
+		occupancyIndex.build();
+	}
+
+	/**
+	 * Generates the movement trajectory of one device for the whole simulation.
+	 * 
+	 * @param deviceId Unique identifier of the mobile device
+	 * @param places Location of every edge datacenter
+	 * @param meanWaitingTimes Mean residence time indexed by serving WLAN id
+	 * @param simulationTime Duration of the simulation in seconds
+	 * @return Transitions of the device in ascending time order
+	 */
+	private DeviceTrajectory generateTrajectory(int deviceId, Location[] places, double[] meanWaitingTimes, double simulationTime) {
+		SplittableRandom rng = SimUtils.newDeviceRandom(RNG_STREAM_TAG, deviceId);
+		int numOfLocations = places.length;
+		DeviceTrajectory trajectory = new DeviceTrajectory();
 		
-		// Generate complete movement trajectory for each device throughout simulation
-		for(int i=0; i<numberOfMobileDevices; i++) {
-			TreeMap<Double, Location> treeMap = treeMapArray.get(i);
+		// Set initial location at simulation start time (allows for initialization period)
+		trajectory.add(SimSettings.CLIENT_ACTIVITY_START_TIME, SimUtils.getRandomNumber(rng, 0, numOfLocations-1));
 
-			// Continue generating location changes until simulation end time
-			while(treeMap.lastKey() < SimSettings.getInstance().getSimulationTime()) {				
-				boolean placeFound = false;
-			int currentLocationId = treeMap.lastEntry().getValue().getServingWlanId();
+		// Continue generating location changes until simulation end time
+		while(trajectory.lastTime() < simulationTime) {
+			boolean placeFound = false;
+			int currentLocationId = places[trajectory.lastPlaceIndex()].getServingWlanId();
 			// Sample residence time from exponential distribution for current location
-			double waitingTime = expRngList[currentLocationId].sample();
+			double waitingTime = SimUtils.getExponentialNumber(rng, meanWaitingTimes[currentLocationId]);
 			
 			// Select a new location different from current location
 			while(placeFound == false){
-				int newDatacenterId = SimUtils.getRandomNumber(0, edgeDatacenters.size()-1);
+				int newDatacenterId = SimUtils.getRandomNumber(rng, 0, numOfLocations-1);
 				// Ensure device moves to a different location (unless only one location exists)
-				if(edgeDatacenters.size() == 1 || newDatacenterId != currentLocationId){
+				if(numOfLocations == 1 || newDatacenterId != currentLocationId){
 					placeFound = true;
-					// Extract new location information from XML configuration
-					Element datacenterElement = edgeDatacenters.get(newDatacenterId);
-					Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-						String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-						int placeTypeIndex = Integer.parseInt(attractiveness);
-						int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-						int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-						int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-						
-						// Add new location to timeline at calculated transition time
-						treeMap.put(treeMap.lastKey()+waitingTime, new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
-					}
-				}
-				if(!placeFound){
-					SimLogger.printLine("impossible is occurred! location cannot be assigned to the device!");
-					System.exit(1);
+					// Add new location to timeline at calculated transition time
+					trajectory.add(trajectory.lastTime()+waitingTime, newDatacenterId);
 				}
 			}
+			if(!placeFound){
+				SimLogger.printLine("impossible is occurred! location cannot be assigned to the device!");
+				System.exit(1);
+			}
 		}
-
+		return trajectory;
 	}
 
 	/**
@@ -181,17 +200,41 @@ public class NomadicMobility extends MobilityModel {
 	 */
 	@Override
 	public Location getLocation(int deviceId, double time) {
-		TreeMap<Double, Location> treeMap = treeMapArray.get(deviceId);
-		
 		// Find the latest location entry before or at the requested time
-		Entry<Double, Location> e = treeMap.floorEntry(time);
+		Location location = trajectories.getLocation(deviceId, time);
 	    
-	    if(e == null){
+	    if(location == null){
 	    	SimLogger.printLine("impossible is occurred! no location is found for the device '" + deviceId + "' at " + time);
 	    	System.exit(1);
 	    }
 	    
-		return e.getValue();
+		return location;
+	}
+
+	/**
+	 * Returns the number of devices attached to the given access point using
+	 * the occupancy index built during initialization.
+	 * 
+	 * @param wlanId Serving WLAN id of the access point
+	 * @param time Simulation time when the count is requested (in seconds)
+	 * @return Number of devices served by the access point at the given time
+	 */
+	@Override
+	public int getDeviceCount(int wlanId, double time) {
+		return occupancyIndex.getDeviceCount(wlanId, time);
+	}
+
+	/**
+	 * Fills the number of attached devices for every access point using
+	 * the occupancy index built during initialization.
+	 * 
+	 * @param time Simulation time when the counts are requested (in seconds)
+	 * @param deviceCounts Output array indexed by WLAN id
+	 */
+	@Override
+	public void getDeviceCounts(double time, int[] deviceCounts) {
+		for(int i=0; i<deviceCounts.length; i++)
+			deviceCounts[i] = occupancyIndex.getDeviceCount(i, time);
 	}
 
 }
@@ -0,0 +1,219 @@
+/*
+ * Title:        EdgeCloudSim - Trajectory Table
+ *
+ * Description:
+ * TrajectoryTable stores the pre-generated location timeline of every
+ * mobile device in flat primitive arrays.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.mobility;
+
+import java.util.Arrays;
+
+import edu.boun.edgecloudsim.utils.Location;
+
+/**
+ * Compact (CSR style) storage for discrete device trajectories.
+ *
+ * The transitions of device d occupy the range [offsets[d], offsets[d+1]) of
+ * two parallel arrays: the transition time and the index of the place the
+ * device moves to. Places are shared Location instances, so a transition
+ * costs 12 bytes instead of a boxed Double, a TreeMap entry and a Location.
+ *
+ * getLocation() has the semantics of TreeMap.floorEntry(): the place of the
+ * last transition at or before the requested time; if several transitions
+ * share the same time the last one wins, like a repeated TreeMap.put().
+ * Simulation time only moves forward, so every device remembers the
+ * transition it returned last and checks it and its successor before
+ * falling back to a binary search.
+ */
+public class TrajectoryTable {
+	private final Location[] places;   // Place index -> shared Location
+	private final int[] offsets;       // Device id -> first transition, offsets[numOfDevices] = total
+	private final double[] times;      // Transition times, ascending per device
+	private final int[] placeIndices;  // Place reached at each transition
+	private final int[] cursors;       // Device id -> transition returned by the last lookup
+
+	private TrajectoryTable(Location[] places, int[] offsets, double[] times, int[] placeIndices) {
+		this.places = places;
+		this.offsets = offsets;
+		this.times = times;
+		this.placeIndices = placeIndices;
+		this.cursors = Arrays.copyOf(offsets, offsets.length - 1);
+	}
+
+	/**
+	 * Returns the place of the device at the given time.
+	 *
+	 * @param deviceId id of the mobile device
+	 * @param time simulation time (in seconds)
+	 * @return the location, or null if the time is before the first transition of the device
+	 */
+	public Location getLocation(int deviceId, double time) {
+		int start = offsets[deviceId];
+		int end = offsets[deviceId + 1];
+		int cursor = cursors[deviceId];
+
+		// Fast path: same or next segment as the previous query
+		if(times[cursor] <= time) {
+			if(cursor + 1 == end || times[cursor + 1] > time)
+				return places[placeIndices[cursor]];
+			if(cursor + 2 == end || times[cursor + 2] > time) {
+				cursors[deviceId] = cursor + 1;
+				return places[placeIndices[cursor + 1]];
+			}
+			start = cursor + 2;
+		}
+		else {
+			end = cursor;
+		}
+
+		// Last transition with times[i] <= time in [start, end)
+		int low = start;
+		int high = end;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(times[mid] <= time)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		if(low == offsets[deviceId])
+			return null;
+
+		cursors[deviceId] = low - 1;
+		return places[placeIndices[low - 1]];
+	}
+
+	public int getNumOfDevices() {
+		return cursors.length;
+	}
+
+	/**
+	 * Returns the number of transitions of a device, including its initial placement.
+	 *
+	 * @param deviceId id of the mobile device
+	 * @return number of stored transitions
+	 */
+	public int getNumOfTransitions(int deviceId) {
+		return offsets[deviceId + 1] - offsets[deviceId];
+	}
+
+	/**
+	 * Returns the time of the k-th transition of a device.
+	 */
+	public double getTransitionTime(int deviceId, int k) {
+		return times[offsets[deviceId] + k];
+	}
+
+	/**
+	 * Returns the place reached at the k-th transition of a device.
+	 */
+	public Location getTransitionLocation(int deviceId, int k) {
+		return places[placeIndices[offsets[deviceId] + k]];
+	}
+
+	/**
+	 * Collects trajectories device by device (device 0 first, transitions in
+	 * ascending time order) and packs them into a TrajectoryTable.
+	 */
+	public static class Builder {
+		private final Location[] places;
+		private final int[] offsets;
+		private double[] times;
+		private int[] placeIndices;
+		private int size;
+		private int currentDevice;
+
+		/**
+		 * @param numOfDevices number of mobile devices
+		 * @param places shared Location of every place index
+		 */
+		public Builder(int numOfDevices, Location[] places) {
+			this.places = places;
+			this.offsets = new int[numOfDevices + 1];
+			this.times = new double[Math.max(16, numOfDevices * 4)];
+			this.placeIndices = new int[times.length];
+			this.size = 0;
+			this.currentDevice = -1;
+		}
+
+		/**
+		 * Starts the trajectory of the next device; devices must be started in id order.
+		 *
+		 * @param deviceId id of the device, equal to the previous id + 1
+		 */
+		public void startDevice(int deviceId) {
+			if(deviceId != currentDevice + 1)
+				throw new IllegalStateException("Trajectories must be added in device id order");
+			currentDevice = deviceId;
+			offsets[deviceId] = size;
+		}
+
+		/**
+		 * Appends a transition to the current device.
+		 *
+		 * @param time time of the transition, not smaller than the previous one
+		 * @param placeIndex place the device moves to
+		 */
+		public void add(double time, int placeIndex) {
+			if(size == times.length) {
+				times = Arrays.copyOf(times, size * 2);
+				placeIndices = Arrays.copyOf(placeIndices, size * 2);
+			}
+			times[size] = time;
+			placeIndices[size] = placeIndex;
+			size++;
+		}
+
+		/**
+		 * Adds the complete trajectory of the next device at once.
+		 *
+		 * @param deviceId id of the device, equal to the previous id + 1
+		 * @param deviceTimes transition times in ascending order
+		 * @param devicePlaceIndices place reached at each transition
+		 * @param count number of transitions to copy from the two arrays
+		 */
+		public void addDevice(int deviceId, double[] deviceTimes, int[] devicePlaceIndices, int count) {
+			startDevice(deviceId);
+			if(size + count > times.length) {
+				int capacity = Math.max(size + count, times.length * 2);
+				times = Arrays.copyOf(times, capacity);
+				placeIndices = Arrays.copyOf(placeIndices, capacity);
+			}
+			System.arraycopy(deviceTimes, 0, times, size, count);
+			System.arraycopy(devicePlaceIndices, 0, placeIndices, size, count);
+			size += count;
+		}
+
+		/**
+		 * Returns the time of the last transition added.
+		 */
+		public double lastTime() {
+			return times[size - 1];
+		}
+
+		/**
+		 * Returns the place of the last transition added.
+		 */
+		public int lastPlaceIndex() {
+			return placeIndices[size - 1];
+		}
+
+		public TrajectoryTable build() {
+			if(currentDevice != offsets.length - 2)
+				throw new IllegalStateException("Trajectories of " + (offsets.length - 2 - currentDevice) + " devices are missing");
+			for(int d = 0; d < offsets.length - 1; d++) {
+				int end = (d + 1 < offsets.length - 1) ? offsets[d + 1] : size;
+				if(end == offsets[d])
+					throw new IllegalStateException("Device " + d + " has no initial location");
+			}
+			offsets[offsets.length - 1] = size;
+			return new TrajectoryTable(places, offsets,
+					Arrays.copyOf(times, size), Arrays.copyOf(placeIndices, size));
+		}
+	}
+}
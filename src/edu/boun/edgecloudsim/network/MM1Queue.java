@@ -286,8 +286,9 @@ public class MM1Queue extends NetworkModel {
 	/**
 	 * Counts the number of mobile devices currently at the specified location.
 	 * 
-	 * <p>This method iterates through all mobile devices and counts how many are
-	 * currently located at the same access point as the specified location. The count
+	 * <p>This method asks the mobility model how many devices are currently attached
+	 * to the access point serving the specified location. Mobility models backed by an
+	 * occupancy index answer in O(log n) instead of scanning every device. The count
 	 * is used to model network congestion in the M/M/1 queue calculations, where
 	 * higher device counts lead to increased arrival rates and longer delays.</p>
 	 * 
@@ -299,14 +300,8 @@ public class MM1Queue extends NetworkModel {
 	 * @return number of devices currently at the specified location
 	 */
 	private int getDeviceCount(Location deviceLocation, double time){
-		int deviceCount = 0;
-
-		// Iterate through all mobile devices to count co-located devices
-		for(int i = 0; i < numberOfMobileDevices; i++) {
-			Location location = SimManager.getInstance().getMobilityModel().getLocation(i, time);
-			if(location.equals(deviceLocation))
-				deviceCount++;
-		}
+		int deviceCount = SimManager.getInstance().getMobilityModel()
+				.getDeviceCount(deviceLocation.getServingWlanId(), time);
 
 		// Update maximum client count for debugging and validation
 		if(maxNumOfClientsInPlace < deviceCount)
@@ -14,8 +14,9 @@
 package edu.boun.edgecloudsim.task_generator;
 
 import java.util.ArrayList;
-
-import org.apache.commons.math3.distribution.ExponentialDistribution;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.TaskProperty;
@@ -41,7 +42,7 @@ import edu.boun.edgecloudsim.utils.SimUtils;
  * <p><b>Task Generation Process:</b>
  * <ol>
  *   <li>Assign each device a primary task type based on configured probabilities</li>
- *   <li>Create exponential random number generators for task characteristics</li>
+ *   <li>Derive a random stream per device for arrivals and task characteristics</li>
  *   <li>For each device, generate tasks during active periods using Poisson arrivals</li>
  *   <li>Skip task generation during idle periods</li>
  *   <li>Continue until simulation time is exhausted</li>
@@ -62,6 +63,21 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	/** Array storing the assigned task type for each mobile device */
 	int taskTypeOfDevices[];
 	
+	/** Tag of the per-device random streams of this generator, see SimUtils.newDeviceRandom */
+	private static final long RNG_STREAM_TAG = 2;
+	
+	/** Per-device generation cursor: random stream of the device (arrivals and task characteristics) */
+	private SplittableRandom[] rngOfDevices;
+	
+	/** Per-device generation cursor: start time of the current active period */
+	private double[] activePeriodStartTimes;
+	
+	/** Per-device generation cursor: virtual time of the last generated arrival */
+	private double[] virtualTimes;
+	
+	/** Whether tasks are generated on demand instead of being pre-materialized */
+	private boolean streaming;
+	
 	/**
 	 * Constructs a new IdleActiveLoadGenerator with the specified simulation parameters.
 	 * 
@@ -82,13 +98,20 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	 * 
 	 * <p>This method implements the core idle/active task generation algorithm with the following steps:
 	 * <ol>
-	 *   <li><b>Setup Phase:</b> Create exponential distribution generators for task characteristics</li>
+	 *   <li><b>Setup Phase:</b> Derive an independent random stream for every device from the RNG seed</li>
 	 *   <li><b>Device Assignment:</b> Assign each device a primary task type based on probabilities</li>
 	 *   <li><b>Task Generation:</b> For each device, generate tasks during active periods only</li>
 	 *   <li><b>Timing Control:</b> Use Poisson process for task arrivals within active periods</li>
 	 *   <li><b>Period Management:</b> Handle transitions between active and idle states</li>
 	 * </ol></p>
 	 * 
+	 * <p>When streaming task generation is enabled in SimSettings only the per-device
+	 * generation cursors are prepared here; tasks are then produced one at a time by
+	 * {@link #getNextTask(int)} while the simulation runs.</p>
+	 * 
+	 * <p>All randomness of a device comes from its own stream, so devices are generated
+	 * in parallel and the task list is the same for any number of threads.</p>
+	 * 
 	 * <p><b>Statistical Modeling:</b>
 	 * <ul>
 	 *   <li>Task inter-arrival times follow exponential distribution (Poisson process)</li>
@@ -99,100 +122,99 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	 */
 	@Override
 	public void initializeModel() {
-		taskList = new ArrayList<TaskProperty>();
+		streaming = SimSettings.getInstance().isStreamingTaskGenerationEnabled();
 		
-		// Create exponential distribution generators for task characteristics
-		// [task_type][0] = input size distribution, [1] = output size, [2] = task length
-		ExponentialDistribution[][] expRngList = new ExponentialDistribution[SimSettings.getInstance().getTaskLookUpTable().length][3];
+		taskTypeOfDevices = new int[numberOfMobileDevices];
+		rngOfDevices = new SplittableRandom[numberOfMobileDevices];
+		activePeriodStartTimes = new double[numberOfMobileDevices];
+		virtualTimes = new double[numberOfMobileDevices];
 		
-		// Initialize exponential random number generators for each active task type
-		for(int i = 0; i < SimSettings.getInstance().getTaskLookUpTable().length; i++) {
-			// Skip task types with zero probability (inactive task types)
-			if(SimSettings.getInstance().getTaskLookUpTable()[i][0] == 0)
-				continue;
-			
-			// Create generators for: [0] input size, [1] output size, [2] task computational length
-			expRngList[i][0] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][5]);
-			expRngList[i][1] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][6]);
-			expRngList[i][2] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][7]);
-		}
+		// Resolve the root seed on this thread before the workers derive their streams
+		SimUtils.getStreamSeed();
 		
-		// Phase 2: Assign each mobile device a primary application/task type
-		taskTypeOfDevices = new int[numberOfMobileDevices];
-		for(int i = 0; i < numberOfMobileDevices; i++) {
-			int randomTaskType = -1;
+		// Every device only touches its own stream and cursor, so devices are
+		// generated in parallel on the common fork-join pool
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		List<TaskProperty>[] tasksOfDevices = new List[numberOfMobileDevices];
+		IntStream.range(0, numberOfMobileDevices).parallel().forEach(i -> {
+			initializeDevice(i);
 			
-			// Use weighted random selection based on task type probabilities
-			double taskTypeSelector = SimUtils.getRandomDoubleNumber(0, 100);
-			double taskTypePercentage = 0;
-			
-			// Find the task type by cumulative probability distribution
-			for (int j = 0; j < SimSettings.getInstance().getTaskLookUpTable().length; j++) {
-				taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
-				if(taskTypeSelector <= taskTypePercentage){
-					randomTaskType = j;
-					break;
-				}
-			}
-			
-			// Validation: ensure a valid task type was selected
-			if(randomTaskType == -1){
-				SimLogger.printLine("Critical Error: No valid task type assigned to device " + i + "!");
-				continue;
-			}
-			
-			taskTypeOfDevices[i] = randomTaskType;
-			
-			// Extract task type specific parameters from lookup table
-			double poissonMean = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][2];  // Mean inter-arrival time
-			double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3]; // Active period duration
-			double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][4];   // Idle period duration
-			
-			// Randomize active period start time to avoid device synchronization
-			// Start sometime between CLIENT_ACTIVITY_START_TIME and CLIENT_ACTIVITY_START_TIME + activePeriod
-			double activePeriodStartTime = SimUtils.getRandomDoubleNumber(
-					SimSettings.CLIENT_ACTIVITY_START_TIME, 
-					SimSettings.CLIENT_ACTIVITY_START_TIME + activePeriod);
-			double virtualTime = activePeriodStartTime;
-
-			// Create Poisson process generator for task inter-arrival times
-			ExponentialDistribution rng = new ExponentialDistribution(poissonMean);
+			// In streaming mode tasks are pulled later via getNextTask()
+			if(streaming)
+				return;
 			
 			// Generate tasks for this device throughout the simulation duration
-			while(virtualTime < simulationTime) {
-				// Sample next task arrival interval from exponential distribution
-				double interval = rng.sample();
-
-				// Validate interval (should always be positive for exponential distribution)
-				if(interval <= 0){
-					SimLogger.printLine("Warning: Invalid interval " + interval + " for device " + i + " at time " + virtualTime);
-					continue;
-				}
-				
-				// Advance virtual time by the inter-arrival interval
-				virtualTime += interval;
-				
-				// Check if we've exceeded the current active period
-				if(virtualTime > activePeriodStartTime + activePeriod){
-					// Start new active period after idle period
-					activePeriodStartTime = activePeriodStartTime + activePeriod + idlePeriod;
-					virtualTime = activePeriodStartTime;
-					continue;  // Skip task creation, jump to next active period
-				}
-				
-				// Create task within active period
-				taskList.add(new TaskProperty(i, randomTaskType, virtualTime, expRngList));
+			List<TaskProperty> tasks = new ArrayList<TaskProperty>();
+			TaskProperty task = getNextTask(i);
+			while(task != null) {
+				tasks.add(task);
+				task = getNextTask(i);
+			}
+			tasksOfDevices[i] = tasks;
+		});
+		
+		// Concatenate in device order, the order of the sequential generator
+		int numOfTasks = 0;
+		for(int i = 0; i < numberOfMobileDevices; i++)
+			if(tasksOfDevices[i] != null)
+				numOfTasks += tasksOfDevices[i].size();
+		taskList = new ArrayList<TaskProperty>(numOfTasks);
+		for(int i = 0; i < numberOfMobileDevices; i++)
+			if(tasksOfDevices[i] != null)
+				taskList.addAll(tasksOfDevices[i]);
+	}
+	
+	/**
+	 * Assigns the task type and the first active period of a device.
+	 * 
+	 * @param deviceId the unique identifier of the mobile device
+	 */
+	private void initializeDevice(int deviceId) {
+		SplittableRandom rng = SimUtils.newDeviceRandom(RNG_STREAM_TAG, deviceId);
+		int randomTaskType = -1;
+		
+		// Use weighted random selection based on task type probabilities
+		double taskTypeSelector = SimUtils.getRandomDoubleNumber(rng, 0, 100);
+		double taskTypePercentage = 0;
+		
+		// Find the task type by cumulative probability distribution
+		for (int j = 0; j < SimSettings.getInstance().getTaskLookUpTable().length; j++) {
+			taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
+			if(taskTypeSelector <= taskTypePercentage){
+				randomTaskType = j;
+				break;
 			}
 		}
+		
+		// Validation: ensure a valid task type was selected
+		if(randomTaskType == -1){
+			SimLogger.printLine("Critical Error: No valid task type assigned to device " + deviceId + "!");
+			return;
+		}
+		
+		taskTypeOfDevices[deviceId] = randomTaskType;
+		
+		// Active period duration of the task type
+		double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3];
+		
+		// Randomize active period start time to avoid device synchronization
+		// Start sometime between CLIENT_ACTIVITY_START_TIME and CLIENT_ACTIVITY_START_TIME + activePeriod
+		activePeriodStartTimes[deviceId] = SimUtils.getRandomDoubleNumber(rng,
+				SimSettings.CLIENT_ACTIVITY_START_TIME, 
+				SimSettings.CLIENT_ACTIVITY_START_TIME + activePeriod);
+		virtualTimes[deviceId] = activePeriodStartTimes[deviceId];
+		
+		// The stream also drives the Poisson arrivals and the task characteristics
+		rngOfDevices[deviceId] = rng;
 	}
 
 	/**
 	 * Returns the assigned task type for the specified mobile device.
-	 * 
+	 *
 	 * <p>Each device is assigned a primary task type during initialization based on
 	 * the probability distribution defined in the simulation configuration. This method
 	 * provides access to that assignment for other simulation components.</p>
-	 * 
+	 *
 	 * <p>The task type determines the device's application behavior including:
 	 * <ul>
 	 *   <li>Task generation frequency (Poisson mean)</li>
@@ -200,7 +222,7 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	 *   <li>Task computational requirements</li>
 	 *   <li>Input and output data size characteristics</li>
 	 * </ul></p>
-	 * 
+	 *
 	 * @param deviceId the unique identifier of the mobile device
 	 * @return the task type index assigned to this device during initialization
 	 */
@@ -209,4 +231,63 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 		return taskTypeOfDevices[deviceId];
 	}
 
+	/**
+	 * Returns whether tasks are generated on demand, as configured by the
+	 * streaming_task_generation setting.
+	 * 
+	 * @return true if the simulation manager must pull tasks via {@link #getNextTask(int)}
+	 */
+	@Override
+	public boolean isTaskStreamingEnabled() {
+		return streaming;
+	}
+
+	/**
+	 * Advances the generation cursor of a device to its next task arrival.
+	 * 
+	 * <p>Arrivals follow the device's Poisson process within active periods; an
+	 * arrival falling outside the current active period moves the cursor to the
+	 * start of the next active period after the idle period.</p>
+	 * 
+	 * @param deviceId the unique identifier of the mobile device
+	 * @return next task of the device, or null once the simulation time is exhausted
+	 */
+	@Override
+	public TaskProperty getNextTask(int deviceId) {
+		SplittableRandom rng = rngOfDevices[deviceId];
+		if(rng == null)
+			return null;
+		
+		int taskType = taskTypeOfDevices[deviceId];
+		double poissonMean = SimSettings.getInstance().getTaskLookUpTable()[taskType][2];  // Mean inter-arrival time
+		double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[taskType][3]; // Active period duration
+		double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[taskType][4];   // Idle period duration
+		
+		while(virtualTimes[deviceId] < simulationTime) {
+			// Sample next task arrival interval from exponential distribution
+			double interval = SimUtils.getExponentialNumber(rng, poissonMean);
+
+			// Validate interval (should always be positive for exponential distribution)
+			if(interval <= 0){
+				SimLogger.printLine("Warning: Invalid interval " + interval + " for device " + deviceId + " at time " + virtualTimes[deviceId]);
+				continue;
+			}
+			
+			// Advance virtual time by the inter-arrival interval
+			virtualTimes[deviceId] += interval;
+			
+			// Check if we've exceeded the current active period
+			if(virtualTimes[deviceId] > activePeriodStartTimes[deviceId] + activePeriod){
+				// Start new active period after idle period
+				activePeriodStartTimes[deviceId] = activePeriodStartTimes[deviceId] + activePeriod + idlePeriod;
+				virtualTimes[deviceId] = activePeriodStartTimes[deviceId];
+				continue;  // Skip task creation, jump to next active period
+			}
+			
+			// Create task within active period
+			return new TaskProperty(deviceId, taskType, virtualTimes[deviceId], rng);
+		}
+		return null;
+	}
+
 }
@@ -149,4 +149,34 @@ public abstract class LoadGeneratorModel {
 	 * @return task type index corresponding to the device's primary application type
 	 */
 	public abstract int getTaskTypeOfDevice(int deviceId);
+
+	/**
+	 * Returns whether this model generates tasks on demand via {@link #getNextTask(int)}.
+	 *
+	 * <p>Streaming models keep only a per-device generation cursor instead of the
+	 * complete task list. The simulation manager then schedules one pending arrival
+	 * per device and asks for the next one when the previous task is created, so
+	 * heap usage grows with the number of devices rather than the number of tasks.
+	 * In streaming mode {@link #getTaskList()} returns an empty list.</p>
+	 *
+	 * <p>The default implementation returns false (pre-calculated task list).</p>
+	 *
+	 * @return true if tasks must be pulled with {@link #getNextTask(int)}
+	 */
+	public boolean isTaskStreamingEnabled() {
+		return false;
+	}
+
+	/**
+	 * Generates the next task of the given device in streaming mode.
+	 *
+	 * <p>Successive calls for the same device return tasks with non-decreasing
+	 * start times. Only meaningful when {@link #isTaskStreamingEnabled()} returns true.</p>
+	 *
+	 * @param deviceId the unique identifier of the mobile device
+	 * @return next task of the device, or null if the device has no more tasks
+	 */
+	public TaskProperty getNextTask(int deviceId) {
+		return null;
+	}
 }
@@ -0,0 +1,144 @@
+/*
+ * Title:        EdgeCloudSim - Console Logger
+ *
+ * Description:
+ * ConsoleLogger is a small leveled logging facade for console messages
+ * of the simulation components, configured per subsystem from the
+ * .properties file.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leveled console logger of one subsystem (e.g. "dag").
+ *
+ * <p>The level of a subsystem is read from {@code log_level_<subsystem>}, or
+ * {@code log_level} if that key is missing; the default is INFO. Messages on
+ * hot paths should be guarded so that a disabled statement costs one field
+ * read and no argument formatting:</p>
+ *
+ * <pre>
+ * if (LOG.isDebugEnabled())
+ *     LOG.debug("Task finished: " + taskId);
+ * </pre>
+ *
+ * <p>ERROR and WARN messages go to System.err, the others to System.out.
+ * WARN and ERROR are rate limited to {@code log_rate_limit} lines per second
+ * and subsystem (default 10, 0 = unlimited); the number of suppressed lines
+ * is reported with the next line that passes.</p>
+ */
+public final class ConsoleLogger {
+	public enum Level { OFF, ERROR, WARN, INFO, DEBUG }
+
+	private static final Map<String, ConsoleLogger> LOGGERS = new ConcurrentHashMap<>();
+	private static Properties configuration = new Properties();
+	private static int rateLimit = 10;
+
+	private final String subsystem;
+	private volatile Level level;
+
+	// Rate limiting state of WARN and ERROR lines
+	private long windowStart;
+	private int linesInWindow;
+	private long suppressedLines;
+
+	private ConsoleLogger(String subsystem) {
+		this.subsystem = subsystem;
+		this.level = levelOf(subsystem);
+	}
+
+	/**
+	 * Returns the logger of a subsystem; loggers are shared and created on first use.
+	 *
+	 * @param subsystem name used in the log_level_&lt;subsystem&gt; property
+	 * @return the logger
+	 */
+	public static ConsoleLogger getLogger(String subsystem) {
+		return LOGGERS.computeIfAbsent(subsystem, ConsoleLogger::new);
+	}
+
+	/**
+	 * Reads the log levels and the rate limit from the simulation properties
+	 * and applies them to the loggers created so far.
+	 *
+	 * @param prop loaded simulation properties
+	 */
+	public static synchronized void configure(Properties prop) {
+		configuration = prop;
+		rateLimit = Integer.parseInt(prop.getProperty("log_rate_limit", "10").trim());
+		for (ConsoleLogger logger : LOGGERS.values())
+			logger.level = levelOf(logger.subsystem);
+	}
+
+	public boolean isEnabled(Level messageLevel) {
+		return messageLevel.ordinal() <= level.ordinal();
+	}
+
+	public boolean isDebugEnabled() {
+		return Level.DEBUG.ordinal() <= level.ordinal();
+	}
+
+	public boolean isInfoEnabled() {
+		return Level.INFO.ordinal() <= level.ordinal();
+	}
+
+	public void error(String msg) {
+		if (isEnabled(Level.ERROR))
+			printLimited(System.err, "ERROR: " + msg);
+	}
+
+	public void warn(String msg) {
+		if (isEnabled(Level.WARN))
+			printLimited(System.err, "WARNING: " + msg);
+	}
+
+	public void info(String msg) {
+		if (isEnabled(Level.INFO))
+			System.out.println(msg);
+	}
+
+	public void debug(String msg) {
+		if (isEnabled(Level.DEBUG))
+			System.out.println(msg);
+	}
+
+	private synchronized void printLimited(PrintStream out, String line) {
+		if (rateLimit > 0) {
+			long now = System.nanoTime();
+			if (now - windowStart >= 1_000_000_000L) {
+				windowStart = now;
+				linesInWindow = 0;
+			}
+			if (++linesInWindow > rateLimit) {
+				suppressedLines++;
+				return;
+			}
+		}
+		if (suppressedLines > 0) {
+			out.println("[" + subsystem + "] " + suppressedLines + " similar lines suppressed");
+			suppressedLines = 0;
+		}
+		out.println(line);
+	}
+
+	private static synchronized Level levelOf(String subsystem) {
+		String value = configuration.getProperty("log_level_" + subsystem,
+				configuration.getProperty("log_level", Level.INFO.name()));
+		try {
+			return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e) {
+			System.err.println("Unknown log level '" + value + "' for " + subsystem + ", using INFO");
+			return Level.INFO;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Title:        EdgeCloudSim - Latency Histogram
+ *
+ * Description:
+ * LatencyHistogram counts recorded values in logarithmic buckets with linear
+ * sub-buckets so that percentiles can be reported from a fixed amount of memory.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+/**
+ * Fixed-memory, mergeable histogram for latency percentiles (HDR style).
+ *
+ * <p>Values are converted to integer units of the configured resolution. Units
+ * below 256 get a bucket each; above that every power of two is split into 128
+ * equally wide sub-buckets, so a bucket never spans more than 1/128 of its
+ * value and a reported percentile is within 0.4% of the recorded value (or
+ * within one resolution step for small values). Values above the highest
+ * trackable value are counted in the last bucket; the exact minimum, maximum
+ * and sum are kept separately.</p>
+ *
+ * <p>The bucket array is allocated by the first {@link #record(double)}; later
+ * calls do not allocate. Histograms created with the same parameters can be
+ * merged with {@link #add(LatencyHistogram)}.</p>
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 8;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+	private final double resolution;          // Value of one unit
+	private final long highestTrackableUnits; // Larger values are clamped to this
+	private final int numOfBuckets;
+	private long[] counts;                    // Allocated on first record
+	private long totalCount;
+	private double sum;
+	private double min;
+	private double max;
+
+	/**
+	 * Creates an empty histogram.
+	 *
+	 * @param resolution smallest difference between values that is kept (e.g. 1e-6 for microseconds)
+	 * @param highestTrackableValue largest value that is bucketed without clamping
+	 */
+	public LatencyHistogram(double resolution, double highestTrackableValue) {
+		if(resolution <= 0 || highestTrackableValue <= resolution)
+			throw new IllegalArgumentException("Invalid histogram range: " + resolution + " - " + highestTrackableValue);
+		this.resolution = resolution;
+		this.highestTrackableUnits = Math.max(SUB_BUCKET_COUNT, (long)Math.ceil(highestTrackableValue / resolution));
+		this.numOfBuckets = bucketIndex(highestTrackableUnits) + 1;
+		this.min = Double.POSITIVE_INFINITY;
+		this.max = Double.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Counts one value; negative values and NaN are counted as zero.
+	 *
+	 * @param value the value to record
+	 */
+	public void record(double value) {
+		if(!(value > 0))
+			value = 0;
+		if(counts == null)
+			counts = new long[numOfBuckets];
+
+		long units = (long)(value / resolution);
+		if(units > highestTrackableUnits)
+			units = highestTrackableUnits;
+		counts[bucketIndex(units)]++;
+
+		totalCount++;
+		sum += value;
+		if(value < min)
+			min = value;
+		if(value > max)
+			max = value;
+	}
+
+	/**
+	 * Adds the counts of another histogram created with the same parameters.
+	 *
+	 * @param other histogram to merge into this one
+	 */
+	public void add(LatencyHistogram other) {
+		if(other.resolution != resolution || other.numOfBuckets != numOfBuckets)
+			throw new IllegalArgumentException("Cannot merge histograms with different ranges");
+		if(other.totalCount == 0)
+			return;
+		if(counts == null)
+			counts = new long[numOfBuckets];
+		for(int i = 0; i < numOfBuckets; i++)
+			counts[i] += other.counts[i];
+
+		totalCount += other.totalCount;
+		sum += other.sum;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Returns the value below which the given percentage of the recorded values fall.
+	 *
+	 * @param percentile percentage between 0 and 100
+	 * @return midpoint of the bucket holding the percentile, or 0 if nothing was recorded
+	 */
+	public double getValueAtPercentile(double percentile) {
+		if(totalCount == 0)
+			return 0;
+		if(percentile >= 100)
+			return max;
+
+		long rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * totalCount));
+		long cumulative = 0;
+		int index = 0;
+		for(; index < numOfBuckets; index++) {
+			cumulative += counts[index];
+			if(cumulative >= rank)
+				break;
+		}
+
+		double value;
+		if(index < SUB_BUCKET_COUNT) {
+			value = (index + 0.5) * resolution;
+		}
+		else {
+			int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+			long lowestUnits = (long)(index - shift * SUB_BUCKET_HALF_COUNT) << shift;
+			value = (lowestUnits + (1L << shift) * 0.5) * resolution;
+		}
+		return Math.min(max, Math.max(min, value));
+	}
+
+	public long getCount() {
+		return totalCount;
+	}
+
+	public double getMean() {
+		return (totalCount == 0) ? 0 : sum / totalCount;
+	}
+
+	public double getMin() {
+		return (totalCount == 0) ? 0 : min;
+	}
+
+	public double getMax() {
+		return (totalCount == 0) ? 0 : max;
+	}
+
+	/**
+	 * Maps a unit count to its bucket: linear below SUB_BUCKET_COUNT, then
+	 * SUB_BUCKET_HALF_COUNT buckets per power of two.
+	 */
+	private static int bucketIndex(long units) {
+		if(units < SUB_BUCKET_COUNT)
+			return (int)units;
+		int shift = 63 - Long.numberOfLeadingZeros(units) - (SUB_BUCKET_BITS - 1);
+		return shift * SUB_BUCKET_HALF_COUNT + (int)(units >>> shift);
+	}
+}
@@ -33,6 +33,11 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -46,6 +51,7 @@ import edu.boun.edgecloudsim.cloud_server.CloudVM;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.dagsim.DagRuntimeManager;
 import edu.boun.edgecloudsim.edge_client.mobile_processing_unit.MobileVM;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.utils.SimLogger.NETWORK_ERRORS;
@@ -181,8 +187,8 @@ public class SimLogger {
 	/** Directory path for simulation output files */
 	private String outputFolder;
 
-	/** Map storing detailed task event information for deep logging */
-	private Map<Integer, LogItem> taskMap;
+	/** Lifecycle records of the in-flight tasks, indexed by task id */
+	private TaskLogTable taskTable;
 
 	/** List tracking VM computational load over time */
 	private LinkedList<VmLoadLogItem> vmLoadList;
@@ -262,6 +268,26 @@ public class SimLogger {
 
 	/** Total number of completed DAGs for per-DAG cost calculation */
 	private int completedDagCount = 0;
+	private int failedDagCount = 0;
+
+	// percentile histograms of completed tasks: [app type][tier]
+	// last app type index is all app types, tier index HISTOGRAM_ALL_TIERS is all tiers
+	private static final int HISTOGRAM_ALL_TIERS = 0;
+	private static final int HISTOGRAM_EDGE = 1;
+	private static final int HISTOGRAM_CLOUD = 2;
+	private static final int HISTOGRAM_MOBILE = 3;
+	private static final int NUM_OF_HISTOGRAM_TIERS = 4;
+
+	/** Percentiles written to the generic result files for every histogram */
+	private static final double[] REPORTED_PERCENTILES = { 50, 95, 99 };
+
+	private LatencyHistogram[][] serviceTimeHistogram = null;
+	private LatencyHistogram[][] processingTimeHistogram = null;
+	private LatencyHistogram[][] networkDelayHistogram = null;
+	private LatencyHistogram[][] orchestratorOverheadHistogram = null;
+
+	/** DAG makespans in milliseconds */
+	private LatencyHistogram dagMakespanHistogram = null;
 
 	/**
 	 * Private constructor implementing Singleton pattern.
@@ -360,37 +386,30 @@ public class SimLogger {
 		return outputFolder;
 	}
 
-	/**
-	 * Returns the task map for accessing detailed task log items.
-	 * Used for setting cost and QoE metrics during task completion.
-	 * 
-	 * @return the map of task IDs to LogItem objects
-	 */
-	public Map<Integer, LogItem> getTaskMap() {
-		return taskMap;
-	}
-
 	/**
 	 * Returns metrics for a specific task as a Map of keys to values.
-	 * This allows external packages to access LogItem data without making the class
-	 * public.
+	 * This allows external packages to read the record of an in-flight task
+	 * without exposing the task table.
+	 * 
+	 * @param taskId unique identifier for the task
+	 * @return metrics of the task, or null if the task is not in flight
 	 */
 	public Map<String, Double> getTaskMetrics(int taskId) {
-		LogItem item = taskMap.get(taskId);
-		if (item == null)
+		int slot = taskTable.find(taskId);
+		if (slot < 0)
 			return null;
 
 		Map<String, Double> metrics = new HashMap<>();
-		metrics.put("startTime", item.getTaskStartTime());
-		metrics.put("endTime", item.getTaskEndTime());
-		metrics.put("lanUploadDelay", item.getNetworkUploadDelay(NETWORK_DELAY_TYPES.WLAN_DELAY));
-		metrics.put("wanUploadDelay", item.getNetworkUploadDelay(NETWORK_DELAY_TYPES.WAN_DELAY));
-		metrics.put("lanDownloadDelay", item.getNetworkDownloadDelay(NETWORK_DELAY_TYPES.WLAN_DELAY));
-		metrics.put("wanDownloadDelay", item.getNetworkDownloadDelay(NETWORK_DELAY_TYPES.WAN_DELAY));
-		metrics.put("netDelay", item.getNetworkDelay());
-		metrics.put("bwCost", item.getBwCost());
-		metrics.put("cpuCost", item.getCpuCost());
-		metrics.put("qoe", item.getQoE());
+		metrics.put("startTime", taskTable.getTaskStartTime(slot));
+		metrics.put("endTime", taskTable.getTaskEndTime(slot));
+		metrics.put("lanUploadDelay", taskTable.getNetworkUploadDelay(slot, NETWORK_DELAY_TYPES.WLAN_DELAY));
+		metrics.put("wanUploadDelay", taskTable.getNetworkUploadDelay(slot, NETWORK_DELAY_TYPES.WAN_DELAY));
+		metrics.put("lanDownloadDelay", taskTable.getNetworkDownloadDelay(slot, NETWORK_DELAY_TYPES.WLAN_DELAY));
+		metrics.put("wanDownloadDelay", taskTable.getNetworkDownloadDelay(slot, NETWORK_DELAY_TYPES.WAN_DELAY));
+		metrics.put("netDelay", taskTable.getNetworkDelay(slot));
+		metrics.put("bwCost", taskTable.getBwCost(slot));
+		metrics.put("cpuCost", taskTable.getCpuCost(slot));
+		metrics.put("qoe", taskTable.getQoE(slot));
 		return metrics;
 	}
 
@@ -467,7 +486,8 @@ public class SimLogger {
 		startTime = System.currentTimeMillis();
 		filePrefix = fileName;
 		outputFolder = outFolder;
-		taskMap = new HashMap<Integer, LogItem>();
+		taskTable = new TaskLogTable(1024);
+		failedDagCount = 0;
 		vmLoadList = new LinkedList<VmLoadLogItem>();
 		apDelayList = new LinkedList<ApDelayLogItem>();
 
@@ -547,13 +567,31 @@ public class SimLogger {
 		refectedTaskDuetoWlanRange = new int[numOfAppTypes + 1];
 
 		orchestratorOverhead = new double[numOfAppTypes + 1];
+
+		// times in seconds with microsecond resolution, overhead in nanoseconds
+		serviceTimeHistogram = createHistograms(1e-6, 1e6);
+		processingTimeHistogram = createHistograms(1e-6, 1e6);
+		networkDelayHistogram = createHistograms(1e-6, 1e6);
+		orchestratorOverheadHistogram = createHistograms(1, 1e12);
+		dagMakespanHistogram = new LatencyHistogram(1e-3, 1e9);
+	}
+
+	/**
+	 * Creates one empty histogram per app type (plus all app types) and tier.
+	 */
+	private LatencyHistogram[][] createHistograms(double resolution, double highestTrackableValue) {
+		LatencyHistogram[][] histograms = new LatencyHistogram[numOfAppTypes + 1][NUM_OF_HISTOGRAM_TIERS];
+		for (int i = 0; i < numOfAppTypes + 1; i++)
+			for (int j = 0; j < NUM_OF_HISTOGRAM_TIERS; j++)
+				histograms[i][j] = new LatencyHistogram(resolution, highestTrackableValue);
+		return histograms;
 	}
 
 	/**
 	 * Creates a new log entry for a task with its basic characteristics.
 	 * 
 	 * <p>
-	 * Initializes logging for a new task by creating a LogItem with the specified
+	 * Initializes logging for a new task by creating a task record with the specified
 	 * parameters. This method should be called when a task is first created and
 	 * before any processing begins.
 	 * </p>
@@ -567,7 +605,7 @@ public class SimLogger {
 	 */
 	public void addLog(int deviceId, int taskId, int taskType,
 			int taskLenght, int taskInputType, int taskOutputSize) {
-		taskMap.put(taskId, new LogItem(deviceId, taskType, taskLenght, taskInputType, taskOutputSize));
+		taskTable.add(taskId, deviceId, taskType, taskLenght, taskInputType, taskOutputSize);
 	}
 
 	/**
@@ -577,7 +615,7 @@ public class SimLogger {
 	 * @param time   simulation time when task processing begins
 	 */
 	public void taskStarted(int taskId, double time) {
-		taskMap.get(taskId).taskStarted(time);
+		taskTable.taskStarted(taskId, time);
 	}
 
 	/**
@@ -588,7 +626,7 @@ public class SimLogger {
 	 * @param delayType type of network segment causing the delay
 	 */
 	public void setUploadDelay(int taskId, double delay, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).setUploadDelay(delay, delayType);
+		taskTable.setUploadDelay(taskId, delay, delayType);
 	}
 
 	/**
@@ -599,7 +637,7 @@ public class SimLogger {
 	 * @param delayType type of network segment causing the delay
 	 */
 	public void setDownloadDelay(int taskId, double delay, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).setDownloadDelay(delay, delayType);
+		taskTable.setDownloadDelay(taskId, delay, delayType);
 	}
 
 	/**
@@ -613,7 +651,7 @@ public class SimLogger {
 	 *                     (cloud/edge/mobile)
 	 */
 	public void taskAssigned(int taskId, int datacenterId, int hostId, int vmId, int vmType) {
-		taskMap.get(taskId).taskAssigned(datacenterId, hostId, vmId, vmType);
+		taskTable.taskAssigned(taskId, datacenterId, hostId, vmId, vmType);
 	}
 
 	/**
@@ -622,7 +660,7 @@ public class SimLogger {
 	 * @param taskId unique identifier for the task
 	 */
 	public void taskExecuted(int taskId) {
-		taskMap.get(taskId).taskExecuted();
+		taskTable.setStatus(taskId, TASK_STATUS.DOWNLOADING);
 	}
 
 	/**
@@ -638,8 +676,7 @@ public class SimLogger {
 	 * @param time   simulation time when task completed
 	 */
 	public void taskEnded(int taskId, double time) {
-		taskMap.get(taskId).taskEnded(time);
-		recordLog(taskId);
+		recordLog(taskTable.taskEnded(taskId, time, TASK_STATUS.COMLETED, -1, null));
 	}
 
 	/**
@@ -650,8 +687,7 @@ public class SimLogger {
 	 * @param vmType type of VM that rejected the task (cloud/edge/mobile)
 	 */
 	public void rejectedDueToVMCapacity(int taskId, double time, int vmType) {
-		taskMap.get(taskId).taskRejectedDueToVMCapacity(time, vmType);
-		recordLog(taskId);
+		recordLog(taskTable.taskEnded(taskId, time, TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY, vmType, null));
 	}
 
 	/**
@@ -662,8 +698,7 @@ public class SimLogger {
 	 * @param vmType intended VM type for the rejected task
 	 */
 	public void rejectedDueToWlanCoverage(int taskId, double time, int vmType) {
-		taskMap.get(taskId).taskRejectedDueToWlanCoverage(time, vmType);
-		recordLog(taskId);
+		recordLog(taskTable.taskEnded(taskId, time, TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE, vmType, null));
 	}
 
 	/**
@@ -675,8 +710,7 @@ public class SimLogger {
 	 * @param delayType network segment that caused the bandwidth limitation
 	 */
 	public void rejectedDueToBandwidth(int taskId, double time, int vmType, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).taskRejectedDueToBandwidth(time, vmType, delayType);
-		recordLog(taskId);
+		recordLog(taskTable.taskEnded(taskId, time, TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH, vmType, delayType));
 	}
 
 	/**
@@ -687,8 +721,7 @@ public class SimLogger {
 	 * @param delayType network segment that caused the bandwidth failure
 	 */
 	public void failedDueToBandwidth(int taskId, double time, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).taskFailedDueToBandwidth(time, delayType);
-		recordLog(taskId);
+		recordLog(taskTable.taskEnded(taskId, time, TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH, -1, delayType));
 	}
 
 	/**
@@ -698,8 +731,7 @@ public class SimLogger {
 	 * @param time   simulation time when mobility failure occurred
 	 */
 	public void failedDueToMobility(int taskId, double time) {
-		taskMap.get(taskId).taskFailedDueToMobility(time);
-		recordLog(taskId);
+		recordLog(taskTable.taskEnded(taskId, time, TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY, -1, null));
 	}
 
 	/**
@@ -709,7 +741,7 @@ public class SimLogger {
 	 * @param QoE    quality of experience score
 	 */
 	public void setQoE(int taskId, double QoE) {
-		taskMap.get(taskId).setQoE(QoE);
+		taskTable.setQoE(taskId, QoE);
 	}
 
 	/**
@@ -720,9 +752,7 @@ public class SimLogger {
 	 * @param cpuCost CPU execution cost in dollars
 	 */
 	public void setCost(int taskId, double _bwCost, double _cpuCost) {
-		taskMap.get(taskId).setCost(_bwCost, _cpuCost);
-
-		int taskType = taskMap.get(taskId).getTaskType();
+		int taskType = taskTable.getTaskType(taskTable.setCost(taskId, _bwCost, _cpuCost));
 		bwCost[taskType] += _bwCost;
 		cpuCost[taskType] += _cpuCost;
 		cost[taskType] += (_bwCost + _cpuCost);
@@ -735,7 +765,7 @@ public class SimLogger {
 	 * @param overhead orchestration overhead in seconds
 	 */
 	public void setOrchestratorOverhead(int taskId, double overhead) {
-		taskMap.get(taskId).setOrchestratorOverhead(overhead);
+		taskTable.setOrchestratorOverhead(taskId, overhead);
 	}
 
 	/**
@@ -745,6 +775,24 @@ public class SimLogger {
 		completedDagCount++;
 	}
 
+	/**
+	 * Increments the completed DAG counter and records the DAG makespan
+	 * for the makespan percentiles.
+	 * 
+	 * @param makespanMs makespan of the DAG in milliseconds
+	 */
+	public void addCompletedDag(double makespanMs) {
+		completedDagCount++;
+		dagMakespanHistogram.record(makespanMs);
+	}
+
+	/**
+	 * Increments the failed DAG counter (DAGs ended by a rejected or failed task).
+	 */
+	public void addFailedDag() {
+		failedDagCount++;
+	}
+
 	/**
 	 * Records VM utilization across different processing tiers.
 	 * 
@@ -806,6 +854,7 @@ public class SimLogger {
 	 */
 	public void simStopped() throws IOException {
 		endTime = System.currentTimeMillis();
+		long[] heapResidency = getHeapResidency();
 		File vmLoadFile = null, locationFile = null, apUploadDelayFile = null, apDownloadDelayFile = null;
 		FileWriter vmLoadFW = null, locationFW = null, apUploadDelayFW = null, apDownloadDelayFW = null;
 		BufferedWriter vmLoadBW = null, locationBW = null, apUploadDelayBW = null, apDownloadDelayBW = null;
@@ -857,17 +906,19 @@ public class SimLogger {
 			appendToFile(apDownloadDelayBW, "#auto generated file!");
 		}
 
-		// the tasks in the map is not completed yet!
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
+		// the tasks in the table are not completed yet!
+		for (int slot = 0; slot < taskTable.getSlotLimit(); slot++) {
+			if (!taskTable.isInUse(slot))
+				continue;
 
-			uncompletedTask[value.getTaskType()]++;
-			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-				uncompletedTaskOnCloud[value.getTaskType()]++;
-			else if (value.getVmType() == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
-				uncompletedTaskOnMobile[value.getTaskType()]++;
+			int taskType = taskTable.getTaskType(slot);
+			uncompletedTask[taskType]++;
+			if (taskTable.getVmType(slot) == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
+				uncompletedTaskOnCloud[taskType]++;
+			else if (taskTable.getVmType(slot) == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
+				uncompletedTaskOnMobile[taskType]++;
 			else
-				uncompletedTaskOnEdge[value.getTaskType()]++;
+				uncompletedTaskOnEdge[taskType]++;
 		}
 
 		// calculate total values
@@ -926,6 +977,11 @@ public class SimLogger {
 
 		orchestratorOverhead[numOfAppTypes] = DoubleStream.of(orchestratorOverhead).sum();
 
+		mergeHistogramTotals(serviceTimeHistogram);
+		mergeHistogramTotals(processingTimeHistogram);
+		mergeHistogramTotals(networkDelayHistogram);
+		mergeHistogramTotals(orchestratorOverheadHistogram);
+
 		// calculate server load
 		double totalVmLoadOnEdge = 0;
 		double totalVmLoadOnCloud = 0;
@@ -943,17 +999,14 @@ public class SimLogger {
 			// assuming each location has only one access point
 			double locationLogInterval = SimSettings.getInstance().getLocationLogInterval();
 			if (locationLogInterval != 0) {
+				int[] locationInfo = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
 				for (int t = 1; t < (SimSettings.getInstance().getSimulationTime() / locationLogInterval); t++) {
-					int[] locationInfo = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
 					Double time = t * SimSettings.getInstance().getLocationLogInterval();
 
 					if (time < SimSettings.CLIENT_ACTIVITY_START_TIME)
 						continue;
 
-					for (int i = 0; i < SimManager.getInstance().getNumOfMobileDevice(); i++) {
-						Location loc = SimManager.getInstance().getMobilityModel().getLocation(i, time);
-						locationInfo[loc.getServingWlanId()]++;
-					}
+					SimManager.getInstance().getMobilityModel().getDeviceCounts(time, locationInfo);
 
 					locationBW.write(time.toString());
 					for (int i = 0; i < locationInfo.length; i++)
@@ -1092,8 +1145,24 @@ public class SimLogger {
 				appendToFile(genericBWs[i], genericResult5);
 
 				// append performance related values only to ALL_ALLPS file
-				if (i == numOfAppTypes) {
+				if (i == numOfAppTypes)
 					appendToFile(genericBWs[i], genericResult6);
+
+				// percentiles follow the rows above; per tier (all/edge/cloud/mobile):
+				// count, p50, p95, p99, max
+				appendToFile(genericBWs[i], getPercentileResult(serviceTimeHistogram[i]));
+				appendToFile(genericBWs[i], getPercentileResult(processingTimeHistogram[i]));
+				appendToFile(genericBWs[i], getPercentileResult(networkDelayHistogram[i]));
+				appendToFile(genericBWs[i], getPercentileResult(orchestratorOverheadHistogram[i]));
+
+				if (i == numOfAppTypes) {
+					appendToFile(genericBWs[i], getPercentileResult(new LatencyHistogram[] { dagMakespanHistogram }));
+					// resident MB, peak MB, in-flight tasks in the broker, the logger and the DAG manager
+					appendToFile(genericBWs[i], Double.toString(heapResidency[0] / (1024.0 * 1024.0)) + SimSettings.DELIMITER
+							+ Double.toString(heapResidency[1] / (1024.0 * 1024.0)) + SimSettings.DELIMITER
+							+ Long.toString(heapResidency[2]) + SimSettings.DELIMITER
+							+ Long.toString(heapResidency[3]) + SimSettings.DELIMITER
+							+ Long.toString(heapResidency[4]));
 				} else {
 					printLine(SimSettings.getInstance().getTaskName(i));
 					printLine("# of tasks (Edge/Cloud): "
@@ -1218,6 +1287,14 @@ public class SimLogger {
 				+ ", " + "GSM delay: "
 				+ String.format("%.6f", gsmDelay[numOfAppTypes] / (double) gsmUsage[numOfAppTypes]) + ")");
 
+		LatencyHistogram[] serviceTimeOfAllApps = serviceTimeHistogram[numOfAppTypes];
+		printLine("service time p50/p95/p99: "
+				+ formatPercentiles(serviceTimeOfAllApps[HISTOGRAM_ALL_TIERS])
+				+ " seconds. (" + "on Edge: " + formatPercentiles(serviceTimeOfAllApps[HISTOGRAM_EDGE])
+				+ ", " + "on Cloud: " + formatPercentiles(serviceTimeOfAllApps[HISTOGRAM_CLOUD])
+				+ ", " + "on Mobile: " + formatPercentiles(serviceTimeOfAllApps[HISTOGRAM_MOBILE])
+				+ ")");
+
 		printLine("average server utilization Edge/Cloud/Mobile: "
 				+ String.format("%.6f", totalVmLoadOnEdge / (double) vmLoadList.size()) + "/"
 				+ String.format("%.6f", totalVmLoadOnCloud / (double) vmLoadList.size()) + "/"
@@ -1259,16 +1336,96 @@ public class SimLogger {
 		if (completedDagCount > 0) {
 			printLine("average cost (per DAG): " + String.format("%.6f", avgCostPerDag) + "$");
 		}
+		if (failedDagCount > 0) {
+			printLine("# of failed DAGs: " + failedDagCount);
+		}
+		if (dagMakespanHistogram.getCount() > 0) {
+			printLine("DAG makespan p50/p95/p99: " + formatPercentiles(dagMakespanHistogram) + " ms");
+		}
 		printLine("average overhead: " + String.format("%.2f", avgOverhead) + " ns");
 		printLine("average QoE (for all): " + String.format("%.2f", avgQoeAll) + "%");
 		printLine("average QoE (for executed): " + String.format("%.2f", avgQoeExecuted) + "%");
+		printLine("heap residency after last GC: " + String.format("%.1f", heapResidency[0] / (1024.0 * 1024.0))
+				+ " MB (peak: " + String.format("%.1f", heapResidency[1] / (1024.0 * 1024.0)) + " MB)"
+				+ ", in-flight tasks (Broker/Log/DAG): "
+				+ heapResidency[2] + "/" + heapResidency[3] + "/" + heapResidency[4]);
 
 		// clear related collections (map list etc.)
-		taskMap.clear();
+		taskTable.clear();
 		vmLoadList.clear();
 		apDelayList.clear();
 	}
 
+	/**
+	 * Measures the heap residency: heap bytes in use after the last garbage
+	 * collection (the live set; the current usage if no collection has run),
+	 * the peak heap bytes and the number of tasks still held by the broker,
+	 * the logger and the DAG runtime manager, in this order.
+	 */
+	private long[] getHeapResidency() {
+		long numOfCollections = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+			numOfCollections += Math.max(0, collector.getCollectionCount());
+
+		long residentBytes = 0;
+		long peakBytes = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() != MemoryType.HEAP)
+				continue;
+			MemoryUsage afterGc = pool.getCollectionUsage();
+			if (numOfCollections == 0 || afterGc == null)
+				residentBytes += pool.getUsage().getUsed();
+			else
+				residentBytes += afterGc.getUsed();
+			peakBytes += pool.getPeakUsage().getUsed();
+		}
+		DagRuntimeManager dagRuntimeManager = DagRuntimeManager.getInstance();
+		return new long[] { residentBytes, peakBytes,
+				SimManager.getInstance().getMobileDeviceManager().getCloudletList().size(),
+				taskTable.size(),
+				(dagRuntimeManager != null) ? dagRuntimeManager.getNumOfTrackedCloudlets() : 0 };
+	}
+
+	/**
+	 * Merges the per tier histograms into the all tiers histogram of every app
+	 * type and the per app type histograms into the all app types row.
+	 */
+	private void mergeHistogramTotals(LatencyHistogram[][] histograms) {
+		for (int i = 0; i < numOfAppTypes; i++) {
+			for (int j = 0; j < NUM_OF_HISTOGRAM_TIERS; j++) {
+				if (j != HISTOGRAM_ALL_TIERS) {
+					histograms[i][HISTOGRAM_ALL_TIERS].add(histograms[i][j]);
+					histograms[numOfAppTypes][j].add(histograms[i][j]);
+				}
+			}
+		}
+		for (int j = 0; j < NUM_OF_HISTOGRAM_TIERS; j++)
+			if (j != HISTOGRAM_ALL_TIERS)
+				histograms[numOfAppTypes][HISTOGRAM_ALL_TIERS].add(histograms[numOfAppTypes][j]);
+	}
+
+	/**
+	 * Builds a generic result row: count, reported percentiles and maximum of each histogram.
+	 */
+	private String getPercentileResult(LatencyHistogram[] histograms) {
+		StringBuilder result = new StringBuilder();
+		for (int j = 0; j < histograms.length; j++) {
+			if (j > 0)
+				result.append(SimSettings.DELIMITER);
+			result.append(histograms[j].getCount());
+			for (double percentile : REPORTED_PERCENTILES)
+				result.append(SimSettings.DELIMITER).append(histograms[j].getValueAtPercentile(percentile));
+			result.append(SimSettings.DELIMITER).append(histograms[j].getMax());
+		}
+		return result.toString();
+	}
+
+	private String formatPercentiles(LatencyHistogram histogram) {
+		return String.format("%.6f", histogram.getValueAtPercentile(50)) + "/"
+				+ String.format("%.6f", histogram.getValueAtPercentile(95)) + "/"
+				+ String.format("%.6f", histogram.getValueAtPercentile(99));
+	}
+
 	private double getAvgCoresPerVmEdge() {
 		double totalCores = 0;
 		double vmCount = 0;
@@ -1350,111 +1507,133 @@ public class SimLogger {
 	 * statistics to ensure accurate steady-state performance measurements.
 	 * </p>
 	 * 
-	 * @param taskId unique identifier of the task to record
+	 * @param slot slot of the task in the task table; released afterwards
 	 */
-	private void recordLog(int taskId) {
-		LogItem value = taskMap.remove(taskId);
-
+	private void recordLog(int slot) {
 		// Skip tasks from warm-up period to ensure steady-state statistics
-		if (value.isInWarmUpPeriod())
+		if (taskTable.isInWarmUpPeriod(slot)) {
+			taskTable.release(slot);
 			return;
+		}
 
-		if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-			completedTask[value.getTaskType()]++;
+		int taskType = taskTable.getTaskType(slot);
+		int vmType = taskTable.getVmType(slot);
+		SimLogger.TASK_STATUS status = taskTable.getStatus(slot);
+
+		if (status == SimLogger.TASK_STATUS.COMLETED) {
+			completedTask[taskType]++;
 
-			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-				completedTaskOnCloud[value.getTaskType()]++;
-			else if (value.getVmType() == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
-				completedTaskOnMobile[value.getTaskType()]++;
+			if (vmType == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
+				completedTaskOnCloud[taskType]++;
+			else if (vmType == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
+				completedTaskOnMobile[taskType]++;
 			else
-				completedTaskOnEdge[value.getTaskType()]++;
+				completedTaskOnEdge[taskType]++;
 		} else {
-			failedTask[value.getTaskType()]++;
+			failedTask[taskType]++;
 
-			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-				failedTaskOnCloud[value.getTaskType()]++;
-			else if (value.getVmType() == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
-				failedTaskOnMobile[value.getTaskType()]++;
+			if (vmType == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
+				failedTaskOnCloud[taskType]++;
+			else if (vmType == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
+				failedTaskOnMobile[taskType]++;
 			else
-				failedTaskOnEdge[value.getTaskType()]++;
+				failedTaskOnEdge[taskType]++;
 		}
 
-		if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED) {
-			cost[value.getTaskType()] += value.getCost();
-			bwCost[value.getTaskType()] += value.getBwCost(); // Track BW cost
-			cpuCost[value.getTaskType()] += value.getCpuCost(); // Track CPU cost
-			QoE[value.getTaskType()] += value.getQoE();
-			serviceTime[value.getTaskType()] += value.getServiceTime();
-			networkDelay[value.getTaskType()] += value.getNetworkDelay();
-			processingTime[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
-			orchestratorOverhead[value.getTaskType()] += value.getOrchestratorOverhead();
-
-			if (value.getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY) != 0) {
-				lanUsage[value.getTaskType()]++;
-				lanDelay[value.getTaskType()] += value.getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY);
+		if (status == SimLogger.TASK_STATUS.COMLETED) {
+			double _serviceTime = taskTable.getServiceTime(slot);
+			double _networkDelay = taskTable.getNetworkDelay(slot);
+
+			cost[taskType] += taskTable.getCost(slot);
+			bwCost[taskType] += taskTable.getBwCost(slot); // Track BW cost
+			cpuCost[taskType] += taskTable.getCpuCost(slot); // Track CPU cost
+			QoE[taskType] += taskTable.getQoE(slot);
+			serviceTime[taskType] += _serviceTime;
+			networkDelay[taskType] += _networkDelay;
+			processingTime[taskType] += (_serviceTime - _networkDelay);
+			orchestratorOverhead[taskType] += taskTable.getOrchestratorOverhead(slot);
+
+			int tier = (vmType == SimSettings.VM_TYPES.CLOUD_VM.ordinal()) ? HISTOGRAM_CLOUD
+					: (vmType == SimSettings.VM_TYPES.MOBILE_VM.ordinal()) ? HISTOGRAM_MOBILE
+					: HISTOGRAM_EDGE;
+			serviceTimeHistogram[taskType][tier].record(_serviceTime);
+			orchestratorOverheadHistogram[taskType][tier].record(taskTable.getOrchestratorOverhead(slot));
+			if (tier == HISTOGRAM_MOBILE) {
+				// processed locally: no network delay, like the averages above
+				processingTimeHistogram[taskType][tier].record(_serviceTime);
+			} else {
+				processingTimeHistogram[taskType][tier].record(_serviceTime - _networkDelay);
+				networkDelayHistogram[taskType][tier].record(_networkDelay);
 			}
-			if (value.getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY) != 0) {
-				manUsage[value.getTaskType()]++;
-				manDelay[value.getTaskType()] += value.getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY);
+
+			if (taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.WLAN_DELAY) != 0) {
+				lanUsage[taskType]++;
+				lanDelay[taskType] += taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.WLAN_DELAY);
 			}
-			if (value.getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY) != 0) {
-				wanUsage[value.getTaskType()]++;
-				wanDelay[value.getTaskType()] += value.getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY);
+			if (taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.MAN_DELAY) != 0) {
+				manUsage[taskType]++;
+				manDelay[taskType] += taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.MAN_DELAY);
 			}
-			if (value.getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY) != 0) {
-				gsmUsage[value.getTaskType()]++;
-				gsmDelay[value.getTaskType()] += value.getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY);
+			if (taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.WAN_DELAY) != 0) {
+				wanUsage[taskType]++;
+				wanDelay[taskType] += taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.WAN_DELAY);
+			}
+			if (taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.GSM_DELAY) != 0) {
+				gsmUsage[taskType]++;
+				gsmDelay[taskType] += taskTable.getNetworkDelay(slot, NETWORK_DELAY_TYPES.GSM_DELAY);
 			}
 
-			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal()) {
-				serviceTimeOnCloud[value.getTaskType()] += value.getServiceTime();
-				processingTimeOnCloud[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
-			} else if (value.getVmType() == SimSettings.VM_TYPES.MOBILE_VM.ordinal()) {
-				serviceTimeOnMobile[value.getTaskType()] += value.getServiceTime();
-				processingTimeOnMobile[value.getTaskType()] += value.getServiceTime();
+			if (vmType == SimSettings.VM_TYPES.CLOUD_VM.ordinal()) {
+				serviceTimeOnCloud[taskType] += _serviceTime;
+				processingTimeOnCloud[taskType] += (_serviceTime - _networkDelay);
+			} else if (vmType == SimSettings.VM_TYPES.MOBILE_VM.ordinal()) {
+				serviceTimeOnMobile[taskType] += _serviceTime;
+				processingTimeOnMobile[taskType] += _serviceTime;
 			} else {
-				serviceTimeOnEdge[value.getTaskType()] += value.getServiceTime();
-				processingTimeOnEdge[value.getTaskType()] += (value.getServiceTime() - value.getNetworkDelay());
+				serviceTimeOnEdge[taskType] += _serviceTime;
+				processingTimeOnEdge[taskType] += (_serviceTime - _networkDelay);
 			}
-		} else if (value.getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY) {
-			failedTaskDueToVmCapacity[value.getTaskType()]++;
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY) {
+			failedTaskDueToVmCapacity[taskType]++;
 
-			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
-				failedTaskDueToVmCapacityOnCloud[value.getTaskType()]++;
-			else if (value.getVmType() == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
-				failedTaskDueToVmCapacityOnMobile[value.getTaskType()]++;
+			if (vmType == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
+				failedTaskDueToVmCapacityOnCloud[taskType]++;
+			else if (vmType == SimSettings.VM_TYPES.MOBILE_VM.ordinal())
+				failedTaskDueToVmCapacityOnMobile[taskType]++;
 			else
-				failedTaskDueToVmCapacityOnEdge[value.getTaskType()]++;
-		} else if (value.getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH
-				|| value.getStatus() == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH) {
-			failedTaskDuetoBw[value.getTaskType()]++;
-			if (value.getNetworkError() == NETWORK_ERRORS.LAN_ERROR)
-				failedTaskDuetoLanBw[value.getTaskType()]++;
-			else if (value.getNetworkError() == NETWORK_ERRORS.MAN_ERROR)
-				failedTaskDuetoManBw[value.getTaskType()]++;
-			else if (value.getNetworkError() == NETWORK_ERRORS.WAN_ERROR)
-				failedTaskDuetoWanBw[value.getTaskType()]++;
-			else if (value.getNetworkError() == NETWORK_ERRORS.GSM_ERROR)
-				failedTaskDuetoGsmBw[value.getTaskType()]++;
-		} else if (value.getStatus() == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY) {
-			failedTaskDuetoMobility[value.getTaskType()]++;
-		} else if (value.getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE) {
-			refectedTaskDuetoWlanRange[value.getTaskType()]++;
+				failedTaskDueToVmCapacityOnEdge[taskType]++;
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH
+				|| status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH) {
+			failedTaskDuetoBw[taskType]++;
+			if (taskTable.getNetworkError(slot) == NETWORK_ERRORS.LAN_ERROR)
+				failedTaskDuetoLanBw[taskType]++;
+			else if (taskTable.getNetworkError(slot) == NETWORK_ERRORS.MAN_ERROR)
+				failedTaskDuetoManBw[taskType]++;
+			else if (taskTable.getNetworkError(slot) == NETWORK_ERRORS.WAN_ERROR)
+				failedTaskDuetoWanBw[taskType]++;
+			else if (taskTable.getNetworkError(slot) == NETWORK_ERRORS.GSM_ERROR)
+				failedTaskDuetoGsmBw[taskType]++;
+		} else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY) {
+			failedTaskDuetoMobility[taskType]++;
+		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE) {
+			refectedTaskDuetoWlanRange[taskType]++;
 			;
 		}
 
 		// if deep file logging is enabled, record every task result
 		if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
 			try {
-				if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED)
-					appendToFile(successBW, value.toString(taskId));
+				if (status == SimLogger.TASK_STATUS.COMLETED)
+					appendToFile(successBW, taskTable.toString(slot));
 				else
-					appendToFile(failBW, value.toString(taskId));
+					appendToFile(failBW, taskTable.toString(slot));
 			} catch (IOException e) {
 				e.printStackTrace();
 				System.exit(1);
 			}
 		}
+
+		taskTable.release(slot);
 	}
 }
 
@@ -1591,321 +1770,3 @@ class ApDelayLogItem {
 		return result;
 	}
 }
-
-/**
- * Comprehensive logging record for individual task execution and performance
- * metrics.
- * 
- * <p>
- * LogItem maintains detailed information about a single task's lifecycle,
- * including timing measurements, resource assignments, network delays, costs,
- * and quality metrics. This class serves as the primary data structure for
- * deep logging and detailed performance analysis.
- * </p>
- * 
- * <p>
- * The class tracks complete task execution from creation through completion
- * or failure, enabling comprehensive post-simulation analysis of performance
- * bottlenecks, resource utilization patterns, and quality of service metrics.
- * </p>
- */
-class LogItem {
-	/** Current status of the task (created, processing, completed, failed, etc.) */
-	private SimLogger.TASK_STATUS status;
-
-	/** Type of network error that occurred (if any) */
-	private SimLogger.NETWORK_ERRORS networkError;
-
-	/** ID of the mobile device that generated this task */
-	private int deviceId;
-
-	/** ID of the datacenter processing this task */
-	private int datacenterId;
-
-	/** ID of the host machine assigned to this task */
-	private int hostId;
-
-	/** ID of the virtual machine executing this task */
-	private int vmId;
-
-	/** Type of processing tier (cloud/edge/mobile) */
-	private int vmType;
-
-	/** Application type index of this task */
-	private int taskType;
-
-	/** Computational length requirement in million instructions */
-	private int taskLenght;
-
-	/** Input data size in bytes */
-	private int taskInputType;
-	private int taskOutputSize;
-	private double taskStartTime;
-	private double taskEndTime;
-	private double lanUploadDelay;
-	private double manUploadDelay;
-	private double wanUploadDelay;
-	private double gsmUploadDelay;
-	private double lanDownloadDelay;
-	private double manDownloadDelay;
-	private double wanDownloadDelay;
-	private double gsmDownloadDelay;
-	private double bwCost;
-	private double cpuCost;
-	private double QoE;
-	private double orchestratorOverhead;
-	private boolean isInWarmUpPeriod;
-
-	LogItem(int _deviceId, int _taskType, int _taskLenght, int _taskInputType, int _taskOutputSize) {
-		deviceId = _deviceId;
-		taskType = _taskType;
-		taskLenght = _taskLenght;
-		taskInputType = _taskInputType;
-		taskOutputSize = _taskOutputSize;
-		networkError = NETWORK_ERRORS.NONE;
-		status = SimLogger.TASK_STATUS.CREATED;
-		taskEndTime = 0;
-	}
-
-	public void taskStarted(double time) {
-		taskStartTime = time;
-		status = SimLogger.TASK_STATUS.UPLOADING;
-
-		if (time < SimSettings.getInstance().getWarmUpPeriod())
-			isInWarmUpPeriod = true;
-		else
-			isInWarmUpPeriod = false;
-	}
-
-	public void setUploadDelay(double delay, NETWORK_DELAY_TYPES delayType) {
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			lanUploadDelay = delay;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			manUploadDelay = delay;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			wanUploadDelay = delay;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			gsmUploadDelay = delay;
-	}
-
-	public void setDownloadDelay(double delay, NETWORK_DELAY_TYPES delayType) {
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			lanDownloadDelay = delay;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			manDownloadDelay = delay;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			wanDownloadDelay = delay;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			gsmDownloadDelay = delay;
-	}
-
-	public void taskAssigned(int _datacenterId, int _hostId, int _vmId, int _vmType) {
-		status = SimLogger.TASK_STATUS.PROCESSING;
-		datacenterId = _datacenterId;
-		hostId = _hostId;
-		vmId = _vmId;
-		vmType = _vmType;
-	}
-
-	public void taskExecuted() {
-		status = SimLogger.TASK_STATUS.DOWNLOADING;
-	}
-
-	public void taskEnded(double time) {
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.COMLETED;
-	}
-
-	public void taskRejectedDueToVMCapacity(double time, int _vmType) {
-		vmType = _vmType;
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY;
-	}
-
-	public void taskRejectedDueToWlanCoverage(double time, int _vmType) {
-		vmType = _vmType;
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE;
-	}
-
-	public void taskRejectedDueToBandwidth(double time, int _vmType, NETWORK_DELAY_TYPES delayType) {
-		vmType = _vmType;
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH;
-
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			networkError = NETWORK_ERRORS.LAN_ERROR;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			networkError = NETWORK_ERRORS.MAN_ERROR;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			networkError = NETWORK_ERRORS.WAN_ERROR;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			networkError = NETWORK_ERRORS.GSM_ERROR;
-	}
-
-	public void taskFailedDueToBandwidth(double time, NETWORK_DELAY_TYPES delayType) {
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH;
-
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			networkError = NETWORK_ERRORS.LAN_ERROR;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			networkError = NETWORK_ERRORS.MAN_ERROR;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			networkError = NETWORK_ERRORS.WAN_ERROR;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			networkError = NETWORK_ERRORS.GSM_ERROR;
-	}
-
-	public void taskFailedDueToMobility(double time) {
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY;
-	}
-
-	public void setCost(double _bwCost, double _cpuCos) {
-		bwCost = _bwCost;
-		cpuCost = _cpuCos;
-	}
-
-	public void setQoE(double qoe) {
-		QoE = qoe;
-	}
-
-	public void setOrchestratorOverhead(double overhead) {
-		orchestratorOverhead = overhead;
-	}
-
-	public boolean isInWarmUpPeriod() {
-		return isInWarmUpPeriod;
-	}
-
-	public double getCost() {
-		return bwCost + cpuCost;
-	}
-
-	public double getBwCost() {
-		return bwCost;
-	}
-
-	public double getCpuCost() {
-		return cpuCost;
-	}
-
-	public double getQoE() {
-		return QoE;
-	}
-
-	public double getTaskStartTime() {
-		return taskStartTime;
-	}
-
-	public double getTaskEndTime() {
-		return taskEndTime;
-	}
-
-	public double getOrchestratorOverhead() {
-		return orchestratorOverhead;
-	}
-
-	public double getNetworkUploadDelay(NETWORK_DELAY_TYPES delayType) {
-		double result = 0;
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			result = lanUploadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			result = manUploadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			result = wanUploadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			result = gsmUploadDelay;
-
-		return result;
-	}
-
-	public double getNetworkDownloadDelay(NETWORK_DELAY_TYPES delayType) {
-		double result = 0;
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			result = lanDownloadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			result = manDownloadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			result = wanDownloadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			result = gsmDownloadDelay;
-
-		return result;
-	}
-
-	public double getNetworkDelay(NETWORK_DELAY_TYPES delayType) {
-		double result = 0;
-		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			result = lanDownloadDelay + lanUploadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			result = manDownloadDelay + manUploadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			result = wanDownloadDelay + wanUploadDelay;
-		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			result = gsmDownloadDelay + gsmUploadDelay;
-
-		return result;
-	}
-
-	public double getNetworkDelay() {
-		return lanUploadDelay +
-				manUploadDelay +
-				wanUploadDelay +
-				gsmUploadDelay +
-				lanDownloadDelay +
-				manDownloadDelay +
-				wanDownloadDelay +
-				gsmDownloadDelay;
-	}
-
-	public double getServiceTime() {
-		return taskEndTime - taskStartTime;
-	}
-
-	public SimLogger.TASK_STATUS getStatus() {
-		return status;
-	}
-
-	public SimLogger.NETWORK_ERRORS getNetworkError() {
-		return networkError;
-	}
-
-	public int getVmType() {
-		return vmType;
-	}
-
-	public int getTaskType() {
-		return taskType;
-	}
-
-	public String toString(int taskId) {
-		String result = taskId + SimSettings.DELIMITER + deviceId + SimSettings.DELIMITER + datacenterId
-				+ SimSettings.DELIMITER + hostId
-				+ SimSettings.DELIMITER + vmId + SimSettings.DELIMITER + vmType + SimSettings.DELIMITER + taskType
-				+ SimSettings.DELIMITER + taskLenght + SimSettings.DELIMITER + taskInputType + SimSettings.DELIMITER
-				+ taskOutputSize + SimSettings.DELIMITER + taskStartTime + SimSettings.DELIMITER + taskEndTime
-				+ SimSettings.DELIMITER;
-
-		if (status == SimLogger.TASK_STATUS.COMLETED) {
-			result += getNetworkDelay() + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY) + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY) + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY) + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY);
-		} else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
-			result += "1"; // failure reason 1
-		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
-			result += "2"; // failure reason 2
-		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
-			result += "3"; // failure reason 3
-		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
-			result += "4"; // failure reason 4
-		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE)
-			result += "5"; // failure reason 5
-		else
-			result += "0"; // default failure reason
-		return result;
-	}
-}
@@ -12,6 +12,7 @@ package edu.boun.edgecloudsim.utils;
 import java.io.File;
 import java.util.Date;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -47,12 +48,58 @@ public class SimUtils {
 	 */
 	public static final Random RNG = new Random();
 
+	/** Root seed of the per-device streams; null until set or first used */
+	private static Long streamSeed = null;
+
 	/**
 	 * Set the shared RNG seed for deterministic runs.
 	 * Call this once at startup (after SimSettings.initialize).
 	 */
-	public static void setSeed(long seed) {
+	public static synchronized void setSeed(long seed) {
 		RNG.setSeed(seed);
+		streamSeed = seed;
+	}
+
+	/**
+	 * Returns the root seed of the per-device random streams.
+	 * 
+	 * <p>This is the seed passed to {@link #setSeed(long)}; if no seed was set,
+	 * one is drawn from the shared RNG on first use and kept for the rest of
+	 * the run.</p>
+	 * 
+	 * @return root seed of {@link #newDeviceRandom(long, int)}
+	 */
+	public static synchronized long getStreamSeed() {
+		if(streamSeed == null)
+			streamSeed = RNG.nextLong();
+		return streamSeed;
+	}
+
+	/**
+	 * Creates the random stream of a device for one simulation component.
+	 * 
+	 * <p>The stream depends only on the root seed, the stream tag and the device
+	 * id, never on the order or the thread in which devices are processed, so
+	 * per-device generation can run in parallel and still produce the same
+	 * values. Different tags keep the streams of different components (e.g.
+	 * mobility and load generation) independent.</p>
+	 * 
+	 * @param streamTag constant identifying the component that owns the stream
+	 * @param deviceId id of the mobile device
+	 * @return a new, independent random stream
+	 */
+	public static SplittableRandom newDeviceRandom(long streamTag, int deviceId) {
+		long key = mix64(streamTag * 0x9E3779B97F4A7C15L + deviceId);
+		return new SplittableRandom(mix64(getStreamSeed() ^ key));
+	}
+
+	/**
+	 * SplitMix64 finalizer: spreads nearby inputs over the whole 64 bit range.
+	 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
 	}
 
 	/**
@@ -73,6 +120,21 @@ public class SimUtils {
 		return (int)(fraction + start);
 	}
 
+	/**
+	 * Generates a random integer within the specified range (inclusive)
+	 * from the given stream instead of the shared RNG.
+	 * 
+	 * @param rng random stream to draw from
+	 * @param start the minimum value (inclusive)
+	 * @param end the maximum value (inclusive)
+	 * @return a random integer between start and end (both inclusive)
+	 */
+	public static int getRandomNumber(SplittableRandom rng, int start, int end) {
+		long range = (long)end - (long)start + 1;
+		long fraction = (long)(range * rng.nextDouble());
+		return (int)(fraction + start);
+	}
+
 	/**
 	 * Generates a random double within the specified range (inclusive).
 	 * 
@@ -90,6 +152,32 @@ public class SimUtils {
 		return (fraction + start); 
 	}
 
+	/**
+	 * Generates a random double within the specified range (inclusive)
+	 * from the given stream instead of the shared RNG.
+	 * 
+	 * @param rng random stream to draw from
+	 * @param start the minimum value (inclusive)
+	 * @param end the maximum value (inclusive)
+	 * @return a random double between start and end (both inclusive)
+	 */
+	public static double getRandomDoubleNumber(SplittableRandom rng, double start, double end) {
+		double range = end - start;
+		double fraction = (range * rng.nextDouble());
+		return (fraction + start);
+	}
+
+	/**
+	 * Samples an exponentially distributed value by inversion.
+	 * 
+	 * @param rng random stream to draw from
+	 * @param mean mean of the distribution
+	 * @return a non-negative sample with the given mean
+	 */
+	public static double getExponentialNumber(SplittableRandom rng, double mean) {
+		return -mean * Math.log(1.0 - rng.nextDouble());
+	}
+
 	/**
 	 * Generates a random long integer within the specified range (inclusive).
 	 * 
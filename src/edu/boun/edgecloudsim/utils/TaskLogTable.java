@@ -0,0 +1,474 @@
+/*
+ * Title:        EdgeCloudSim - Task Log Table
+ *
+ * Description:
+ * TaskLogTable keeps the log records of the tasks that are in flight
+ * in parallel primitive columns instead of one object per task.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.utils.SimLogger.NETWORK_ERRORS;
+import edu.boun.edgecloudsim.utils.SimLogger.TASK_STATUS;
+
+/**
+ * Struct-of-arrays store for the lifecycle records of in-flight tasks.
+ *
+ * <p>Every task occupies a slot; each field of the former per-task log item is
+ * a column indexed by slot. Slots of recorded tasks are recycled through a free
+ * list, and task ids are mapped to slots by an open-addressing int-to-int hash
+ * table (linear probing, backward-shift deletion), so logging a task neither
+ * boxes its id nor allocates. Columns only grow, by doubling, when more tasks
+ * are in flight than ever before.</p>
+ *
+ * <p>Mutators take the task id, like the SimLogger API they back; readers take
+ * the slot returned by {@link #find(int)} so that recording a finished task
+ * resolves the id once.</p>
+ */
+final class TaskLogTable {
+	private static final int NUM_OF_DELAY_TYPES = NETWORK_DELAY_TYPES.values().length;
+	private static final TASK_STATUS[] STATUS_VALUES = TASK_STATUS.values();
+	private static final NETWORK_ERRORS[] NETWORK_ERROR_VALUES = NETWORK_ERRORS.values();
+	private static final int EMPTY_KEY = Integer.MIN_VALUE;
+
+	// id -> slot map, capacity is a power of two kept at most half full
+	private int[] mapKeys;
+	private int[] mapSlots;
+	private int mapMask;
+
+	// free slots (stack) and the number of slots ever handed out
+	private int[] freeSlots;
+	private int numOfFreeSlots;
+	private int numOfUsedSlots;
+	private int size;
+
+	// columns indexed by slot
+	private int[] taskIds;
+	private boolean[] inUse;
+	private byte[] status;
+	private byte[] networkError;
+	private boolean[] inWarmUpPeriod;
+	private int[] deviceId;
+	private int[] datacenterId;
+	private int[] hostId;
+	private int[] vmId;
+	private int[] vmType;
+	private int[] taskType;
+	private int[] taskLength;
+	private int[] taskInputSize;
+	private int[] taskOutputSize;
+	private double[] startTime;
+	private double[] endTime;
+	private double[] uploadDelays;   // slot * NUM_OF_DELAY_TYPES + delay type
+	private double[] downloadDelays; // slot * NUM_OF_DELAY_TYPES + delay type
+	private double[] bwCost;
+	private double[] cpuCost;
+	private double[] qoe;
+	private double[] orchestratorOverhead;
+
+	TaskLogTable(int initialCapacity) {
+		int capacity = Math.max(16, initialCapacity);
+		allocateColumns(capacity);
+		freeSlots = new int[capacity];
+
+		int mapCapacity = Integer.highestOneBit(capacity * 2 - 1) * 2;
+		mapKeys = new int[mapCapacity];
+		Arrays.fill(mapKeys, EMPTY_KEY);
+		mapSlots = new int[mapCapacity];
+		mapMask = mapCapacity - 1;
+	}
+
+	/**
+	 * Returns the number of in-flight tasks.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Starts the record of a task; an existing record with the same id is reset.
+	 */
+	void add(int taskId, int _deviceId, int _taskType, int _taskLength, int _taskInputSize, int _taskOutputSize) {
+		int slot = find(taskId);
+		if (slot < 0) {
+			slot = allocateSlot();
+			putMapping(taskId, slot);
+			size++;
+		}
+
+		taskIds[slot] = taskId;
+		inUse[slot] = true;
+		status[slot] = (byte) TASK_STATUS.CREATED.ordinal();
+		networkError[slot] = (byte) NETWORK_ERRORS.NONE.ordinal();
+		inWarmUpPeriod[slot] = false;
+		deviceId[slot] = _deviceId;
+		datacenterId[slot] = 0;
+		hostId[slot] = 0;
+		vmId[slot] = 0;
+		vmType[slot] = 0;
+		taskType[slot] = _taskType;
+		taskLength[slot] = _taskLength;
+		taskInputSize[slot] = _taskInputSize;
+		taskOutputSize[slot] = _taskOutputSize;
+		startTime[slot] = 0;
+		endTime[slot] = 0;
+		Arrays.fill(uploadDelays, slot * NUM_OF_DELAY_TYPES, (slot + 1) * NUM_OF_DELAY_TYPES, 0);
+		Arrays.fill(downloadDelays, slot * NUM_OF_DELAY_TYPES, (slot + 1) * NUM_OF_DELAY_TYPES, 0);
+		bwCost[slot] = 0;
+		cpuCost[slot] = 0;
+		qoe[slot] = 0;
+		orchestratorOverhead[slot] = 0;
+	}
+
+	/**
+	 * Returns the slot of an in-flight task, or -1 if the id is unknown.
+	 */
+	int find(int taskId) {
+		int index = hash(taskId) & mapMask;
+		while (true) {
+			int key = mapKeys[index];
+			if (key == taskId)
+				return mapSlots[index];
+			if (key == EMPTY_KEY)
+				return -1;
+			index = (index + 1) & mapMask;
+		}
+	}
+
+	/**
+	 * Frees the slot of a recorded task for reuse.
+	 */
+	void release(int slot) {
+		removeMapping(taskIds[slot]);
+		inUse[slot] = false;
+		freeSlots[numOfFreeSlots++] = slot;
+		size--;
+	}
+
+	/**
+	 * Releases every record; the capacity is kept.
+	 */
+	void clear() {
+		Arrays.fill(mapKeys, EMPTY_KEY);
+		Arrays.fill(inUse, false);
+		numOfFreeSlots = 0;
+		numOfUsedSlots = 0;
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of slots that may hold records; iterate over them
+	 * with {@link #isInUse(int)}.
+	 */
+	int getSlotLimit() {
+		return numOfUsedSlots;
+	}
+
+	boolean isInUse(int slot) {
+		return inUse[slot];
+	}
+
+	void taskStarted(int taskId, double time) {
+		int slot = require(taskId);
+		startTime[slot] = time;
+		status[slot] = (byte) TASK_STATUS.UPLOADING.ordinal();
+		inWarmUpPeriod[slot] = time < SimSettings.getInstance().getWarmUpPeriod();
+	}
+
+	void setUploadDelay(int taskId, double delay, NETWORK_DELAY_TYPES delayType) {
+		uploadDelays[require(taskId) * NUM_OF_DELAY_TYPES + delayType.ordinal()] = delay;
+	}
+
+	void setDownloadDelay(int taskId, double delay, NETWORK_DELAY_TYPES delayType) {
+		downloadDelays[require(taskId) * NUM_OF_DELAY_TYPES + delayType.ordinal()] = delay;
+	}
+
+	void taskAssigned(int taskId, int _datacenterId, int _hostId, int _vmId, int _vmType) {
+		int slot = require(taskId);
+		status[slot] = (byte) TASK_STATUS.PROCESSING.ordinal();
+		datacenterId[slot] = _datacenterId;
+		hostId[slot] = _hostId;
+		vmId[slot] = _vmId;
+		vmType[slot] = _vmType;
+	}
+
+	void setStatus(int taskId, TASK_STATUS _status) {
+		status[require(taskId)] = (byte) _status.ordinal();
+	}
+
+	/**
+	 * Ends a task with the given status.
+	 *
+	 * @param vmType VM type to store, or -1 to keep the assigned one
+	 * @param delayType network segment that failed, or null if none
+	 * @return slot of the task
+	 */
+	int taskEnded(int taskId, double time, TASK_STATUS _status, int _vmType, NETWORK_DELAY_TYPES delayType) {
+		int slot = require(taskId);
+		endTime[slot] = time;
+		status[slot] = (byte) _status.ordinal();
+		if (_vmType >= 0)
+			vmType[slot] = _vmType;
+		if (delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			networkError[slot] = (byte) NETWORK_ERRORS.LAN_ERROR.ordinal();
+		else if (delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			networkError[slot] = (byte) NETWORK_ERRORS.MAN_ERROR.ordinal();
+		else if (delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			networkError[slot] = (byte) NETWORK_ERRORS.WAN_ERROR.ordinal();
+		else if (delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			networkError[slot] = (byte) NETWORK_ERRORS.GSM_ERROR.ordinal();
+		return slot;
+	}
+
+	/**
+	 * Stores the cost of a task.
+	 *
+	 * @return slot of the task
+	 */
+	int setCost(int taskId, double _bwCost, double _cpuCost) {
+		int slot = require(taskId);
+		bwCost[slot] = _bwCost;
+		cpuCost[slot] = _cpuCost;
+		return slot;
+	}
+
+	void setQoE(int taskId, double _qoe) {
+		qoe[require(taskId)] = _qoe;
+	}
+
+	void setOrchestratorOverhead(int taskId, double overhead) {
+		orchestratorOverhead[require(taskId)] = overhead;
+	}
+
+	boolean isInWarmUpPeriod(int slot) {
+		return inWarmUpPeriod[slot];
+	}
+
+	TASK_STATUS getStatus(int slot) {
+		return STATUS_VALUES[status[slot]];
+	}
+
+	NETWORK_ERRORS getNetworkError(int slot) {
+		return NETWORK_ERROR_VALUES[networkError[slot]];
+	}
+
+	int getVmType(int slot) {
+		return vmType[slot];
+	}
+
+	int getTaskType(int slot) {
+		return taskType[slot];
+	}
+
+	double getTaskStartTime(int slot) {
+		return startTime[slot];
+	}
+
+	double getTaskEndTime(int slot) {
+		return endTime[slot];
+	}
+
+	double getServiceTime(int slot) {
+		return endTime[slot] - startTime[slot];
+	}
+
+	double getCost(int slot) {
+		return bwCost[slot] + cpuCost[slot];
+	}
+
+	double getBwCost(int slot) {
+		return bwCost[slot];
+	}
+
+	double getCpuCost(int slot) {
+		return cpuCost[slot];
+	}
+
+	double getQoE(int slot) {
+		return qoe[slot];
+	}
+
+	double getOrchestratorOverhead(int slot) {
+		return orchestratorOverhead[slot];
+	}
+
+	double getNetworkUploadDelay(int slot, NETWORK_DELAY_TYPES delayType) {
+		return uploadDelays[slot * NUM_OF_DELAY_TYPES + delayType.ordinal()];
+	}
+
+	double getNetworkDownloadDelay(int slot, NETWORK_DELAY_TYPES delayType) {
+		return downloadDelays[slot * NUM_OF_DELAY_TYPES + delayType.ordinal()];
+	}
+
+	double getNetworkDelay(int slot, NETWORK_DELAY_TYPES delayType) {
+		int index = slot * NUM_OF_DELAY_TYPES + delayType.ordinal();
+		return downloadDelays[index] + uploadDelays[index];
+	}
+
+	double getNetworkDelay(int slot) {
+		int base = slot * NUM_OF_DELAY_TYPES;
+		double result = 0;
+		for (int i = 0; i < NUM_OF_DELAY_TYPES; i++)
+			result += uploadDelays[base + i];
+		for (int i = 0; i < NUM_OF_DELAY_TYPES; i++)
+			result += downloadDelays[base + i];
+		return result;
+	}
+
+	/**
+	 * Formats the record of a task as a line of the deep (_SUCCESS/_FAIL) log.
+	 */
+	String toString(int slot) {
+		String result = taskIds[slot] + SimSettings.DELIMITER + deviceId[slot] + SimSettings.DELIMITER
+				+ datacenterId[slot] + SimSettings.DELIMITER + hostId[slot]
+				+ SimSettings.DELIMITER + vmId[slot] + SimSettings.DELIMITER + vmType[slot] + SimSettings.DELIMITER
+				+ taskType[slot] + SimSettings.DELIMITER + taskLength[slot] + SimSettings.DELIMITER
+				+ taskInputSize[slot] + SimSettings.DELIMITER + taskOutputSize[slot] + SimSettings.DELIMITER
+				+ startTime[slot] + SimSettings.DELIMITER + endTime[slot] + SimSettings.DELIMITER;
+
+		TASK_STATUS taskStatus = getStatus(slot);
+		if (taskStatus == TASK_STATUS.COMLETED) {
+			result += getNetworkDelay(slot) + SimSettings.DELIMITER;
+			result += getNetworkDelay(slot, NETWORK_DELAY_TYPES.WLAN_DELAY) + SimSettings.DELIMITER;
+			result += getNetworkDelay(slot, NETWORK_DELAY_TYPES.MAN_DELAY) + SimSettings.DELIMITER;
+			result += getNetworkDelay(slot, NETWORK_DELAY_TYPES.WAN_DELAY) + SimSettings.DELIMITER;
+			result += getNetworkDelay(slot, NETWORK_DELAY_TYPES.GSM_DELAY);
+		} else if (taskStatus == TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
+			result += "1"; // failure reason 1
+		else if (taskStatus == TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
+			result += "2"; // failure reason 2
+		else if (taskStatus == TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
+			result += "3"; // failure reason 3
+		else if (taskStatus == TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
+			result += "4"; // failure reason 4
+		else if (taskStatus == TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE)
+			result += "5"; // failure reason 5
+		else
+			result += "0"; // default failure reason
+		return result;
+	}
+
+	private int require(int taskId) {
+		int slot = find(taskId);
+		if (slot < 0)
+			throw new IllegalStateException("No log record for task " + taskId);
+		return slot;
+	}
+
+	private int allocateSlot() {
+		if (numOfFreeSlots > 0)
+			return freeSlots[--numOfFreeSlots];
+		if (numOfUsedSlots == taskIds.length) {
+			int capacity = taskIds.length * 2;
+			growColumns(capacity);
+			freeSlots = Arrays.copyOf(freeSlots, capacity);
+			rehash(mapKeys.length * 2);
+		}
+		return numOfUsedSlots++;
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private void putMapping(int taskId, int slot) {
+		int index = hash(taskId) & mapMask;
+		while (mapKeys[index] != EMPTY_KEY)
+			index = (index + 1) & mapMask;
+		mapKeys[index] = taskId;
+		mapSlots[index] = slot;
+	}
+
+	private void removeMapping(int taskId) {
+		int index = hash(taskId) & mapMask;
+		while (mapKeys[index] != taskId) {
+			if (mapKeys[index] == EMPTY_KEY)
+				return;
+			index = (index + 1) & mapMask;
+		}
+
+		// shift later entries of the probe sequence back into the hole
+		int hole = index;
+		int next = (hole + 1) & mapMask;
+		while (mapKeys[next] != EMPTY_KEY) {
+			int home = hash(mapKeys[next]) & mapMask;
+			if (((next - home) & mapMask) >= ((next - hole) & mapMask)) {
+				mapKeys[hole] = mapKeys[next];
+				mapSlots[hole] = mapSlots[next];
+				hole = next;
+			}
+			next = (next + 1) & mapMask;
+		}
+		mapKeys[hole] = EMPTY_KEY;
+	}
+
+	private void rehash(int mapCapacity) {
+		int[] oldKeys = mapKeys;
+		int[] oldSlots = mapSlots;
+		mapKeys = new int[mapCapacity];
+		Arrays.fill(mapKeys, EMPTY_KEY);
+		mapSlots = new int[mapCapacity];
+		mapMask = mapCapacity - 1;
+		for (int i = 0; i < oldKeys.length; i++)
+			if (oldKeys[i] != EMPTY_KEY)
+				putMapping(oldKeys[i], oldSlots[i]);
+	}
+
+	private void allocateColumns(int capacity) {
+		taskIds = new int[capacity];
+		inUse = new boolean[capacity];
+		status = new byte[capacity];
+		networkError = new byte[capacity];
+		inWarmUpPeriod = new boolean[capacity];
+		deviceId = new int[capacity];
+		datacenterId = new int[capacity];
+		hostId = new int[capacity];
+		vmId = new int[capacity];
+		vmType = new int[capacity];
+		taskType = new int[capacity];
+		taskLength = new int[capacity];
+		taskInputSize = new int[capacity];
+		taskOutputSize = new int[capacity];
+		startTime = new double[capacity];
+		endTime = new double[capacity];
+		uploadDelays = new double[capacity * NUM_OF_DELAY_TYPES];
+		downloadDelays = new double[capacity * NUM_OF_DELAY_TYPES];
+		bwCost = new double[capacity];
+		cpuCost = new double[capacity];
+		qoe = new double[capacity];
+		orchestratorOverhead = new double[capacity];
+	}
+
+	private void growColumns(int capacity) {
+		taskIds = Arrays.copyOf(taskIds, capacity);
+		inUse = Arrays.copyOf(inUse, capacity);
+		status = Arrays.copyOf(status, capacity);
+		networkError = Arrays.copyOf(networkError, capacity);
+		inWarmUpPeriod = Arrays.copyOf(inWarmUpPeriod, capacity);
+		deviceId = Arrays.copyOf(deviceId, capacity);
+		datacenterId = Arrays.copyOf(datacenterId, capacity);
+		hostId = Arrays.copyOf(hostId, capacity);
+		vmId = Arrays.copyOf(vmId, capacity);
+		vmType = Arrays.copyOf(vmType, capacity);
+		taskType = Arrays.copyOf(taskType, capacity);
+		taskLength = Arrays.copyOf(taskLength, capacity);
+		taskInputSize = Arrays.copyOf(taskInputSize, capacity);
+		taskOutputSize = Arrays.copyOf(taskOutputSize, capacity);
+		startTime = Arrays.copyOf(startTime, capacity);
+		endTime = Arrays.copyOf(endTime, capacity);
+		uploadDelays = Arrays.copyOf(uploadDelays, capacity * NUM_OF_DELAY_TYPES);
+		downloadDelays = Arrays.copyOf(downloadDelays, capacity * NUM_OF_DELAY_TYPES);
+		bwCost = Arrays.copyOf(bwCost, capacity);
+		cpuCost = Arrays.copyOf(cpuCost, capacity);
+		qoe = Arrays.copyOf(qoe, capacity);
+		orchestratorOverhead = Arrays.copyOf(orchestratorOverhead, capacity);
+	}
+}
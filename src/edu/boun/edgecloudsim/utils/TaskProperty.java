@@ -10,6 +10,8 @@
 
 package edu.boun.edgecloudsim.utils;
 
+import java.util.SplittableRandom;
+
 import org.apache.commons.math3.distribution.ExponentialDistribution;
 
 import edu.boun.edgecloudsim.core.SimSettings;
@@ -142,6 +144,33 @@ public class TaskProperty {
 		pesNumber = (int)SimSettings.getInstance().getTaskLookUpTable()[_taskType][8];
 	}
 
+	/**
+	 * Constructs a TaskProperty whose characteristics are sampled from a per-device stream.
+	 * 
+	 * <p>Input size, output size and length are exponentially distributed with the
+	 * means of the task lookup table (columns 5, 6 and 7), like the distributions
+	 * of {@link #TaskProperty(int, int, double, ExponentialDistribution[][])}, but
+	 * the samples come from the given stream so that devices can be generated
+	 * independently of each other.</p>
+	 * 
+	 * @param _mobileDeviceId ID of the mobile device generating this task
+	 * @param _taskType task type index for distribution and configuration lookup
+	 * @param _startTime simulation time when the task should be submitted (seconds)
+	 * @param rng random stream of the device
+	 */
+	public TaskProperty(int _mobileDeviceId, int _taskType, double _startTime, SplittableRandom rng) {
+		mobileDeviceId = _mobileDeviceId;
+		startTime = _startTime;
+		taskType = _taskType;
+
+		double[] taskProperties = SimSettings.getInstance().getTaskLookUpTable()[_taskType];
+		inputFileSize = (long)SimUtils.getExponentialNumber(rng, taskProperties[5]);
+		outputFileSize = (long)SimUtils.getExponentialNumber(rng, taskProperties[6]);
+		length = (long)SimUtils.getExponentialNumber(rng, taskProperties[7]);
+
+		pesNumber = (int)taskProperties[8];
+	}
+
 	/**
 	 * Constructs a TaskProperty for single task type scenarios with statistical distributions.
 	 * 
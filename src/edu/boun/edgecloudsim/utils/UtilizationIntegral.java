@@ -0,0 +1,187 @@
+/*
+ * Title:        EdgeCloudSim - Utilization Integral
+ *
+ * Description:
+ * UtilizationIntegral keeps the CPU utilization of a VM, a host or a tier
+ * and its exact integral over simulation time
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time-weighted CPU utilization, updated when a cloudlet starts or stops
+ * executing instead of being sampled periodically.
+ *
+ * The utilization is a sum of cloudlet utilizations (as returned by
+ * CloudletScheduler.getTotalUtilizationOfCpu()), so it is piecewise constant
+ * between cloudlet transitions and its integral over time is exact. The
+ * integrals form a tree: a change on a VM is applied to its host and tier
+ * as well, each in O(1).
+ *
+ * Each integral also counts the executing cloudlets below it (queue
+ * length). When that count drops to 0 the utilization is set to exactly 0,
+ * so rounding residue of the additions does not survive an idle period.
+ *
+ * An integral can also record its value at the multiples of a sampling
+ * interval as the simulation passes them, which gives the average
+ * utilization of every interval without scheduling any event.
+ */
+public class UtilizationIntegral {
+	private final UtilizationIntegral parent;
+	private int numOfVms;
+	private int numOfCloudlets;
+	private double utilization;
+	private double integral;
+	private double lastUpdateTime;
+
+	private double sampleInterval;
+	private List<Double> samples; // integral at k * sampleInterval, k = 1, 2, ...
+	private Listener listener;
+
+	/**
+	 * Receives the changes of an integral, e.g. to keep an ordering of hosts
+	 * up to date.
+	 */
+	public interface Listener {
+		/**
+		 * Called after the utilization of the integral changed.
+		 *
+		 * @param integral the changed integral
+		 * @param time simulation time of the change
+		 */
+		void utilizationChanged(UtilizationIntegral integral, double time);
+	}
+
+	/**
+	 * Creates an aggregate (host or tier) integral.
+	 *
+	 * @param parent integral that also receives the changes, or null
+	 */
+	public UtilizationIntegral(UtilizationIntegral parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Creates the integral of a VM below the given host or tier integral and
+	 * counts the VM in every ancestor.
+	 */
+	public static UtilizationIntegral forVm(UtilizationIntegral parent) {
+		UtilizationIntegral vmIntegral = new UtilizationIntegral(parent);
+		for(UtilizationIntegral i = vmIntegral; i != null; i = i.parent)
+			i.numOfVms++;
+		return vmIntegral;
+	}
+
+	/**
+	 * Changes the utilization from the given time on.
+	 *
+	 * @param delta change of the utilization (sum over cloudlets)
+	 * @param time current simulation time, not before the previous update
+	 */
+	public void add(double delta, double time) {
+		add(delta, 0, time);
+	}
+
+	/**
+	 * Changes the utilization and the number of executing cloudlets from the
+	 * given time on.
+	 *
+	 * @param delta change of the utilization (sum over cloudlets)
+	 * @param cloudletDelta change of the number of executing cloudlets
+	 * @param time current simulation time, not before the previous update
+	 */
+	public void add(double delta, int cloudletDelta, double time) {
+		for(UtilizationIntegral i = this; i != null; i = i.parent){
+			i.advance(time);
+			i.numOfCloudlets += cloudletDelta;
+			if(cloudletDelta != 0 && i.numOfCloudlets == 0)
+				i.utilization = 0;
+			else
+				i.utilization += delta;
+			if(i.listener != null)
+				i.listener.utilizationChanged(i, time);
+		}
+	}
+
+	public void setListener(Listener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Accumulates the integral up to the given time without changing the
+	 * utilization.
+	 */
+	public void advance(double time) {
+		if(time <= lastUpdateTime)
+			return;
+		if(samples != null){
+			double sampleTime = (samples.size() + 1) * sampleInterval;
+			while(sampleTime <= time){
+				samples.add(integral + utilization * (sampleTime - lastUpdateTime));
+				sampleTime = (samples.size() + 1) * sampleInterval;
+			}
+		}
+		integral += utilization * (time - lastUpdateTime);
+		lastUpdateTime = time;
+	}
+
+	/**
+	 * Starts recording the integral at every multiple of the interval.
+	 * Must be called before the first update.
+	 */
+	public void enableSampling(double interval) {
+		sampleInterval = interval;
+		samples = new ArrayList<Double>();
+	}
+
+	/**
+	 * Average utilization per VM in each sampling interval passed so far.
+	 *
+	 * @return one value per interval, the first one for [0, interval]
+	 */
+	public double[] getSampledAverages() {
+		int numOfSamples = (samples == null) ? 0 : samples.size();
+		double[] averages = new double[numOfSamples];
+		double previous = 0;
+		for(int k=0; k<numOfSamples; k++){
+			double current = samples.get(k);
+			averages[k] = (numOfVms == 0) ? 0 : (current - previous) / sampleInterval / numOfVms;
+			previous = current;
+		}
+		return averages;
+	}
+
+	/**
+	 * @return current utilization (sum over the cloudlets of all VMs below)
+	 */
+	public double getUtilization() {
+		return utilization;
+	}
+
+	/**
+	 * @return integral of the utilization from time 0 to the given time,
+	 *         which must not be before the last update
+	 */
+	public double getIntegral(double time) {
+		return integral + utilization * Math.max(0, time - lastUpdateTime);
+	}
+
+	/**
+	 * @return average utilization per VM from time 0 to the given time
+	 */
+	public double getAverageUtilization(double time) {
+		if(numOfVms == 0 || time <= 0)
+			return 0;
+		return getIntegral(time) / time / numOfVms;
+	}
+
+	public int getNumOfVms() {
+		return numOfVms;
+	}
+}